@@ -0,0 +1,25 @@
+package domino.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа benchmarks.jar: обычный запуск JMH, но всегда с профилировщиком GC,
+ * чтобы рядом со временем был виден объем выделенной памяти на операцию (gc.alloc.rate.norm).
+ * <p>
+ * Примеры: {@code java -jar benchmarks/target/benchmarks.jar},
+ * {@code java -jar benchmarks/target/benchmarks.jar GameThroughput -f 3}.
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
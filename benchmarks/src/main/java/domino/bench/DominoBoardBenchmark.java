@@ -0,0 +1,50 @@
+package domino.bench;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры {@link DominoBoard#playDomino(Domino)}: выкладывание цепочки законченной игры
+ * на новую доску.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominoBoardBenchmark {
+    @Param("42")
+    long seed;
+
+    private Domino[] chain;
+
+    @Setup
+    public void setUp() {
+        DominoGame game = Positions.midGame(seed, Integer.MAX_VALUE);
+        chain = game.getBoard().getBoard().toArray(new Domino[0]);
+    }
+
+    @Benchmark
+    public DominoBoard playChain() {
+        DominoBoard board = new DominoBoard();
+        for (Domino domino : chain) {
+            board.playDomino(domino);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,61 @@
+package domino.bench;
+
+import domino.Domino;
+import domino.DominoGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры одного хода {@link DominoGame#makeMove(Domino)}.
+ * Ход сразу отменяется, поэтому каждая операция начинается с одной и той же позиции.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominoGameBenchmark {
+    @Param("42")
+    long seed;
+
+    private DominoGame game;
+    private Domino play;
+
+    @Setup
+    public void setUp() {
+        game = Positions.midGame(seed, 6);
+        play = Positions.firstPlayable(game);
+    }
+
+    @Benchmark
+    public boolean makeMove() {
+        return moveAndUndo(play);
+    }
+
+    //ход без костяшки: взятие из базара или пас
+    @Benchmark
+    public boolean makeMoveDraw() {
+        return moveAndUndo(null);
+    }
+
+    private boolean moveAndUndo(Domino domino) {
+        int before = game.getHistorySize();
+        boolean moved = game.makeMove(domino);
+        while (game.getHistorySize() > before) {
+            game.undoMove();
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,64 @@
+package domino.bench;
+
+import domino.Domino;
+import domino.DominoSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры {@link DominoSet#shuffle()} и взятия костяшек из базара.
+ * Генератор пересоздается из зерна в начале каждой итерации.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominoSetBenchmark {
+    @Param("42")
+    long seed;
+
+    private SplittableRandom random;
+    private DominoSet set;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        random = new SplittableRandom(seed);
+        set = new DominoSet();
+    }
+
+    @Benchmark
+    public DominoSet shuffle() {
+        set.shuffle(random);
+        return set;
+    }
+
+    //новый базар, раздача двум игрокам и взятие остатка по одной
+    @Benchmark
+    public int shuffleAndDraw() {
+        DominoSet bazaar = new DominoSet();
+        bazaar.shuffle(random);
+        List<Domino> first = bazaar.draw(7);
+        List<Domino> second = bazaar.draw(7);
+        int pips = first.size() + second.size();
+        for (Domino domino = bazaar.draw(); domino != null; domino = bazaar.draw()) {
+            pips += domino.getValue();
+        }
+        return pips;
+    }
+}
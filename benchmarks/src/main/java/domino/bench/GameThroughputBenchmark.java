@@ -0,0 +1,72 @@
+package domino.bench;
+
+import domino.DominoGame;
+import domino.bot.GreedyStrategy;
+import domino.bot.RandomStrategy;
+import domino.sim.SimulationStats;
+import domino.sim.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность целых игр (игр в секунду) в одном потоке.
+ * Игры берутся по кругу из фиксированной серии зерен, поэтому каждый запуск
+ * играет одни и те же партии; выделение памяти на игру показывает профилировщик GC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameThroughputBenchmark {
+    // Размер серии игр - степень двойки, номер игры берется по маске
+    private static final int SERIES = 1024;
+
+    @Param("42")
+    long seed;
+
+    private long index;
+    private Simulator simulator;
+    private SimulationStats stats;
+
+    @Setup
+    public void setUp() {
+        simulator = new Simulator(List.of(new GreedyStrategy(), new RandomStrategy()));
+        stats = new SimulationStats(Positions.TWO_PLAYERS);
+    }
+
+    //игра только движком: каждый ходит первой подходящей костяшкой
+    @Benchmark
+    public DominoGame engineGame() {
+        DominoGame game = new DominoGame(Positions.TWO_PLAYERS);
+        game.startGame(nextSeed());
+        while (!game.isGameOver()) {
+            game.makeMove(Positions.firstPlayable(game));
+        }
+        return game;
+    }
+
+    //игра симулятора: жадный бот против случайного
+    @Benchmark
+    public SimulationStats simulatorGame() {
+        simulator.playGame(nextSeed(), stats);
+        return stats;
+    }
+
+    private long nextSeed() {
+        return Simulator.gameSeed(seed, index++ & (SERIES - 1));
+    }
+}
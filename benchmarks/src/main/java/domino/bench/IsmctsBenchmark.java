@@ -0,0 +1,80 @@
+package domino.bench;
+
+import domino.DominoGame;
+import domino.bot.IsmctsStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Скорость ISMCTS: поисков в секунду и, отдельным счетчиком playouts, доигровок в секунду.
+ * Поиск идет по кругу в позициях начала игр с фиксированными зернами, чтобы замеры были сравнимы.
+ * Параметр threads = 0 означает все ядра; на каждый поток приходится iterations итераций.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsmctsBenchmark {
+    private static final int POSITIONS = 20;
+
+    @Param("20000")
+    int iterations;
+
+    @Param({"1", "0"})
+    int threads;
+
+    private final List<DominoGame> positions = new ArrayList<>();
+    private IsmctsStrategy strategy;
+    private SplittableRandom random;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        int threadCount = threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+        strategy = new IsmctsStrategy(iterations * threadCount, Duration.ZERO, threadCount);
+        for (int i = 0; i < POSITIONS; i++) {
+            DominoGame game = new DominoGame(Positions.TWO_PLAYERS);
+            game.startGame(i);
+            positions.add(game);
+        }
+        random = new SplittableRandom(1);
+    }
+
+    //доигровки замера: JMH выводит их как отдельную скорость рядом со скоростью поисков
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Playouts {
+        public long playouts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            playouts = 0;
+        }
+    }
+
+    @Benchmark
+    public int search(Playouts counter) {
+        IsmctsStrategy.SearchResult result = strategy.search(positions.get(index++ % POSITIONS), random);
+        counter.playouts += result.getPlayouts();
+        return result.getBestMove();
+    }
+}
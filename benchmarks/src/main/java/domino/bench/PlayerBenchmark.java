@@ -0,0 +1,54 @@
+package domino.bench;
+
+import domino.Domino;
+import domino.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры {@link Player#hasPlayerDomino(int, int)} на раздаче из фиксированного зерна.
+ * За одну операцию проверяются все пары концов, так что ветвления не подстраиваются под один случай.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    @Param("42")
+    long seed;
+
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        player = Positions.midGame(seed, 0).getCurrentPlayer();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Domino.ORIENTED_COUNT)
+    public int hasPlayerDomino() {
+        int playable = 0;
+        for (int left = 0; left < Domino.PIP_COUNT; left++) {
+            for (int right = 0; right < Domino.PIP_COUNT; right++) {
+                if (player.hasPlayerDomino(left, right)) {
+                    playable++;
+                }
+            }
+        }
+        return playable;
+    }
+}
@@ -0,0 +1,33 @@
+package domino.bench;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+
+import java.util.List;
+
+/**
+ * Воспроизводимые позиции для замеров: все они строятся из фиксированного зерна.
+ */
+final class Positions {
+    static final List<String> TWO_PLAYERS = List.of("Игрок 1", "Игрок 2");
+
+    private Positions() {
+    }
+
+    //игра двух игроков после нескольких ходов первой подходящей костяшкой
+    static DominoGame midGame(long seed, int moves) {
+        DominoGame game = new DominoGame(TWO_PLAYERS);
+        game.startGame(seed);
+        for (int i = 0; i < moves && !game.isGameOver(); i++) {
+            game.makeMove(firstPlayable(game));
+        }
+        return game;
+    }
+
+    //первая подходящая костяшка текущего игрока или null
+    static Domino firstPlayable(DominoGame game) {
+        DominoBoard board = game.getBoard();
+        return game.getCurrentPlayer().findPlayableDomino(board.getLeftEnd(), board.getRightEnd());
+    }
+}
@@ -0,0 +1,282 @@
+package domino;
+
+import domino.bot.GreedyStrategy;
+import domino.bot.IsmctsStrategy;
+import domino.bot.RandomStrategy;
+import domino.bot.Strategy;
+import domino.sim.Simulator;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Пакетный режим консоли: серия игр без диалога, по параметрам командной строки.
+ * <p>
+ * Места занимают боты или сценарии ({@link ScriptedPlayer}). По каждой игре выводится
+ * одна строка итога в выбранном формате, через буфер, а не состояние после каждого хода,
+ * поэтому вывод можно передавать другим программам, и консоль не тормозит серию.
+ * Итог серии печатается в поток ошибок, чтобы не смешиваться с данными.
+ * <p>
+ * Игра с номером i получает зерно {@link Simulator#gameSeed(long, long)} и играется
+ * общим циклом {@link Simulator#play}, так что любую игру серии можно повторить
+ * по зерну серии, а с теми же ботами и правилами она совпадет с игрой симулятора.
+ */
+final class BatchMode {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    static final String USAGE = """
+            Использование: Console [--games N] [--seats МЕСТО,МЕСТО...] [--seed ЗЕРНО]
+                                   [--set N] [--hand N] [--format text|csv|json] [--max-turns N]
+                                   [--output ФАЙЛ]
+              --games      количество игр (по умолчанию 1)
+              --seats      места игроков через запятую, от 2 до 16 (по умолчанию greedy,random):
+                           random, greedy, ismcts[:итераций] или script:ФАЙЛ
+                           (файл с выборами, как при вводе с клавиатуры)
+              --seed       зерно серии (по умолчанию случайное)
+              --set        старшее значение набора: 6, 9, 12, 15 или другое до %d (по умолчанию %d)
+              --hand       костяшек в начальной руке (по умолчанию %d)
+              --format     формат строк итогов (по умолчанию text)
+              --max-turns  лимит ходов, после которого игра не доигрывается (по умолчанию %d)
+              --output     файл для итогов (по умолчанию стандартный вывод)
+            Без параметров запускается игра двух человек.
+            """.formatted(Domino.MAX_SUPPORTED_PIP, Domino.MAX_PIP,
+            DominoGame.HAND_SIZE, Simulator.DEFAULT_MAX_TURNS);
+
+    //формат строки итога игры
+    enum Format {
+        TEXT, CSV, JSON
+    }
+
+    private final List<Strategy> seats;
+    private final List<String> seatNames = new ArrayList<>();
+    private final long games;
+    private final long masterSeed;
+    private final int maxPip;
+    private final int handSize;
+    private final Format format;
+    private final int maxTurns;
+    private final Path output;
+
+    private BatchMode(List<Strategy> seats, long games, long masterSeed, int maxPip, int handSize,
+                      Format format, int maxTurns, Path output) {
+        this.seats = seats;
+        this.games = games;
+        this.masterSeed = masterSeed;
+        this.maxPip = maxPip;
+        this.handSize = handSize;
+        this.format = format;
+        this.maxTurns = maxTurns;
+        this.output = output;
+        for (int i = 0; i < seats.size(); i++) {
+            seatNames.add((i + 1) + ". " + seats.get(i).getName());
+        }
+    }
+
+    /**
+     * Разбирает параметры командной строки.
+     *
+     * @throws IllegalArgumentException если параметр неизвестен или его значение неверно
+     * @throws IOException              если сценарий не читается
+     */
+    static BatchMode parse(String[] args) throws IOException {
+        long games = 1;
+        String seatList = "greedy,random";
+        long seed = ThreadLocalRandom.current().nextLong();
+        int maxPip = Domino.MAX_PIP;
+        int handSize = DominoGame.HAND_SIZE;
+        Format format = Format.TEXT;
+        int maxTurns = Simulator.DEFAULT_MAX_TURNS;
+        Path output = null;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Не указано значение параметра " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--games" -> games = Long.parseLong(value);
+                    case "--seats" -> seatList = value;
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--set" -> maxPip = Integer.parseInt(value);
+                    case "--hand" -> handSize = Integer.parseInt(value);
+                    case "--format" -> format = Format.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--max-turns" -> maxTurns = Integer.parseInt(value);
+                    case "--output" -> output = Path.of(value);
+                    default -> throw new IllegalArgumentException("Неизвестный параметр " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Неверное число '" + value + "' для " + option);
+            } catch (IllegalArgumentException e) {
+                if (option.equals("--format")) {
+                    throw new IllegalArgumentException("Неизвестный формат " + value);
+                }
+                throw e;
+            }
+        }
+        if (games < 0) {
+            throw new IllegalArgumentException("Количество игр не может быть отрицательным");
+        }
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Лимит ходов должен быть положительным");
+        }
+        List<Strategy> seats = new ArrayList<>();
+        for (String seat : seatList.split(",")) {
+            seats.add(seat(seat.strip()));
+        }
+        BatchMode batch = new BatchMode(seats, games, seed, maxPip, handSize, format, maxTurns, output);
+        // Число мест, набор и размер руки проверяет сама игра
+        batch.newGame();
+        return batch;
+    }
+
+    private static Strategy seat(String spec) throws IOException {
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? null : spec.substring(colon + 1);
+        return switch (kind) {
+            case "random" -> new RandomStrategy();
+            case "greedy" -> new GreedyStrategy();
+            case "ismcts" -> {
+                try {
+                    yield new IsmctsStrategy(argument == null ? 1000 : Integer.parseInt(argument));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Неверное число итераций в " + spec);
+                }
+            }
+            case "script" -> {
+                if (argument == null) {
+                    throw new IllegalArgumentException("Для места script нужен файл: script:ФАЙЛ");
+                }
+                yield new ScriptedPlayer(Path.of(argument));
+            }
+            default -> throw new IllegalArgumentException("Неизвестное место " + spec);
+        };
+    }
+
+    /**
+     * Играет серию и выводит итоги.
+     */
+    void run() throws IOException {
+        long start = System.nanoTime();
+        long[] wins = new long[seats.size()];
+        long blocked = 0;
+        long unfinished = 0;
+        StringBuilder line = new StringBuilder(128);
+        try (Writer out = open()) {
+            writeHeader(out);
+            for (long i = 0; i < games; i++) {
+                long seed = Simulator.gameSeed(masterSeed, i);
+                DominoGame game = play(seed);
+                int winner = game.getWinnerIndex();
+                if (winner >= 0) {
+                    wins[winner]++;
+                }
+                if (game.isBlocked()) {
+                    blocked++;
+                }
+                if (!game.isGameOver()) {
+                    unfinished++;
+                }
+                line.setLength(0);
+                appendResult(line, i + 1, seed, game);
+                out.append(line);
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "Игр: %d за %.2f с (%.0f игр/с), зерно серии %d%n",
+                games, seconds, seconds > 0 ? games / seconds : 0, masterSeed));
+        for (int s = 0; s < seats.size(); s++) {
+            summary.append(String.format(Locale.ROOT, "  %-20s побед %d (%.1f%%)%n",
+                    seatNames.get(s), wins[s], games == 0 ? 0 : 100.0 * wins[s] / games));
+        }
+        summary.append("  рыба: ").append(blocked).append(", не доиграно: ").append(unfinished);
+        System.err.println(summary);
+    }
+
+    private DominoGame play(long seed) {
+        DominoGame game = newGame();
+        // Как в интерактивной консоли: неподходящая костяшка сценария - выбор повторяется
+        Simulator.play(game, seats::get, seed, maxTurns, seat -> seats.get(seat) instanceof ScriptedPlayer);
+        return game;
+    }
+
+    private DominoGame newGame() {
+        return new DominoGame(seatNames, maxPip, handSize);
+    }
+
+    private Writer open() throws IOException {
+        if (output != null) {
+            return Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+        }
+        // Стандартный вывод без автосброса PrintStream: строки копятся в буфере
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                StandardCharsets.UTF_8), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                // Стандартный вывод не закрываем, только сбрасываем буфер
+                flush();
+            }
+        };
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        if (format == Format.CSV) {
+            StringBuilder header = new StringBuilder("game,seed,winner,reason,moves");
+            for (int s = 1; s <= seats.size(); s++) {
+                header.append(",pips").append(s);
+            }
+            out.append(header).append('\n');
+        }
+    }
+
+    /**
+     * Строка итога игры: номер, зерно, место победителя (с 1, 0 - нет победителя),
+     * причина окончания, число ходов и очки в руках по местам.
+     */
+    private void appendResult(StringBuilder line, long number, long seed, DominoGame game) {
+        int winner = game.getWinnerIndex() + 1;
+        String reason = game.isGameOver() ? game.getGameOverReason().name() : "UNFINISHED";
+        List<Player> players = game.getPlayers();
+        switch (format) {
+            case TEXT -> {
+                line.append(number).append(" seed=").append(seed).append(" winner=").append(winner)
+                        .append(" reason=").append(reason).append(" moves=").append(game.getHistorySize())
+                        .append(" pips=");
+                for (int s = 0; s < players.size(); s++) {
+                    line.append(s == 0 ? "" : ",").append(players.get(s).getHandValue());
+                }
+            }
+            case CSV -> {
+                line.append(number).append(',').append(seed).append(',').append(winner).append(',')
+                        .append(reason).append(',').append(game.getHistorySize());
+                for (Player player : players) {
+                    line.append(',').append(player.getHandValue());
+                }
+            }
+            case JSON -> {
+                line.append("{\"game\":").append(number).append(",\"seed\":").append(seed)
+                        .append(",\"winner\":").append(winner).append(",\"reason\":\"").append(reason)
+                        .append("\",\"moves\":").append(game.getHistorySize()).append(",\"pips\":[");
+                for (int s = 0; s < players.size(); s++) {
+                    line.append(s == 0 ? "" : ",").append(players.get(s).getHandValue());
+                }
+                line.append("]}");
+            }
+        }
+        line.append('\n');
+    }
+}
@@ -1,5 +1,6 @@
 package domino;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
@@ -28,6 +29,7 @@ public class Console {
 
         List<String> playerNames = Arrays.asList("Игрок 1", "Игрок 2");
         game = new DominoGame(playerNames);
+        game.addListener(new EventPrinter());
         game.startGame();
 
         System.out.println("\nНачальное состояние игры:");
@@ -86,7 +88,7 @@ public class Console {
         if (game.getRemainingDominoes() > 0) {
             System.out.println("0. Взять из базара");
         } else {
-            System.out.println("0. Пропустить ход (базар пуст)");
+            System.out.println("0. Пропустить ход нельзя: есть подходящие костяшки");
         }
 
         int choice = getPlayerChoice(hand.size());
@@ -138,13 +140,70 @@ public class Console {
         }
     }
 
+    /**
+     * Печатает события игры, которые не видны из отображения состояния:
+     * первый ход, взятие из базара и ход взятой костяшкой.
+     */
+    private static class EventPrinter implements GameListener {
+        private boolean justDrew;
+
+        @Override
+        public void gameStarted(DominoGame game, Player opener, Domino opening) {
+            System.out.println("Первый ход: " + opener.getName() + " выкладывает " + opening);
+        }
+
+        @Override
+        public void tileDrawn(DominoGame game, Player player, Domino drawn) {
+            System.out.println(player.getName() + " берет костяшку из базара: " + drawn);
+            justDrew = true;
+        }
+
+        @Override
+        public void tilePlayed(DominoGame game, Player player, Domino placed, Side side, boolean flipped) {
+            if (justDrew) {
+                System.out.println(player.getName() + " сразу играет взятую костяшку: " + placed);
+            }
+            justDrew = false;
+        }
+
+        @Override
+        public void turnPassed(DominoGame game, Player player) {
+            justDrew = false;
+        }
+    }
+
     /**
      * Точка входа в приложение.
+     * Без аргументов запускается игра двух человек, с аргументами - пакетный режим
+     * ({@link BatchMode#USAGE}).
      *
-     * @param args аргументы командной строки (не используются)
+     * @param args параметры пакетного режима
      */
-    public static void main(String[] args) {
-        Console demo = new Console();
-        demo.start();
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            Console demo = new Console();
+            demo.start();
+            return;
+        }
+        if (args[0].equals("--help")) {
+            System.out.print(BatchMode.USAGE);
+            return;
+        }
+        BatchMode batch;
+        try {
+            batch = BatchMode.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(BatchMode.USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            batch.run();
+        } catch (IllegalStateException e) {
+            // Например, сценарий закончился раньше серии
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package domino;
+
+import domino.bot.Strategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Игрок, который читает выборы из файла вместо клавиатуры.
+ * <p>
+ * Файл содержит те же числа, что человек вводит в интерактивной консоли:
+ * номер костяшки в руке (с 1) или 0, чтобы взять из базара. Как и в консоли,
+ * если ходить нечем и базар пуст, ход пропускается без чтения файла, а неподходящая
+ * костяшка не засчитывается, и читается следующее число. Поэтому сохраненный ввод
+ * интерактивной партии воспроизводит ее в пакетном режиме. В серии игр выборы
+ * читаются подряд: следующая игра продолжает файл с места, где закончилась предыдущая.
+ * <p>
+ * В отличие от ботов, игрок хранит позицию в файле и не потокобезопасен.
+ */
+final class ScriptedPlayer implements Strategy {
+    private final Path file;
+    private final int[] choices;
+    private int next;
+
+    ScriptedPlayer(Path file) throws IOException {
+        this.file = file;
+        String text = Files.readString(file).strip();
+        String[] tokens = text.isEmpty() ? new String[0] : text.split("\\s+");
+        this.choices = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            try {
+                choices[i] = Integer.parseInt(tokens[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Сценарий " + file + ": '" + tokens[i]
+                        + "' на позиции " + (i + 1) + " не является числом");
+            }
+        }
+    }
+
+    @Override
+    public int chooseMove(DominoGame game, RandomGenerator random) {
+        Player player = game.getCurrentPlayer();
+        DominoBoard board = game.getBoard();
+        Domino drawn = game.getDrawnDomino();
+        if (drawn != null) {
+            // Как в консоли: взятая костяшка ставится сразу, только если до взятия ходить было нечем
+            int move = hadPlayable(player, board, drawn) ? Move.PASS : play(board, drawn);
+            return game.isLegal(move) ? move : Move.PASS;
+        }
+        if (game.getRemainingDominoes() == 0 && !player.hasPlayerDomino(board.getLeftEnd(), board.getRightEnd())) {
+            return Move.PASS;
+        }
+        if (next == choices.length) {
+            throw new IllegalStateException("Сценарий " + file + " закончился после " + next + " ходов");
+        }
+        int choice = choices[next++];
+        List<Domino> hand = player.getHand();
+        if (choice < 0 || choice > hand.size()) {
+            throw new IllegalStateException("Сценарий " + file + ": выбор " + choice + " на позиции " + next
+                    + " вне диапазона 0-" + hand.size());
+        }
+        if (choice == 0) {
+            return game.getRemainingDominoes() > 0 ? Move.DRAW : Move.PASS;
+        }
+        return play(board, hand.get(choice - 1));
+    }
+
+    //ход костяшкой, как в консоли: сначала на левый конец, затем на правый;
+    //неподходящая костяшка дает недопустимый ход, и выбор повторяется
+    private static int play(DominoBoard board, Domino tile) {
+        Domino placed = board.fit(tile, Side.LEFT);
+        if (placed != null) {
+            return Move.play(placed, Side.LEFT);
+        }
+        placed = board.fit(tile, Side.RIGHT);
+        return Move.play(placed == null ? tile : placed, placed == null ? Side.LEFT : Side.RIGHT);
+    }
+
+    //была ли у игрока подходящая костяшка, кроме взятой из базара
+    private static boolean hadPlayable(Player player, DominoBoard board, Domino drawn) {
+        for (Domino tile : player.getHand()) {
+            if (!tile.equals(drawn) && (tile.matches(board.getLeftEnd()) || tile.matches(board.getRightEnd()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "script:" + file.getFileName();
+    }
+}
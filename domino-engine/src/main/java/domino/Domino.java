@@ -1,15 +1,104 @@
 package domino;
-//костяшка домино 2 значения на одной от 0 до 6
-public class Domino {
-    private int left;
-    private int right;
+//костяшка домино 2 значения на одной от 0 до MAX_SUPPORTED_PIP (15, набор дубль-пятнадцать)
+public final class Domino {
+    //старшее значение стандартного набора дубль-шесть
+    public static final int MAX_PIP = 6;
+    //количество различных значений половинки стандартного набора (0..MAX_PIP)
+    public static final int PIP_COUNT = MAX_PIP + 1;
+    //количество различных костяшек в стандартном наборе (28 для дубль-шесть)
+    public static final int TILE_COUNT = PIP_COUNT * (PIP_COUNT + 1) / 2;
+    //количество ориентированных форм костяшек стандартного набора (49 для дубль-шесть)
+    public static final int ORIENTED_COUNT = PIP_COUNT * PIP_COUNT;
 
-    public Domino(int left, int right) {
-        if(left < 0 || left > 6 || right < 0 || right > 6) {
-            throw new IllegalArgumentException("Значения домино должны быть от 0 до 6");
+    //старшее значение самого большого поддерживаемого набора (дубль-пятнадцать)
+    public static final int MAX_SUPPORTED_PIP = 15;
+    //количество костяшек самого большого набора (136); номера любых костяшек меньше него
+    public static final int MAX_TILE_COUNT = tileCount(MAX_SUPPORTED_PIP);
+    //количество кодов ориентированных костяшек: код = left * 16 + right
+    public static final int CODE_COUNT = (MAX_SUPPORTED_PIP + 1) * (MAX_SUPPORTED_PIP + 1);
+    //количество 64-битных слов в маске номеров костяшек самого большого набора
+    public static final int MASK_WORDS = (MAX_TILE_COUNT + Long.SIZE - 1) / Long.SIZE;
+    private static final int CODE_SHIFT = 4;
+
+    //таблица всех ориентированных костяшек по коду
+    private static final Domino[] ORIENTED = new Domino[CODE_COUNT];
+    //канонические костяшки (left <= right) по номеру
+    private static final Domino[] TILES = new Domino[MAX_TILE_COUNT];
+    //для каждого значения - битовая маска номеров костяшек с этим значением, по MASK_WORDS слов на значение
+    private static final long[] PIP_MASKS = new long[(MAX_SUPPORTED_PIP + 1) * MASK_WORDS];
+
+    static {
+        for (int left = 0; left <= MAX_SUPPORTED_PIP; left++) {
+            for (int right = 0; right <= MAX_SUPPORTED_PIP; right++) {
+                ORIENTED[left << CODE_SHIFT | right] = new Domino(left, right);
+            }
         }
+        for (int high = 0; high <= MAX_SUPPORTED_PIP; high++) {
+            for (int low = 0; low <= high; low++) {
+                int id = tileId(low, high);
+                TILES[id] = ORIENTED[low << CODE_SHIFT | high];
+                PIP_MASKS[low * MASK_WORDS + (id >>> 6)] |= 1L << id;
+                PIP_MASKS[high * MASK_WORDS + (id >>> 6)] |= 1L << id;
+            }
+        }
+    }
+
+    private final int left;
+    private final int right;
+    //номер костяшки без учета ориентации: 0..TILE_COUNT-1
+    private final int id;
+    //код ориентированной формы: 0..CODE_COUNT-1
+    private final int code;
+
+    public Domino(int left, int right) {
+        checkPip(left, right);
         this.left = left;
         this.right = right;
+        this.id = tileId(Math.min(left, right), Math.max(left, right));
+        this.code = left << CODE_SHIFT | right;
+    }
+
+    //каноническая костяшка с заданной ориентацией, без создания нового объекта
+    public static Domino of(int left, int right) {
+        checkPip(left, right);
+        return ORIENTED[left << CODE_SHIFT | right];
+    }
+
+    //каноническая костяшка (left <= right) по номеру
+    public static Domino byId(int id) {
+        return TILES[id];
+    }
+
+    //ориентированная костяшка по коду
+    public static Domino byCode(int code) {
+        return ORIENTED[code];
+    }
+
+    //маска костяшек с номерами до 63 с заданным значением; для пустого конца (-1) маска пуста
+    public static long pipMask(int pip) {
+        return pipMask(pip, 0);
+    }
+
+    //слово word маски костяшек с заданным значением (номера word * 64 .. word * 64 + 63)
+    public static long pipMask(int pip, int word) {
+        return pip < 0 || pip > MAX_SUPPORTED_PIP ? 0L : PIP_MASKS[pip * MASK_WORDS + word];
+    }
+
+    //количество костяшек в наборе дубль-maxPip
+    public static int tileCount(int maxPip) {
+        return (maxPip + 1) * (maxPip + 2) / 2;
+    }
+
+    private static void checkPip(int left, int right) {
+        if(left < 0 || left > MAX_SUPPORTED_PIP || right < 0 || right > MAX_SUPPORTED_PIP) {
+            throw new IllegalArgumentException("Значения домино должны быть от 0 до " + MAX_SUPPORTED_PIP);
+        }
+    }
+
+    //треугольная нумерация: номера костяшек меньшего набора не меняются при расширении набора,
+    //поэтому набор дубль-N - это ровно номера 0..tileCount(N)-1
+    private static int tileId(int low, int high) {
+        return high * (high + 1) / 2 + low;
     }
 
     public int getLeft() {
@@ -20,6 +109,14 @@ public class Domino {
         return right;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
     public boolean isDouble() {
         return left == right;
     }
@@ -28,9 +125,14 @@ public class Domino {
         return left + right;
     }
 
-    //перевернуть костяшку, поменять местами части
+    //перевернуть костяшку, поменять местами части (берется из таблицы, без выделения памяти)
     public Domino flip() {
-        return new Domino(right, left);
+        return ORIENTED[right << CODE_SHIFT | left];
+    }
+
+    //та же костяшка без учета ориентации
+    public boolean isSameTile(Domino other) {
+        return other != null && id == other.id;
     }
 
     //проверка значения
@@ -38,6 +140,23 @@ public class Domino {
         return left == value || right == value;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Domino)) {
+            return false;
+        }
+        Domino other = (Domino) o;
+        return code == other.code;
+    }
+
+    @Override
+    public int hashCode() {
+        return code;
+    }
+
     @Override
     public String toString() {
         return "[" + left + "|" + right + "]";
@@ -1,36 +1,55 @@
 package domino;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class DominoBoard {
-    private List<Domino> board;
+    //кольцевой буфер цепочки: O(1) добавление с обоих концов без сдвига элементов
+    private Domino[] cells;
+    private int head;
+    private int size;
     private int leftEnd;
     private int rightEnd;
+    private int pipTotal;
+    //массив общий со снимком игры: перед изменением его нужно скопировать
+    private boolean shared;
+    private final List<Domino> chainView = new ChainView();
 
     public DominoBoard() {
-        board = new ArrayList<>();
+        cells = new Domino[Integer.highestOneBit(Domino.TILE_COUNT - 1) << 1];
         leftEnd = -1;
         rightEnd = -1;
     }
 
+    //доска поверх кольцевого буфера снимка, буфер копируется при первом изменении
+    DominoBoard(Domino[] cells, int head, int size, int pipTotal) {
+        this.cells = cells;
+        this.head = head;
+        this.size = size;
+        this.pipTotal = pipTotal;
+        this.shared = true;
+        updateEnds();
+    }
+
     public boolean addToLeft(Domino domino) {
-        if (board.isEmpty()) {
-            board.add(domino);
+        if (size == 0) {
+            pushLeft(domino);
             leftEnd = domino.getLeft();
             rightEnd = domino.getRight();
             return true;
         }
 
         if (domino.getRight() == leftEnd) {
-            board.add(0, domino);
+            pushLeft(domino);
             leftEnd = domino.getLeft();
             return true;
         }
 
         if (domino.getLeft() == leftEnd) {
             Domino flipped = domino.flip();
-            board.add(0, flipped);
+            pushLeft(flipped);
             leftEnd = flipped.getLeft();
             return true;
         }
@@ -39,19 +58,19 @@ public class DominoBoard {
     }
 
     public boolean addToRight(Domino domino) {
-        if (board.isEmpty()) {
+        if (size == 0) {
             return addToLeft(domino);
         }
 
         if (domino.getLeft() == rightEnd) {
-            board.add(domino);
+            pushRight(domino);
             rightEnd = domino.getRight();
             return true;
         }
 
         if (domino.getRight() == rightEnd) {
             Domino flipped = domino.flip();
-            board.add(flipped);
+            pushRight(flipped);
             rightEnd = flipped.getRight();
             return true;
         }
@@ -64,21 +83,154 @@ public class DominoBoard {
         return addToLeft(domino) || addToRight(domino);
     }
 
+    //поставить костяшку на выбранный конец, повернув ее нужной стороной
+    public boolean playDomino(Domino domino, Side side) {
+        return side == Side.LEFT ? addToLeft(domino) : addToRight(domino);
+    }
+
+    /**
+     * Ориентация, в которой костяшка встанет на заданный конец.
+     *
+     * @return повернутая нужной стороной костяшка или null, если она не подходит
+     */
+    public Domino fit(Domino domino, Side side) {
+        if (size == 0) {
+            return domino;
+        }
+        int end = side == Side.LEFT ? leftEnd : rightEnd;
+        if (side == Side.LEFT ? domino.getRight() == end : domino.getLeft() == end) {
+            return domino;
+        }
+        if (domino.matches(end)) {
+            return domino.flip();
+        }
+        return null;
+    }
+
+    //снять крайнюю левую костяшку (для отмены хода)
+    public Domino removeLeft() {
+        Domino removed = getDomino(0);
+        unshare();
+        cells[head] = null;
+        head = (head + 1) & (cells.length - 1);
+        size--;
+        pipTotal -= removed.getValue();
+        updateEnds();
+        return removed;
+    }
+
+    //снять крайнюю правую костяшку (для отмены хода)
+    public Domino removeRight() {
+        Domino removed = getDomino(size - 1);
+        unshare();
+        cells[(head + size - 1) & (cells.length - 1)] = null;
+        size--;
+        pipTotal -= removed.getValue();
+        updateEnds();
+        return removed;
+    }
+
+    private void updateEnds() {
+        if (size == 0) {
+            leftEnd = -1;
+            rightEnd = -1;
+        } else {
+            leftEnd = cells[head].getLeft();
+            rightEnd = cells[(head + size - 1) & (cells.length - 1)].getRight();
+        }
+    }
+
+    private void pushLeft(Domino domino) {
+        ensureCapacity();
+        head = (head - 1) & (cells.length - 1);
+        cells[head] = domino;
+        size++;
+        pipTotal += domino.getValue();
+    }
+
+    private void pushRight(Domino domino) {
+        ensureCapacity();
+        cells[(head + size) & (cells.length - 1)] = domino;
+        size++;
+        pipTotal += domino.getValue();
+    }
+
+    private void ensureCapacity() {
+        if (size < cells.length) {
+            unshare();
+            return;
+        }
+        Domino[] grown = new Domino[cells.length << 1];
+        for (int i = 0; i < size; i++) {
+            grown[i] = cells[(head + i) & (cells.length - 1)];
+        }
+        cells = grown;
+        head = 0;
+        shared = false;
+    }
+
+    private void unshare() {
+        if (shared) {
+            cells = cells.clone();
+            shared = false;
+        }
+    }
+
+    //кольцевой буфер для снимка; после этого доска и снимок делят его до первого изменения
+    Domino[] share() {
+        shared = true;
+        return cells;
+    }
+
+    int getHead() {
+        return head;
+    }
+
     public int getLeftEnd() { return leftEnd; }
     public int getRightEnd() { return rightEnd; }
-    public boolean isEmpty() { return board.isEmpty(); }
-    public List<Domino> getBoard() { return new ArrayList<>(board); }
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public int getPipTotal() { return pipTotal; }
+
+    //костяшка цепочки по позиции слева направо, в том виде, в каком она лежит
+    public Domino getDomino(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Позиция " + index + " вне цепочки длины " + size);
+        }
+        return cells[(head + index) & (cells.length - 1)];
+    }
+
+    //копия цепочки
+    public List<Domino> getBoard() { return new ArrayList<>(chainView); }
+
+    //неизменяемое представление цепочки без копирования, отражает последующие ходы
+    public List<Domino> getChain() { return chainView; }
 
     @Override
     public String toString() {
-        if (board.isEmpty()) {
+        if (size == 0) {
             return "Доска пуста";
         }
 
         StringBuilder sb = new StringBuilder();
-        for (Domino domino : board) {
-            sb.append(domino.toString()).append(" ");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(getDomino(i));
+        }
+        return sb.toString();
+    }
+
+    private class ChainView extends AbstractList<Domino> implements RandomAccess {
+        @Override
+        public Domino get(int index) {
+            return getDomino(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
-        return sb.toString().trim();
     }
 }
@@ -1,35 +1,105 @@
 package domino;
 
+import domino.metrics.EngineMetrics;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Основной класс игрового движка домино.
  * Управляет логикой игры, ходами игроков, состоянием игры и определением победителя.
  */
 public class DominoGame {
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
+    private static final int NO_MOVE = -1;
+    /** Количество костяшек, которое получает каждый игрок при раздаче по умолчанию. */
+    public static final int HAND_SIZE = 7;
+    //время makeMove замеряется у каждого 64-го вызова: System.nanoTime бывает дороже самого хода
+    private static final int LATENCY_SAMPLE_MASK = 63;
+    //через столько ходов накопленные в игре счетчики сбрасываются в общие метрики
+    private static final int METRICS_FLUSH_MOVES = 64;
+
+    //правила: набор дубль-maxPip и размер руки при раздаче
+    private final int maxPip;
+    private final int handSize;
+    //количество слов в масках рук: 1 для наборов до дубль-девять
+    private final int maskWords;
     private DominoSet dominoSet;
     private DominoBoard board;
     private List<Player> players;
+    private final List<String> playerNames;
     private int currentPlayerIndex;
     private GameState gameState;
     private Player winner;
+    private GameOverReason gameOverReason;
+    private Player opener;
+    private Domino openingDomino;
+    private GameListener[] listeners = NO_LISTENERS;
+    private Long seed;
+    //номера костяшек в порядке раздачи: первые руки игроков по очереди, затем базар
+    private byte[] deal;
+    //взятая на текущем ходу костяшка, -1 если игрок не брал из базара
+    private int drawnTileId = -1;
+    //журнал ходов для отмены: ход, прежний текущий игрок и прежняя взятая костяшка
+    private long[] history = new long[64];
+    //хеш позиции перед каждым ходом журнала
+    private long[] hashHistory = new long[64];
+    private int historySize;
+    //метрики, еще не сброшенные в EngineMetrics
+    private int meteredCalls;
+    private int pendingMoves;
+    private int pendingDraws;
+    //хеш Зобриста текущей позиции, обновляется на каждом ходе
+    private long hash;
+    private final int[] hiddenBuffer;
 
     /**
      * Конструктор игры в домино.
-     * Создает новую игру с указанными игроками.
+     * Создает новую игру с указанными игроками набором дубль-шесть, по {@link #HAND_SIZE} костяшек на руку.
      *
      * @param playerNames список имен игроков для участия в игре
      * @throws IllegalArgumentException если передано меньше 2 игроков
      */
     public DominoGame(List<String> playerNames) {
+        this(playerNames, Domino.MAX_PIP, HAND_SIZE);
+    }
+
+    /**
+     * Создает игру с большим набором, например дубль-двенадцать на 6-8 игроков.
+     *
+     * @param playerNames список имен игроков
+     * @param maxPip      старшее значение набора: 6, 9, 12, 15 или любое до {@link Domino#MAX_SUPPORTED_PIP}
+     * @param handSize    сколько костяшек получает каждый игрок при раздаче
+     * @throws IllegalArgumentException если игроков меньше 2 или больше 16, или костяшек не хватит на раздачу
+     */
+    public DominoGame(List<String> playerNames, int maxPip, int handSize) {
         if (playerNames == null || playerNames.size() < 2) {
             throw new IllegalArgumentException("Минимум 2 игрока");
         }
+        if (playerNames.size() > Zobrist.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Максимум " + Zobrist.MAX_PLAYERS + " игроков");
+        }
+        if (maxPip < 1 || maxPip > Domino.MAX_SUPPORTED_PIP) {
+            throw new IllegalArgumentException("Старшее значение набора должно быть от 1 до " + Domino.MAX_SUPPORTED_PIP);
+        }
+        if (handSize < 1 || (long) handSize * playerNames.size() > Domino.tileCount(maxPip)) {
+            throw new IllegalArgumentException("В наборе дубль-" + maxPip + " не хватит костяшек, чтобы раздать "
+                    + playerNames.size() + " игрокам по " + handSize);
+        }
 
-        this.dominoSet = new DominoSet();
+        this.maxPip = maxPip;
+        this.handSize = handSize;
+        this.maskWords = maskWords(maxPip);
+        this.hiddenBuffer = new int[Domino.tileCount(maxPip)];
+        this.dominoSet = new DominoSet(maxPip);
         this.board = new DominoBoard();
         this.players = new ArrayList<>();
+        this.playerNames = List.copyOf(playerNames);
         this.gameState = GameState.NOT_STARTED;
 
         for (String name : playerNames) {
@@ -37,22 +107,231 @@ public class DominoGame {
         }
     }
 
+    //новая игра в позиции снимка; доска и базар делят массивы со снимком до первого изменения
+    DominoGame(GameSnapshot snapshot) {
+        this.maxPip = snapshot.maxPip;
+        this.handSize = snapshot.handSize;
+        this.maskWords = maskWords(maxPip);
+        this.hiddenBuffer = new int[Domino.tileCount(maxPip)];
+        this.playerNames = snapshot.playerNames;
+        this.players = new ArrayList<>(playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            players.add(new Player(playerNames.get(i), snapshot.hands, i * maskWords, maskWords));
+        }
+        this.dominoSet = new DominoSet(snapshot.bazaar, snapshot.bazaarSize);
+        this.board = new DominoBoard(snapshot.boardCells, snapshot.boardHead, snapshot.boardSize,
+                snapshot.boardPipTotal);
+        this.currentPlayerIndex = snapshot.currentPlayerIndex;
+        this.gameState = snapshot.gameState;
+        this.winner = snapshot.winnerIndex < 0 ? null : players.get(snapshot.winnerIndex);
+        this.gameOverReason = snapshot.gameOverReason;
+        this.opener = snapshot.openerIndex < 0 ? null : players.get(snapshot.openerIndex);
+        this.openingDomino = snapshot.openingDomino;
+        this.drawnTileId = snapshot.drawnTileId;
+        this.seed = snapshot.seed;
+        this.deal = snapshot.deal;
+        this.hash = snapshot.hash;
+    }
+
+    //слов по 64 бита в маске номеров костяшек набора дубль-maxPip
+    private static int maskWords(int maxPip) {
+        return (Domino.tileCount(maxPip) + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Создает независимую копию игры в текущей позиции.
+     * Слушатели и журнал ходов не копируются: копия предназначена для перебора
+     * вариантов, и ее ходы можно отменять только до момента копирования.
+     *
+     * @return копия игры
+     */
+    public DominoGame copy() {
+        return snapshot().fork();
+    }
+
+    /**
+     * Неизменяемый снимок текущей позиции за O(1) от длины игры.
+     * Снимок делит массивы доски и базара с игрой; игра копирует их
+     * только при следующем изменении, поэтому снимок можно читать из любых потоков
+     * без блокировок, пока игра продолжается.
+     *
+     * @return снимок позиции
+     */
+    public GameSnapshot snapshot() {
+        long[] hands = new long[players.size() * maskWords];
+        for (int i = 0; i < players.size(); i++) {
+            for (int w = 0; w < maskWords; w++) {
+                hands[i * maskWords + w] = players.get(i).getHandMask(w);
+            }
+        }
+        return new GameSnapshot(playerNames, maxPip, handSize, hands,
+                board.share(), board.getHead(), board.size(), board.getPipTotal(),
+                dominoSet.share(), dominoSet.size(),
+                currentPlayerIndex, gameState, getWinnerIndex(), gameOverReason,
+                opener == null ? -1 : players.indexOf(opener), openingDomino,
+                drawnTileId, seed, deal, hash);
+    }
+
+    /**
+     * Перераздает костяшки, которых не видит игрок-наблюдатель:
+     * руки остальных игроков и базар перемешиваются между собой
+     * с сохранением количества костяшек у каждого.
+     * Используется поиском по информационным множествам на копиях игры.
+     *
+     * @param observerIndex номер игрока, чья рука и доска остаются на месте
+     * @param random        генератор для перемешивания
+     */
+    public void determinize(int observerIndex, RandomGenerator random) {
+        int[] hidden = hiddenBuffer;
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (i == observerIndex) {
+                continue;
+            }
+            for (int w = 0; w < maskWords; w++) {
+                for (long mask = players.get(i).getHandMask(w); mask != 0; mask &= mask - 1) {
+                    hidden[count++] = w * Long.SIZE + Long.numberOfTrailingZeros(mask);
+                }
+            }
+        }
+        for (int i = 0; i < dominoSet.size(); i++) {
+            hidden[count++] = dominoSet.get(i).getId();
+        }
+
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = hidden[i];
+            hidden[i] = hidden[j];
+            hidden[j] = tmp;
+        }
+
+        int next = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (i == observerIndex) {
+                continue;
+            }
+            Player player = players.get(i);
+            int size = player.getHandSize();
+            for (int w = 0; w < maskWords; w++) {
+                for (long mask = player.getHandMask(w); mask != 0; mask &= mask - 1) {
+                    player.removeDomino(Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(mask)));
+                }
+            }
+            for (int k = 0; k < size; k++) {
+                player.addDomino(Domino.byId(hidden[next++]));
+            }
+        }
+        for (int i = 0; i < dominoSet.size(); i++) {
+            dominoSet.set(i, Domino.byId(hidden[next++]));
+        }
+        hash = computeHash();
+    }
+
+    /**
+     * Хеш Зобриста текущей позиции: руки, базар (без учета порядка), концы цепочки,
+     * игрок, который ходит, и взятая на этом ходу костяшка.
+     * Поддерживается инкрементально при каждом ходе и восстанавливается при отмене.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    //полный пересчет хеша; инкрементальный хеш обязан с ним совпадать
+    long computeHash() {
+        long h = Zobrist.ends(board.getLeftEnd(), board.getRightEnd())
+                ^ Zobrist.turn(currentPlayerIndex)
+                ^ Zobrist.drawn(drawnTileId);
+        for (int i = 0; i < players.size(); i++) {
+            for (int w = 0; w < maskWords; w++) {
+                for (long mask = players.get(i).getHandMask(w); mask != 0; mask &= mask - 1) {
+                    h ^= Zobrist.tile(i, w * Long.SIZE + Long.numberOfTrailingZeros(mask));
+                }
+            }
+        }
+        for (int i = 0; i < dominoSet.size(); i++) {
+            h ^= Zobrist.tile(Zobrist.BAZAAR, dominoSet.get(i).getId());
+        }
+        return h;
+    }
+
     /**
      * Начинает новую игру домино.
      * Инициализирует игровые компоненты, перемешивает костяшки и раздает их игрокам.
      * Устанавливает начальное состояние игры и определяет первого игрока.
      */
     public void startGame() {
-        dominoSet = new DominoSet();
-        dominoSet.shuffle();
+        start(ThreadLocalRandom.current(), null);
+    }
+
+    /**
+     * Начинает новую игру с воспроизводимой раздачей.
+     * Две игры, начатые с одним зерном, раздаются одинаково.
+     *
+     * @param seed зерно генератора случайных чисел
+     */
+    public void startGame(long seed) {
+        start(new SplittableRandom(seed), seed);
+    }
+
+    /**
+     * Начинает новую игру, перемешивая костяшки заданным генератором.
+     *
+     * @param random генератор для перемешивания набора
+     */
+    public void startGame(RandomGenerator random) {
+        start(random, null);
+    }
+
+    /**
+     * Начинает новую игру с заданной раздачей, например записанной ранее через {@link #getDeal()}.
+     * Костяшки берутся по порядку: по {@link #getHandSize()} каждому игроку, остальные уходят в базар
+     * и берутся из него в том же порядке.
+     *
+     * @param deal все костяшки набора в порядке раздачи
+     * @throws IllegalArgumentException если это не перестановка полного набора
+     */
+    public void startGame(List<Domino> deal) {
+        int tileCount = Domino.tileCount(maxPip);
+        boolean[] seen = new boolean[tileCount];
+        int distinct = 0;
+        for (Domino domino : deal) {
+            if (domino.getId() < tileCount && !seen[domino.getId()]) {
+                seen[domino.getId()] = true;
+                distinct++;
+            }
+        }
+        if (deal.size() != tileCount || distinct != tileCount) {
+            throw new IllegalArgumentException("Раздача должна содержать каждую костяшку набора ровно один раз");
+        }
+        start(new DominoSet(deal), null);
+    }
+
+    private void start(RandomGenerator random, Long seed) {
+        DominoSet shuffled = new DominoSet(maxPip);
+        shuffled.shuffle(random);
+        start(shuffled, seed);
+    }
+
+    private void start(DominoSet shuffled, Long seed) {
+        this.seed = seed;
+        dominoSet = shuffled;
+        deal = new byte[dominoSet.size()];
+        for (int i = 0; i < deal.length; i++) {
+            deal[i] = (byte) dominoSet.get(deal.length - 1 - i).getId();
+        }
         board = new DominoBoard();
         gameState = GameState.IN_PROGRESS;
         winner = null;
+        gameOverReason = null;
+        opener = null;
+        openingDomino = null;
+        drawnTileId = -1;
+        historySize = 0;
         currentPlayerIndex = 0;
 
-        // Раздача костяшек (по 7 каждому игроку)
+        // Раздача костяшек (по handSize каждому игроку)
         for (Player player : players) {
-            List<Domino> hand = dominoSet.draw(7);
+            List<Domino> hand = dominoSet.draw(handSize);
             for (Domino domino : hand) {
                 player.addDomino(domino);
             }
@@ -60,6 +339,49 @@ public class DominoGame {
 
         // Находим игрока с самым старшим дублем для первого хода
         determineFirstPlayer();
+        hash = computeHash();
+        flushMetrics();
+        EngineMetrics.GAMES_STARTED.increment();
+
+        if (listeners.length != 0 && opener != null) {
+            for (GameListener listener : listeners) {
+                listener.gameStarted(this, opener, openingDomino);
+            }
+        }
+    }
+
+    /**
+     * Добавляет слушателя событий игры.
+     * Слушателей нужно добавлять до {@link #startGame()}, чтобы получить событие начала игры.
+     *
+     * @param listener слушатель
+     */
+    public void addListener(GameListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Слушатель не может быть null");
+        }
+        GameListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Удаляет слушателя событий игры.
+     *
+     * @param listener слушатель
+     * @return true если слушатель был зарегистрирован
+     */
+    public boolean removeListener(GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameListener[] updated = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -88,7 +410,8 @@ public class DominoGame {
             Player startingPlayer = players.get(currentPlayerIndex);
             startingPlayer.removeDomino(highestDouble);
             board.playDomino(highestDouble);
-            System.out.println("Первый ход: " + startingPlayer.getName() + " выкладывает " + highestDouble);
+            opener = startingPlayer;
+            openingDomino = highestDouble;
         } else {
             // Если дублей нет, ищем самую старшую костяшку
             determineFirstPlayerByHighestDomino();
@@ -119,7 +442,8 @@ public class DominoGame {
             Player startingPlayer = players.get(currentPlayerIndex);
             startingPlayer.removeDomino(highestDomino);
             board.playDomino(highestDomino);
-            System.out.println("Первый ход: " + startingPlayer.getName() + " выкладывает " + highestDomino);
+            opener = startingPlayer;
+            openingDomino = highestDomino;
         }
         nextPlayer();
     }
@@ -128,10 +452,23 @@ public class DominoGame {
      * Выполняет ход текущего игрока.
      * Игрок может либо сыграть костяшку на доску, либо взять костяшку из базара.
      *
+     * Костяшка, подходящая к обоим концам, ставится на левый; чтобы выбрать конец,
+     * используйте {@link #makeMove(Domino, Side)}. При пустом базаре null пропускает ход,
+     * только если ходить нечем, иначе ход не делается.
+     *
      * @param domino костяшка для хода, или null если игрок берет из базара
      * @return true если костяшка была успешно сыграна на доску, false если игрок взял из базара или не может сделать ход
      */
     public boolean makeMove(Domino domino) {
+        boolean timed = (meteredCalls++ & LATENCY_SAMPLE_MASK) == 0;
+        long started = timed ? System.nanoTime() : 0;
+        int historyBefore = historySize;
+        boolean played = playOrDraw(domino);
+        recordMetrics(historyBefore, timed, started);
+        return played;
+    }
+
+    private boolean playOrDraw(Domino domino) {
         if (gameState != GameState.IN_PROGRESS) {
             return false;
         }
@@ -140,59 +477,321 @@ public class DominoGame {
 
         // Если игрок передал костяшку, пытаемся сыграть ей
         if (domino != null) {
-            if (board.playDomino(domino)) {
-                currentPlayer.removeDomino(domino);
-                checkRoundEnd();
-                if (!isGameOver()) {  // Исправлено: было game.isGameOver()
-                    nextPlayer();
-                }
-                return true;
-            } else {
-                // Неподходящая костяшка - не переходим к следующему игроку
+            int move = findPlay(currentPlayer, domino);
+            if (move == NO_MOVE || !isLegal(move)) {
+                // Неподходящая костяшка или, после взятия, не взятая - не переходим к следующему игроку
                 return false;
             }
+            applyMove(move);
+            return true;
         }
 
+        if (drawnTileId >= 0) {
+            // Игрок уже взял из базара ходом DRAW - второй раз брать нельзя, ход переходит дальше
+            applyMove(Move.PASS);
+            return false;
+        }
         boolean hasPlayableDomino = currentPlayer.hasPlayerDomino(board.getLeftEnd(), board.getRightEnd());
 
-        if (!hasPlayableDomino) {
-            // Нет подходящих костяшек - берем из базара
-            if (!dominoSet.isEmpty()) {
-                Domino drawn = dominoSet.draw();
-                if (drawn != null) {
-                    currentPlayer.addDomino(drawn);
-                    System.out.println(currentPlayer.getName() + " берет костяшку из базара: " + drawn);
-
-                    // Проверяем, можно ли сыграть только что взятую костяшку
-                    boolean canPlayDrawn = drawn.matches(board.getLeftEnd()) || drawn.matches(board.getRightEnd());
-                    if (canPlayDrawn) {
-                        if (board.playDomino(drawn)) {
-                            currentPlayer.removeDomino(drawn);
-                            System.out.println(currentPlayer.getName() + " сразу играет взятую костяшку: " + drawn);
-                            checkRoundEnd();
-                            if (!isGameOver()) { // Исправлено: было game.isGameOver()
-                                nextPlayer();
-                            }
-                            return true;
-                        }
-                    }
+        // Нет подходящих костяшек - берем из базара и, если возможно, сразу играем взятой;
+        // если подходящие есть, но игрок сознательно выбрал "Взять из базара", ход переходит дальше
+        if (!dominoSet.isEmpty()) {
+            applyMove(Move.DRAW);
+            if (!hasPlayableDomino) {
+                int move = findPlay(currentPlayer, Domino.byId(drawnTileId));
+                if (move != NO_MOVE) {
+                    applyMove(move);
+                    return true;
                 }
             }
-            // После взятия из базара переходим к следующему игроку
-            nextPlayer();
+        } else if (hasPlayableDomino) {
+            // Базар пуст, а ходить есть чем - пропускать ход нельзя
             return false;
-        } else {
-            // У игрока есть подходящие костяшки, но он сознательно выбрал "Взять из базара"
-            if (!dominoSet.isEmpty() && domino == null) {
-                Domino drawn = dominoSet.draw();
-                if (drawn != null) {
-                    currentPlayer.addDomino(drawn);
-                    System.out.println(currentPlayer.getName() + " берет костяшку из базара: " + drawn);
-                }
+        }
+        // После взятия из базара переходим к следующему игроку
+        applyMove(Move.PASS);
+        return false;
+    }
+
+    /**
+     * Ход костяшкой на выбранный конец цепочки.
+     *
+     * @param domino костяшка из руки текущего игрока, в любой ориентации
+     * @param side   конец цепочки
+     * @return true если ход сделан; false если костяшки нет в руке или она не подходит к этому концу
+     */
+    public boolean makeMove(Domino domino, Side side) {
+        if (gameState != GameState.IN_PROGRESS || !players.get(currentPlayerIndex).hasDomino(domino)) {
+            return false;
+        }
+        Domino placed = board.fit(domino, side);
+        return placed != null && makeMove(Move.play(placed, side));
+    }
+
+    /**
+     * Делает ход в кодировке {@link Move}, например полученный от {@link MoveGenerator}.
+     * В отличие от {@link #applyMove(int)} недопустимый ход не бросает исключение.
+     *
+     * @param move закодированный ход
+     * @return true если ход сделан; false если игра не идет или ход невозможен
+     */
+    public boolean makeMove(int move) {
+        boolean timed = (meteredCalls++ & LATENCY_SAMPLE_MASK) == 0;
+        long started = timed ? System.nanoTime() : 0;
+        if (!isLegal(move)) {
+            return false;
+        }
+        applyMove(move);
+        recordMetrics(historySize - 1, timed, started);
+        return true;
+    }
+
+    /**
+     * Метрики ходов одного вызова makeMove; перебор через applyMove/undoMove в них не попадает.
+     * Ходы копятся в полях игры и сбрасываются в общие счетчики пачками и в конце игры,
+     * а время замеряется у каждого (LATENCY_SAMPLE_MASK + 1)-го вызова.
+     */
+    private void recordMetrics(int historyBefore, boolean timed, long startedNanos) {
+        if (timed) {
+            EngineMetrics.MAKE_MOVE_NANOS.record(System.nanoTime() - startedNanos);
+        }
+        pendingMoves += historySize - historyBefore;
+        for (int i = historyBefore; i < historySize; i++) {
+            if ((int) history[i] == Move.DRAW) {
+                pendingDraws++;
             }
-            nextPlayer();
+        }
+        if (gameState == GameState.GAME_OVER && historySize != historyBefore) {
+            flushMetrics();
+            EngineMetrics.GAMES_FINISHED.increment();
+            if (gameOverReason == GameOverReason.BLOCKED) {
+                EngineMetrics.GAMES_BLOCKED.increment();
+            }
+        } else if (pendingMoves >= METRICS_FLUSH_MOVES) {
+            flushMetrics();
+        }
+    }
+
+    private void flushMetrics() {
+        EngineMetrics.MOVES.add(pendingMoves);
+        EngineMetrics.DRAWS.add(pendingDraws);
+        pendingMoves = 0;
+        pendingDraws = 0;
+    }
+
+    /**
+     * Допустим ли ход в текущей позиции по правилам, которые проверяет {@link #applyMove(int)}.
+     */
+    public boolean isLegal(int move) {
+        if (gameState != GameState.IN_PROGRESS || !Move.isValid(move)) {
+            return false;
+        }
+        if (Move.isPlay(move)) {
+            Domino placed = Move.tile(move);
+            Side side = Move.side(move);
+            return players.get(currentPlayerIndex).hasDomino(placed)
+                    && (drawnTileId < 0 || drawnTileId == placed.getId())
+                    && board.fit(placed, side) == placed;
+        }
+        if (move == Move.DRAW) {
+            return !dominoSet.isEmpty() && drawnTileId < 0;
+        }
+        return move == Move.PASS && canPass(players.get(currentPlayerIndex));
+    }
+
+    //пас возможен после взятия из базара или когда базар пуст и ходить нечем, как в MoveGenerator.generate
+    private boolean canPass(Player player) {
+        if (drawnTileId >= 0) {
+            return true;
+        }
+        if (!dominoSet.isEmpty()) {
             return false;
         }
+        return board.isEmpty()
+                ? !player.hasDominoes()
+                : !player.hasPlayerDomino(board.getLeftEnd(), board.getRightEnd());
+    }
+
+    //ход костяшкой из руки игрока: сначала на левый конец, затем на правый;
+    //NO_MOVE, если костяшки нет в руке или она не подходит
+    private int findPlay(Player player, Domino domino) {
+        if (!player.hasDomino(domino)) {
+            return NO_MOVE;
+        }
+        Domino placed = board.fit(domino, Side.LEFT);
+        if (placed != null) {
+            return Move.play(placed, Side.LEFT);
+        }
+        placed = board.fit(domino, Side.RIGHT);
+        return placed == null ? NO_MOVE : Move.play(placed, Side.RIGHT);
+    }
+
+    /**
+     * Применяет атомарный ход текущего игрока (см. {@link Move}) и запоминает его для отмены.
+     * <ul>
+     *     <li>PLAY - костяшка из руки ставится на указанный конец, ход переходит к следующему игроку;
+     *     после взятия из базара можно поставить только взятую костяшку;</li>
+     *     <li>DRAW - игрок берет верхнюю костяшку базара и продолжает ход;</li>
+     *     <li>PASS - ход переходит к следующему игроку; пасовать можно после взятия из базара
+     *     или когда базар пуст и ходить нечем.</li>
+     * </ul>
+     * После PLAY и PASS проверяется окончание игры. Любой ход отменяется за O(1)
+     * через {@link #undoMove()}, что позволяет перебирать варианты без копирования игры.
+     *
+     * @param move закодированный ход
+     * @throws IllegalStateException    если игра не идет
+     * @throws IllegalArgumentException если ход невозможен в текущей позиции
+     */
+    public void applyMove(int move) {
+        if (gameState != GameState.IN_PROGRESS) {
+            throw new IllegalStateException("Игра не идет");
+        }
+        Player player = players.get(currentPlayerIndex);
+        long previousHash = hash;
+        long record = (move & 0xFFFFFFFFL)
+                | (long) currentPlayerIndex << 32
+                | (long) (drawnTileId + 1) << 40;
+
+        if (!Move.isValid(move)) {
+            throw new IllegalArgumentException("Неизвестный ход: " + move);
+        }
+        if (Move.isPlay(move)) {
+            Domino placed = Move.tile(move);
+            Side side = Move.side(move);
+            Domino tile = Domino.byId(placed.getId());
+            if (!player.hasDomino(tile) || board.fit(placed, side) != placed
+                    || (drawnTileId >= 0 && drawnTileId != tile.getId())) {
+                throw new IllegalArgumentException("Недопустимый ход: " + Move.toString(move));
+            }
+            long endsBefore = Zobrist.ends(board.getLeftEnd(), board.getRightEnd());
+            player.removeDomino(tile);
+            if (side == Side.LEFT) {
+                board.addToLeft(placed);
+            } else {
+                board.addToRight(placed);
+            }
+            hash ^= Zobrist.tile(currentPlayerIndex, tile.getId())
+                    ^ endsBefore ^ Zobrist.ends(board.getLeftEnd(), board.getRightEnd())
+                    ^ Zobrist.drawn(drawnTileId);
+            drawnTileId = -1;
+            pushHistory(record, previousHash);
+            for (GameListener listener : listeners) {
+                listener.tilePlayed(this, player, placed, side, placed != tile);
+            }
+            endTurn();
+        } else if (move == Move.DRAW) {
+            if (dominoSet.isEmpty() || drawnTileId >= 0) {
+                throw new IllegalArgumentException("Недопустимый ход: " + Move.toString(move));
+            }
+            Domino drawn = dominoSet.draw();
+            player.addDomino(drawn);
+            drawnTileId = drawn.getId();
+            hash ^= Zobrist.tile(Zobrist.BAZAAR, drawnTileId)
+                    ^ Zobrist.tile(currentPlayerIndex, drawnTileId)
+                    ^ Zobrist.drawn(drawnTileId);
+            pushHistory(record, previousHash);
+            fireTileDrawn(player, drawn);
+        } else if (move == Move.PASS) {
+            if (!canPass(player)) {
+                throw new IllegalArgumentException("Недопустимый ход: " + Move.toString(move));
+            }
+            hash ^= Zobrist.drawn(drawnTileId);
+            drawnTileId = -1;
+            pushHistory(record, previousHash);
+            fireTurnPassed(player);
+            endTurn();
+        }
+    }
+
+    /**
+     * Отменяет последний ход, сделанный после начала игры,
+     * и восстанавливает доску, руки, базар, текущего игрока и состояние игры.
+     *
+     * @throws IllegalStateException если отменять нечего
+     */
+    public void undoMove() {
+        if (historySize == 0) {
+            throw new IllegalStateException("Нет ходов для отмены");
+        }
+        long record = history[--historySize];
+        hash = hashHistory[historySize];
+        int move = (int) record;
+        currentPlayerIndex = (int) (record >>> 32) & 0xFF;
+        Player player = players.get(currentPlayerIndex);
+
+        if (Move.isPlay(move)) {
+            Domino placed = Move.side(move) == Side.LEFT ? board.removeLeft() : board.removeRight();
+            player.addDomino(Domino.byId(placed.getId()));
+        } else if (move == Move.DRAW) {
+            Domino drawn = Domino.byId(drawnTileId);
+            player.removeDomino(drawn);
+            dominoSet.putBack(drawn);
+        }
+        drawnTileId = (int) (record >>> 40 & 0xFF) - 1;
+        // Ход применяется только к идущей игре, поэтому до него игра всегда шла
+        gameState = GameState.IN_PROGRESS;
+        winner = null;
+        gameOverReason = null;
+    }
+
+    //количество ходов, которые можно отменить
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * Ходы с начала игры в кодировке {@link Move}, включая взятия из базара и пасы.
+     * Вместе с {@link #getDeal()} полностью определяет партию.
+     * У копии игры журнала нет, поэтому для нее список пуст.
+     */
+    public int[] getMoveHistory() {
+        int[] moves = new int[historySize];
+        for (int i = 0; i < historySize; i++) {
+            moves[i] = (int) history[i];
+        }
+        return moves;
+    }
+
+    //костяшка, взятая из базара на текущем ходу, или null
+    public Domino getDrawnDomino() {
+        return drawnTileId < 0 ? null : Domino.byId(drawnTileId);
+    }
+
+    private void endTurn() {
+        checkRoundEnd();
+        if (!isGameOver()) {
+            nextPlayer();
+        }
+    }
+
+    private void pushHistory(long record, long previousHash) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, history.length * 2);
+            hashHistory = Arrays.copyOf(hashHistory, hashHistory.length * 2);
+        }
+        hashHistory[historySize] = previousHash;
+        history[historySize++] = record;
+    }
+
+    private void fireTileDrawn(Player player, Domino drawn) {
+        for (GameListener listener : listeners) {
+            listener.tileDrawn(this, player, drawn);
+        }
+    }
+
+    private void fireTurnPassed(Player player) {
+        for (GameListener listener : listeners) {
+            listener.turnPassed(this, player);
+        }
+    }
+
+    private void finishGame(Player winner, GameOverReason reason) {
+        gameState = GameState.GAME_OVER;
+        this.winner = winner;
+        gameOverReason = reason;
+        for (GameListener listener : listeners) {
+            listener.gameOver(this, winner, reason);
+        }
     }
 
     /**
@@ -200,7 +799,9 @@ public class DominoGame {
      * Использует циклический переход для поддержания порядка ходов.
      */
     private void nextPlayer() {
+        hash ^= Zobrist.turn(currentPlayerIndex);
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        hash ^= Zobrist.turn(currentPlayerIndex);
     }
 
 
@@ -213,9 +814,8 @@ public class DominoGame {
     private void checkRoundEnd() {
         // 1. Проверка на победителя (у кого-то 0 костяшек)
         for (Player player : players) {
-            if (player.getHand().isEmpty()) {
-                gameState = GameState.GAME_OVER;
-                winner = player;
+            if (!player.hasDominoes()) {
+                finishGame(player, GameOverReason.EMPTY_HAND);
                 return;
             }
         }
@@ -233,8 +833,7 @@ public class DominoGame {
 
         // Если никто не может ходить и базар пуст - игра окончена
         if (!someoneCanPlay && dominoSet.isEmpty()) {
-            gameState = GameState.GAME_OVER;
-            determineWinnerByPoints(); // Определяем победителя по очкам
+            finishGame(determineWinnerByPoints(), GameOverReason.BLOCKED); // Определяем победителя по очкам
         }
         // Если никто не может ходить, но в базаре еще есть костяшки - игра продолжается
         // (игроки будут брать из базара пока не найдут подходящую)
@@ -245,8 +844,8 @@ public class DominoGame {
      * Определяет победителя по очкам когда игра заблокирована.
      * Победителем становится игрок с наименьшей суммой очков в руке.
      */
-    private void determineWinnerByPoints() {
-        winner = players.stream()
+    private Player determineWinnerByPoints() {
+        return players.stream()
                 .min((p1, p2) -> Integer.compare(p1.getHandValue(), p2.getHandValue()))
                 .orElse(null);
     }
@@ -255,8 +854,40 @@ public class DominoGame {
     public DominoBoard getBoard() { return board; }
     public List<Player> getPlayers() { return new ArrayList<>(players); }
     public Player getCurrentPlayer() { return players.get(currentPlayerIndex); }
+    public Player getPlayer(int index) { return players.get(index); }
+    public int getPlayerCount() { return players.size(); }
+    public int getCurrentPlayerIndex() { return currentPlayerIndex; }
     public GameState getGameState() { return gameState; }
     public Player getWinner() { return winner; }
+    //номер победителя или -1, без копирования списка игроков
+    public int getWinnerIndex() { return winner == null ? -1 : players.indexOf(winner); }
     public boolean isGameOver() { return gameState == GameState.GAME_OVER; }
+    public GameOverReason getGameOverReason() { return gameOverReason; }
+    public boolean isBlocked() { return gameOverReason == GameOverReason.BLOCKED; }
+    public Player getOpener() { return opener; }
+    public Domino getOpeningDomino() { return openingDomino; }
     public int getRemainingDominoes() { return dominoSet.size(); }
+    //старшее значение набора: 6 для дубль-шесть
+    public int getMaxPip() { return maxPip; }
+    //сколько костяшек получает игрок при раздаче
+    public int getHandSize() { return handSize; }
+    //зерно раздачи, если игра начата через startGame(long)
+    public OptionalLong getSeed() { return seed == null ? OptionalLong.empty() : OptionalLong.of(seed); }
+
+    /**
+     * Раздача текущей игры: все костяшки набора в том порядке, в котором их брали,
+     * для повтора через {@link #startGame(List)}.
+     *
+     * @return раздача или пустой список, если игра не начата
+     */
+    public List<Domino> getDeal() {
+        if (deal == null) {
+            return List.of();
+        }
+        Domino[] tiles = new Domino[deal.length];
+        for (int i = 0; i < deal.length; i++) {
+            tiles[i] = Domino.byId(deal[i] & 0xFF);
+        }
+        return List.of(tiles);
+    }
 }
\ No newline at end of file
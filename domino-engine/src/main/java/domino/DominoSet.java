@@ -1,51 +1,134 @@
 package domino;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class DominoSet {
-    private List<Domino> dominoes;
+    //костяшки базара, последняя берется первой
+    private Domino[] dominoes;
+    private int size;
+    //массив общий со снимком игры: перед изменением его нужно скопировать
+    private boolean shared;
 
+    //стандартный набор дубль-шесть
     public DominoSet() {
-        dominoes = new ArrayList<>();
-        generate();
+        this(Domino.MAX_PIP);
     }
 
-    private void generate() {
-        for (int i = 0; i < 7; i++) {
-            for (int j = i; j < 7; j++) {
-                dominoes.add(new Domino(i, j));
+    /**
+     * Полный набор дубль-maxPip: дубль-шесть (28 костяшек), дубль-девять (55),
+     * дубль-двенадцать (91) или любой другой до {@link Domino#MAX_SUPPORTED_PIP}.
+     */
+    public DominoSet(int maxPip) {
+        if (maxPip < 0 || maxPip > Domino.MAX_SUPPORTED_PIP) {
+            throw new IllegalArgumentException("Старшее значение набора должно быть от 0 до " + Domino.MAX_SUPPORTED_PIP);
+        }
+        dominoes = new Domino[Domino.tileCount(maxPip)];
+        generate(maxPip);
+    }
+
+    //копия базара с тем же порядком костяшек
+    DominoSet(DominoSet other) {
+        dominoes = other.dominoes.clone();
+        size = other.size;
+    }
+
+    //базар, из которого костяшки берутся в порядке drawOrder
+    DominoSet(List<Domino> drawOrder) {
+        dominoes = new Domino[drawOrder.size()];
+        for (int i = drawOrder.size() - 1; i >= 0; i--) {
+            dominoes[size++] = drawOrder.get(i);
+        }
+    }
+
+    //базар поверх массива снимка, копируется при первом изменении
+    DominoSet(Domino[] dominoes, int size) {
+        this.dominoes = dominoes;
+        this.size = size;
+        this.shared = true;
+    }
+
+    private void generate(int maxPip) {
+        for (int i = 0; i <= maxPip; i++) {
+            for (int j = i; j <= maxPip; j++) {
+                dominoes[size++] = Domino.of(i, j);
             }
 
         }
     }
 
-    //перемешать набор костяшек
+    //перемешать набор костяшек генератором текущего потока
     public void shuffle(){
-        Collections.shuffle(dominoes);
+        shuffle(ThreadLocalRandom.current());
+    }
+
+    //перемешать набор заданным генератором: одинаковый генератор дает одинаковый порядок
+    public void shuffle(RandomGenerator random) {
+        unshare();
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Domino tmp = dominoes[i];
+            dominoes[i] = dominoes[j];
+            dominoes[j] = tmp;
+        }
     }
 
     public Domino draw() {
-        if(dominoes.isEmpty()) {
+        if(size == 0) {
             return null;
         }
-        return dominoes.remove(dominoes.size() - 1);
+        // Взятая ячейка не очищается: снимки могут продолжать ее читать
+        return dominoes[--size];
+    }
+
+    //вернуть костяшку на верх базара (для отмены взятия)
+    public void putBack(Domino domino) {
+        unshare();
+        if (size == dominoes.length) {
+            dominoes = Arrays.copyOf(dominoes, size + 1);
+        }
+        dominoes[size++] = domino;
     }
 
     public  List<Domino> draw(int count) {
         List<Domino> drawn = new ArrayList<>();
-        for (int i = 0; i < count && !dominoes.isEmpty(); i++) {
+        for (int i = 0; i < count && size > 0; i++) {
             drawn.add(draw());
         }
         return drawn;
     }
 
+    //костяшка по позиции (последняя берется первой)
+    Domino get(int index) {
+        return dominoes[index];
+    }
+
+    void set(int index, Domino domino) {
+        unshare();
+        dominoes[index] = domino;
+    }
+
+    //массив для снимка; после этого базар и снимок делят его до первого изменения
+    Domino[] share() {
+        shared = true;
+        return dominoes;
+    }
+
+    private void unshare() {
+        if (shared) {
+            dominoes = dominoes.clone();
+            shared = false;
+        }
+    }
+
     public boolean isEmpty() {
-        return dominoes.isEmpty();
+        return size == 0;
     }
 
     public int size() {
-        return dominoes.size();
+        return size;
     }
 }
@@ -0,0 +1,55 @@
+package domino;
+
+/**
+ * Слушатель событий игры.
+ * Все методы вызываются синхронно в потоке, который делает ход,
+ * поэтому реализации должны быть быстрыми: долгую обработку
+ * (например, запись в файл) следует переносить в другой поток.
+ * Если слушателей нет, игра не создает никаких объектов событий.
+ */
+public interface GameListener {
+
+    /**
+     * Игра началась: костяшки розданы, первая костяшка выложена.
+     *
+     * @param game    игра
+     * @param opener  игрок, сделавший первый ход
+     * @param opening выложенная первой костяшка
+     */
+    default void gameStarted(DominoGame game, Player opener, Domino opening) {
+    }
+
+    /**
+     * Игрок поставил костяшку на доску.
+     *
+     * @param game    игра
+     * @param player  игрок
+     * @param placed  костяшка в том виде, в каком она легла на доску
+     * @param side    конец цепочки
+     * @param flipped true если костяшку пришлось перевернуть
+     */
+    default void tilePlayed(DominoGame game, Player player, Domino placed, Side side, boolean flipped) {
+    }
+
+    /**
+     * Игрок взял костяшку из базара.
+     */
+    default void tileDrawn(DominoGame game, Player player, Domino drawn) {
+    }
+
+    /**
+     * Игрок закончил ход, не поставив костяшку.
+     */
+    default void turnPassed(DominoGame game, Player player) {
+    }
+
+    /**
+     * Игра окончена.
+     *
+     * @param game   игра
+     * @param winner победитель (при "рыбе" - игрок с наименьшей суммой очков)
+     * @param reason причина окончания
+     */
+    default void gameOver(DominoGame game, Player winner, GameOverReason reason) {
+    }
+}
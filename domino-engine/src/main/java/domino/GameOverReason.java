@@ -0,0 +1,9 @@
+package domino;
+
+//причина окончания игры
+public enum GameOverReason {
+    //игрок выложил все костяшки
+    EMPTY_HAND,
+    //"рыба": никто не может ходить и базар пуст
+    BLOCKED
+}
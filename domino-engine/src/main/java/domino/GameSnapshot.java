@@ -0,0 +1,195 @@
+package domino;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.RandomAccess;
+
+/**
+ * Неизменяемый снимок полного состояния игры, создается через {@link DominoGame#snapshot()}.
+ * <p>
+ * Снимок не копирует доску и базар: он ссылается на те же массивы, что и игра,
+ * а игра копирует массив перед первым изменением после снимка. Поэтому снимок
+ * создается за время, не зависящее от длины игры, и его можно передавать другим
+ * потокам (анализ, зрители, интерфейс) без блокировок, пока живая игра продолжается.
+ * Из снимка можно породить новую независимую игру через {@link #fork()}.
+ */
+public final class GameSnapshot {
+    final List<String> playerNames;
+    final int maxPip;
+    final int handSize;
+    //маски рук подряд, по handWords слов на игрока
+    final long[] hands;
+    final int handWords;
+    final Domino[] boardCells;
+    final int boardHead;
+    final int boardSize;
+    final int boardPipTotal;
+    final Domino[] bazaar;
+    final int bazaarSize;
+    final int currentPlayerIndex;
+    final GameState gameState;
+    final int winnerIndex;
+    final GameOverReason gameOverReason;
+    final int openerIndex;
+    final Domino openingDomino;
+    final int drawnTileId;
+    final Long seed;
+    final byte[] deal;
+    final long hash;
+    private final List<Domino> chain = new Chain();
+
+    GameSnapshot(List<String> playerNames, int maxPip, int handSize, long[] hands,
+                 Domino[] boardCells, int boardHead, int boardSize, int boardPipTotal,
+                 Domino[] bazaar, int bazaarSize,
+                 int currentPlayerIndex, GameState gameState, int winnerIndex, GameOverReason gameOverReason,
+                 int openerIndex, Domino openingDomino,
+                 int drawnTileId, Long seed, byte[] deal, long hash) {
+        this.playerNames = playerNames;
+        this.maxPip = maxPip;
+        this.handSize = handSize;
+        this.hands = hands;
+        this.handWords = hands.length / playerNames.size();
+        this.boardCells = boardCells;
+        this.boardHead = boardHead;
+        this.boardSize = boardSize;
+        this.boardPipTotal = boardPipTotal;
+        this.bazaar = bazaar;
+        this.bazaarSize = bazaarSize;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.gameState = gameState;
+        this.winnerIndex = winnerIndex;
+        this.gameOverReason = gameOverReason;
+        this.openerIndex = openerIndex;
+        this.openingDomino = openingDomino;
+        this.drawnTileId = drawnTileId;
+        this.seed = seed;
+        this.deal = deal;
+        this.hash = hash;
+    }
+
+    /**
+     * Новая игра в позиции снимка. Как и у {@link DominoGame#copy()},
+     * у нее нет слушателей и журнала ходов до момента снимка.
+     */
+    public DominoGame fork() {
+        return new DominoGame(this);
+    }
+
+    public int getPlayerCount() {
+        return playerNames.size();
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    //старшее значение набора игры
+    public int getMaxPip() {
+        return maxPip;
+    }
+
+    //рука игрока как битовая маска номеров костяшек 0..63 (для наборов до дубль-девять - вся рука)
+    public long getHandMask(int player) {
+        return hands[player * handWords];
+    }
+
+    //рука игрока в порядке номеров костяшек
+    public List<Domino> getHand(int player) {
+        List<Domino> hand = new ArrayList<>(getHandSize(player));
+        for (int w = 0; w < handWords; w++) {
+            for (long mask = hands[player * handWords + w]; mask != 0; mask &= mask - 1) {
+                hand.add(Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(mask)));
+            }
+        }
+        return hand;
+    }
+
+    public int getHandSize(int player) {
+        int size = 0;
+        for (int w = 0; w < handWords; w++) {
+            size += Long.bitCount(hands[player * handWords + w]);
+        }
+        return size;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public boolean isGameOver() {
+        return gameState == GameState.GAME_OVER;
+    }
+
+    //место победителя или -1
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public GameOverReason getGameOverReason() {
+        return gameOverReason;
+    }
+
+    //место игрока, сделавшего первый ход, или -1
+    public int getOpenerIndex() {
+        return openerIndex;
+    }
+
+    public Domino getOpeningDomino() {
+        return openingDomino;
+    }
+
+    //костяшка, взятая из базара на текущем ходу, или null
+    public Domino getDrawnDomino() {
+        return drawnTileId < 0 ? null : Domino.byId(drawnTileId);
+    }
+
+    public int getRemainingDominoes() {
+        return bazaarSize;
+    }
+
+    //неизменяемое представление цепочки слева направо, без копирования
+    public List<Domino> getChain() {
+        return chain;
+    }
+
+    public int getLeftEnd() {
+        return boardSize == 0 ? -1 : boardCells[boardHead].getLeft();
+    }
+
+    public int getRightEnd() {
+        return boardSize == 0 ? -1 : boardCells[(boardHead + boardSize - 1) & (boardCells.length - 1)].getRight();
+    }
+
+    public int getPipTotal() {
+        return boardPipTotal;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public OptionalLong getSeed() {
+        return seed == null ? OptionalLong.empty() : OptionalLong.of(seed);
+    }
+
+    private class Chain extends AbstractList<Domino> implements RandomAccess {
+        @Override
+        public Domino get(int index) {
+            if (index < 0 || index >= boardSize) {
+                throw new IndexOutOfBoundsException("Позиция " + index + " вне цепочки длины " + boardSize);
+            }
+            return boardCells[(boardHead + index) & (boardCells.length - 1)];
+        }
+
+        @Override
+        public int size() {
+            return boardSize;
+        }
+    }
+}
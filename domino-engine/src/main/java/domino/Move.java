@@ -0,0 +1,76 @@
+package domino;
+
+/**
+ * Кодирование атомарных ходов в int.
+ * <p>
+ * Ход - одно из трех действий текущего игрока:
+ * <ul>
+ *     <li>PLAY - поставить костяшку на выбранный конец цепочки;</li>
+ *     <li>DRAW - взять одну костяшку из базара (ход остается за игроком);</li>
+ *     <li>PASS - закончить ход, не поставив костяшку.</li>
+ * </ul>
+ * Раскладка битов: 0-1 - вид хода, 2 - конец цепочки (0 - левый, 1 - правый),
+ * 3 и выше - код ориентированной костяшки ({@link Domino#getCode()}) в том виде,
+ * в каком она ляжет на доску.
+ */
+public final class Move {
+    public static final int PASS = 0;
+    public static final int DRAW = 1;
+    private static final int PLAY = 2;
+
+    private static final int KIND_MASK = 3;
+    private static final int SIDE_BIT = 4;
+    private static final int TILE_SHIFT = 3;
+
+    private Move() {
+    }
+
+    /**
+     * Ход костяшкой.
+     *
+     * @param placed костяшка в той ориентации, в какой она ляжет на доску
+     * @param side   конец цепочки
+     */
+    public static int play(Domino placed, Side side) {
+        return PLAY | (side == Side.RIGHT ? SIDE_BIT : 0) | placed.getCode() << TILE_SHIFT;
+    }
+
+    public static boolean isPlay(int move) {
+        return (move & KIND_MASK) == PLAY;
+    }
+
+    /**
+     * Является ли число кодом хода: пас, взятие или ход существующей костяшкой.
+     * Проверяет только кодировку, а не допустимость хода в позиции.
+     */
+    public static boolean isValid(int move) {
+        if (isPlay(move)) {
+            return move >= 0 && move >>> TILE_SHIFT < Domino.CODE_COUNT;
+        }
+        return move == PASS || move == DRAW;
+    }
+
+    public static boolean isDraw(int move) {
+        return move == DRAW;
+    }
+
+    public static boolean isPass(int move) {
+        return move == PASS;
+    }
+
+    //костяшка хода в ориентации на доске
+    public static Domino tile(int move) {
+        return Domino.byCode(move >>> TILE_SHIFT);
+    }
+
+    public static Side side(int move) {
+        return (move & SIDE_BIT) != 0 ? Side.RIGHT : Side.LEFT;
+    }
+
+    public static String toString(int move) {
+        if (isPlay(move)) {
+            return tile(move) + (side(move) == Side.LEFT ? " слева" : " справа");
+        }
+        return move == DRAW ? "базар" : "пас";
+    }
+}
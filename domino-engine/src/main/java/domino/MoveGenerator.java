@@ -0,0 +1,114 @@
+package domino;
+
+/**
+ * Генератор ходов в кодировке {@link Move} без создания объектов.
+ * Ходы записываются в переданный буфер, который можно переиспользовать от позиции к позиции;
+ * буфера размером {@link #MAX_MOVES} хватает для любой позиции.
+ * <p>
+ * Каждая костяшка дает отдельный ход на каждый конец, к которому подходит, уже повернутая
+ * нужной стороной. При одинаковых концах ход справа не отличается от хода слева
+ * и не дублируется.
+ */
+public final class MoveGenerator {
+    /** Наибольшее количество ходов в одной позиции. */
+    public static final int MAX_MOVES = Domino.MAX_TILE_COUNT * 2 + 2;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Все ходы, которые примет {@link DominoGame#applyMove(int)} по правилам игры:
+     * <ul>
+     *     <li>после взятия из базара - ходы взятой костяшкой и пас;</li>
+     *     <li>иначе - ходы любой подходящей костяшкой руки, взятие из базара, если он не пуст,
+     *     и пас, если ходить больше нечем.</li>
+     * </ul>
+     *
+     * @param out буфер для ходов
+     * @return количество ходов
+     */
+    public static int generate(DominoGame game, int[] out) {
+        if (game.isGameOver()) {
+            return 0;
+        }
+        DominoBoard board = game.getBoard();
+        Domino drawn = game.getDrawnDomino();
+        if (drawn != null) {
+            int count = addPlays(board, drawn, out, 0);
+            out[count++] = Move.PASS;
+            return count;
+        }
+        int count = addPlays(board, game.getCurrentPlayer(), out);
+        if (game.getRemainingDominoes() > 0) {
+            out[count++] = Move.DRAW;
+        } else if (count == 0) {
+            out[count++] = Move.PASS;
+        }
+        return count;
+    }
+
+    /**
+     * Ходы с обязательным ходом: из базара берут только тогда, когда ни одна костяшка не подходит.
+     * Это подмножество {@link #generate(DominoGame, int[])} без заведомо слабых взятий,
+     * которое перебирают боты.
+     *
+     * @param out буфер для ходов
+     * @return количество ходов
+     */
+    public static int generateForced(DominoGame game, int[] out) {
+        if (game.isGameOver()) {
+            return 0;
+        }
+        DominoBoard board = game.getBoard();
+        Domino drawn = game.getDrawnDomino();
+        if (drawn != null) {
+            int count = addPlays(board, drawn, out, 0);
+            out[count++] = Move.PASS;
+            return count;
+        }
+        int count = addPlays(board, game.getCurrentPlayer(), out);
+        if (count == 0) {
+            out[count++] = game.getRemainingDominoes() > 0 ? Move.DRAW : Move.PASS;
+        }
+        return count;
+    }
+
+    private static int addPlays(DominoBoard board, Player player, int[] out) {
+        int count = 0;
+        int left = board.getLeftEnd();
+        int right = board.getRightEnd();
+        for (long playable = player.getPlayableMask(left, right); playable != 0; playable &= playable - 1) {
+            count = addPlays(board, Domino.byId(Long.numberOfTrailingZeros(playable)), out, count);
+        }
+        // Старшие слова маски заняты только в наборах больше дубль-девять
+        for (int w = 1; w < Domino.MASK_WORDS && player.hasUpperTiles(); w++) {
+            for (long playable = player.getPlayableMask(left, right, w); playable != 0; playable &= playable - 1) {
+                count = addPlays(board, Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(playable)), out, count);
+            }
+        }
+        if (board.isEmpty()) {
+            // На пустую доску подходит любая костяшка
+            for (int w = 0; w < Domino.MASK_WORDS; w++) {
+                for (long hand = player.getHandMask(w); hand != 0; hand &= hand - 1) {
+                    count = addPlays(board, Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(hand)), out, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int addPlays(DominoBoard board, Domino domino, int[] out, int count) {
+        Domino left = board.fit(domino, Side.LEFT);
+        if (left != null) {
+            out[count++] = Move.play(left, Side.LEFT);
+        }
+        // При одинаковых концах ход справа ничем не отличается от хода слева
+        if (board.getLeftEnd() != board.getRightEnd() || left == null) {
+            Domino right = board.fit(domino, Side.RIGHT);
+            if (right != null) {
+                out[count++] = Move.play(right, Side.RIGHT);
+            }
+        }
+        return count;
+    }
+}
@@ -5,54 +5,156 @@ import java.util.List;
 
 public class Player {
     private String name;
-    private List<Domino> hand;
+    //рука как битовая маска номеров костяшек (бит i - костяшка Domino.byId(i)): номера 0..63
+    private long hand;
+    //остальные слова маски (номера от 64) для наборов больше дубль-девять; null, пока таких костяшек не было
+    private long[] upper;
+    private int handSize;
+    private int handValue;
 
     public Player(String name) {
         this.name = name;
-        this.hand = new ArrayList<>();
+    }
+
+    //игрок с готовой рукой из words слов маски, начиная с masks[from] (для восстановления игры из снимка)
+    Player(String name, long[] masks, int from, int words) {
+        this.name = name;
+        for (int w = 0; w < words; w++) {
+            for (long mask = masks[from + w]; mask != 0; mask &= mask - 1) {
+                addDomino(Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(mask)));
+            }
+        }
     }
 
     public String getName() {
         return name;
     }
 
+    //копия руки в порядке номеров костяшек
     public List<Domino> getHand() {
-        return new ArrayList<>(hand);
+        List<Domino> result = new ArrayList<>(handSize);
+        for (int w = 0; w < Domino.MASK_WORDS; w++) {
+            for (long mask = getHandMask(w); mask != 0; mask &= mask - 1) {
+                result.add(Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(mask)));
+            }
+        }
+        return result;
+    }
+
+    //рука как битовая маска костяшек с номерами 0..63, без выделения памяти;
+    //для наборов до дубль-девять (55 костяшек) это вся рука
+    public long getHandMask() {
+        return hand;
+    }
+
+    //слово word маски руки: костяшки с номерами word * 64 .. word * 64 + 63
+    public long getHandMask(int word) {
+        if (word == 0) {
+            return hand;
+        }
+        return upper == null ? 0 : upper[word - 1];
+    }
+
+    //были ли в руке костяшки с номерами от 64; если нет, вся рука в getHandMask()
+    boolean hasUpperTiles() {
+        return upper != null;
     }
 
     public void addDomino(Domino domino) {
-        hand.add(domino);
+        int id = domino.getId();
+        long bit = 1L << id;
+        if (id < Long.SIZE) {
+            if ((hand & bit) != 0) {
+                return;
+            }
+            hand |= bit;
+        } else {
+            if (upper == null) {
+                upper = new long[Domino.MASK_WORDS - 1];
+            }
+            int word = (id >>> 6) - 1;
+            if ((upper[word] & bit) != 0) {
+                return;
+            }
+            upper[word] |= bit;
+        }
+        handSize++;
+        handValue += domino.getValue();
     }
 
     public boolean removeDomino(Domino domino) {
-        return  hand.remove(domino);
+        if (!hasDomino(domino)) {
+            return false;
+        }
+        int id = domino.getId();
+        if (id < Long.SIZE) {
+            hand &= ~(1L << id);
+        } else {
+            upper[(id >>> 6) - 1] &= ~(1L << id);
+        }
+        handSize--;
+        handValue -= domino.getValue();
+        return true;
+    }
+
+    public boolean hasDomino(Domino domino) {
+        int id = domino.getId();
+        if (id < Long.SIZE) {
+            return (hand & (1L << id)) != 0;
+        }
+        return upper != null && (upper[(id >>> 6) - 1] & (1L << id)) != 0;
+    }
+
+    //маска костяшек с номерами 0..63, которые можно поставить на концы leftValue/rightValue
+    public long getPlayableMask(int leftValue, int rightValue) {
+        return hand & (Domino.pipMask(leftValue) | Domino.pipMask(rightValue));
+    }
+
+    //слово word маски костяшек, которые можно поставить на концы leftValue/rightValue
+    public long getPlayableMask(int leftValue, int rightValue, int word) {
+        return getHandMask(word) & (Domino.pipMask(leftValue, word) | Domino.pipMask(rightValue, word));
     }
 
     public boolean hasPlayerDomino(int leftValue, int rightValue) {
-        return hand.stream().anyMatch(d -> d.matches(leftValue) || d.matches(rightValue));
+        if (getPlayableMask(leftValue, rightValue) != 0) {
+            return true;
+        }
+        // Старшие слова есть только у рук из наборов больше дубль-девять
+        for (int w = 1; upper != null && w < Domino.MASK_WORDS; w++) {
+            if (getPlayableMask(leftValue, rightValue, w) != 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public Domino findPlayableDomino(int leftValue, int rightValue) {
-        return hand.stream()
-                .filter(d -> d.matches(leftValue) || d.matches(rightValue))
-                .findFirst()
-                .orElse(null);
+        for (int w = 0; w < Domino.MASK_WORDS; w++) {
+            long playable = getPlayableMask(leftValue, rightValue, w);
+            if (playable != 0) {
+                return Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(playable));
+            }
+            if (upper == null) {
+                break;
+            }
+        }
+        return null;
     }
 
     public int getHandValue() {
-        return hand.stream().mapToInt(Domino::getValue).sum();
+        return handValue;
     }
 
     public boolean hasDominoes() {
-        return !hand.isEmpty();
+        return handSize != 0;
     }
 
     public int getHandSize() {
-        return hand.size();
+        return handSize;
     }
 
     @Override
     public String toString() {
-        return name + " (" + hand.size() + " костяшек): " + hand;
+        return name + " (" + handSize + " костяшек): " + getHand();
     }
-}
\ No newline at end of file
+}
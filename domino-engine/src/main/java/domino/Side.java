@@ -0,0 +1,7 @@
+package domino;
+
+//конец цепочки, к которому приставляется костяшка
+public enum Side {
+    LEFT,
+    RIGHT
+}
@@ -0,0 +1,59 @@
+package domino;
+
+import java.util.SplittableRandom;
+
+/**
+ * Случайные ключи для хеширования позиции по Зобристу.
+ * Хеш позиции - XOR ключей: местоположения каждой костяшки вне доски
+ * (рука игрока или базар), концов цепочки, игрока, который ходит,
+ * и костяшки, взятой на текущем ходу. Порядок костяшек в базаре и на доске
+ * в хеш не входит: на дальнейшую игру влияют только концы цепочки.
+ * Ключи генерируются из фиксированного зерна и одинаковы в любом запуске.
+ */
+final class Zobrist {
+    static final int MAX_PLAYERS = 16;
+    //местоположение "базар" в таблице ключей костяшек
+    static final int BAZAAR = MAX_PLAYERS;
+
+    //ключи хватает на любой поддерживаемый набор, до дубль-пятнадцать
+    private static final long[] TILES = new long[(MAX_PLAYERS + 1) * Domino.MAX_TILE_COUNT];
+    //индекс конца: значение + 1, чтобы учесть пустую доску (-1)
+    private static final long[] LEFT_END = new long[Domino.MAX_SUPPORTED_PIP + 2];
+    private static final long[] RIGHT_END = new long[Domino.MAX_SUPPORTED_PIP + 2];
+    private static final long[] TURN = new long[MAX_PLAYERS];
+    private static final long[] DRAWN = new long[Domino.MAX_TILE_COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_D0D1_0000_0001L);
+        fill(TILES, random);
+        fill(LEFT_END, random);
+        fill(RIGHT_END, random);
+        fill(TURN, random);
+        fill(DRAWN, random);
+    }
+
+    private Zobrist() {
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    static long tile(int location, int tileId) {
+        return TILES[location * Domino.MAX_TILE_COUNT + tileId];
+    }
+
+    static long ends(int leftEnd, int rightEnd) {
+        return LEFT_END[leftEnd + 1] ^ RIGHT_END[rightEnd + 1];
+    }
+
+    static long turn(int player) {
+        return TURN[player];
+    }
+
+    static long drawn(int tileId) {
+        return tileId < 0 ? 0 : DRAWN[tileId];
+    }
+}
@@ -0,0 +1,162 @@
+package domino.actor;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.GameSnapshot;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Однопоточный владелец игры: все изменения {@link DominoGame} выполняются по очереди
+ * одним исполнителем, поэтому самой игре синхронизация не нужна.
+ * <p>
+ * Команды из любых потоков кладутся в неблокирующий почтовый ящик
+ * ({@link ConcurrentLinkedQueue}). Если ящик был пуст, отправитель планирует его разбор
+ * в пуле потоков; разбор выполняет до {@code batchSize} команд подряд и, если команды
+ * остались, планирует себя снова, уступая поток другим столам. В каждый момент ящик
+ * разбирает не больше одного потока, так что столы масштабируются по ядрам без блокировок.
+ * <p>
+ * Результаты возвращаются через {@link CompletableFuture}. После каждой пачки команд
+ * публикуется свежий снимок игры ({@link #snapshot()}) и вызываются подписчики
+ * ({@link #subscribe(Consumer)}) - в потоке разбора, до следующей пачки. Исключения
+ * команд и подписчиков не останавливают разбор следующих команд.
+ */
+public class GameActor {
+    /** Сколько команд разбирается подряд, прежде чем поток уступается. */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final DominoGame game;
+    private final Executor executor;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+    private final List<Consumer<GameSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile GameSnapshot snapshot;
+    // Изменяются только потоком разбора
+    private volatile long commands;
+    private volatile long batches;
+
+    public GameActor(DominoGame game) {
+        this(game, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param game      игра; после передачи ее нельзя трогать напрямую
+     * @param executor  пул, в котором разбирается почтовый ящик
+     * @param batchSize сколько команд разбирать подряд
+     */
+    public GameActor(DominoGame game, Executor executor, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным");
+        }
+        this.game = game;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.snapshot = game.snapshot();
+    }
+
+    /**
+     * Ход в кодировке {@link domino.Move}.
+     *
+     * @return будущий результат {@link DominoGame#makeMove(int)}
+     */
+    public CompletableFuture<Boolean> submit(int move) {
+        return ask(g -> g.makeMove(move));
+    }
+
+    /**
+     * Ход костяшкой (или null - взять из базара/пропустить ход).
+     *
+     * @return будущий результат {@link DominoGame#makeMove(Domino)}
+     */
+    public CompletableFuture<Boolean> submit(Domino domino) {
+        return ask(g -> g.makeMove(domino));
+    }
+
+    /**
+     * Выполняет действие с игрой в потоке разбора.
+     * Исключение действия завершает возвращаемое будущее, но не влияет на другие команды.
+     *
+     * @return будущий результат действия
+     */
+    public <T> CompletableFuture<T> ask(Function<? super DominoGame, ? extends T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.offer(() -> {
+            try {
+                result.complete(action.apply(game));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(drain);
+        }
+        return result;
+    }
+
+    /**
+     * Подписывает на снимки игры после каждой пачки команд.
+     * Подписчик вызывается в потоке разбора и должен работать быстро.
+     */
+    public void subscribe(Consumer<GameSnapshot> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Снимок игры после последней разобранной пачки команд; читается без блокировок.
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    //количество выполненных команд
+    public long getCommandCount() {
+        return commands;
+    }
+
+    //количество разобранных пачек; отношение команд к пачкам показывает эффект пакетной обработки
+    public long getBatchCount() {
+        return batches;
+    }
+
+    private void drain() {
+        try {
+            int count = 0;
+            Runnable command;
+            while (count < batchSize && (command = mailbox.poll()) != null) {
+                // Счетчики обновляются до выполнения, чтобы завершенное будущее уже было учтено
+                if (count++ == 0) {
+                    batches++;
+                }
+                commands++;
+                command.run();
+            }
+            if (count > 0) {
+                GameSnapshot published = game.snapshot();
+                snapshot = published;
+                for (Consumer<GameSnapshot> subscriber : subscribers) {
+                    try {
+                        subscriber.accept(published);
+                    } catch (RuntimeException e) {
+                        // Сбой подписчика не должен останавливать актор и других подписчиков
+                    }
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // Команда могла прийти после последнего poll, но до сброса флага
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(drain);
+            }
+        }
+    }
+}
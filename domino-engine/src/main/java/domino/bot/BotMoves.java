@@ -0,0 +1,38 @@
+package domino.bot;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import domino.Move;
+import domino.Side;
+
+/**
+ * Общие части простых ботов: ход выбранной костяшкой и ход без подходящих костяшек.
+ */
+final class BotMoves {
+    //костяшка не подходит ни к одному концу
+    static final int NO_MOVE = -1;
+
+    private BotMoves() {
+    }
+
+    /**
+     * Ход костяшкой на конец {@code preferred}, а если она к нему не подходит - на другой конец.
+     *
+     * @return закодированный ход или NO_MOVE
+     */
+    static int play(DominoBoard board, Domino tile, Side preferred) {
+        Domino placed = board.fit(tile, preferred);
+        if (placed != null) {
+            return Move.play(placed, preferred);
+        }
+        Side other = preferred == Side.LEFT ? Side.RIGHT : Side.LEFT;
+        placed = board.fit(tile, other);
+        return placed == null ? NO_MOVE : Move.play(placed, other);
+    }
+
+    //ход, когда из руки ставить нечего: взять из базара или пасовать
+    static int drawOrPass(DominoGame game) {
+        return game.getDrawnDomino() == null && game.getRemainingDominoes() > 0 ? Move.DRAW : Move.PASS;
+    }
+}
@@ -0,0 +1,47 @@
+package domino.bot;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import domino.Move;
+import domino.Player;
+import domino.Side;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Жадная стратегия: сбрасывает самую тяжелую подходящую костяшку,
+ * при равенстве очков предпочитает дубль. Костяшку, подходящую к обоим концам, ставит слева,
+ * взятую из базара ставит сразу, если она подходит.
+ */
+public class GreedyStrategy implements Strategy {
+
+    @Override
+    public int chooseMove(DominoGame game, RandomGenerator random) {
+        DominoBoard board = game.getBoard();
+        Domino drawn = game.getDrawnDomino();
+        if (drawn != null) {
+            int move = BotMoves.play(board, drawn, Side.LEFT);
+            return move == BotMoves.NO_MOVE ? Move.PASS : move;
+        }
+        Player player = game.getCurrentPlayer();
+
+        Domino best = null;
+        for (int w = 0; w < Domino.MASK_WORDS; w++) {
+            long playable = player.getPlayableMask(board.getLeftEnd(), board.getRightEnd(), w);
+            for (; playable != 0; playable &= playable - 1) {
+                Domino domino = Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(playable));
+                if (best == null || domino.getValue() > best.getValue()
+                        || (domino.getValue() == best.getValue() && domino.isDouble())) {
+                    best = domino;
+                }
+            }
+        }
+        return best == null ? BotMoves.drawOrPass(game) : BotMoves.play(board, best, Side.LEFT);
+    }
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+}
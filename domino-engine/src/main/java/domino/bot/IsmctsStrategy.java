@@ -0,0 +1,318 @@
+package domino.bot;
+
+import domino.DominoGame;
+import domino.Move;
+import domino.MoveGenerator;
+import domino.search.EndgameSolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Бот на основе поиска Монте-Карло по информационным множествам (SO-ISMCTS).
+ * <p>
+ * Бот не подглядывает в чужие руки и базар: на каждой итерации скрытые костяшки
+ * перераздаются случайно ({@link DominoGame#determinize}), и спуск по дереву
+ * учитывает только ходы, возможные в этой раздаче. Ходы применяются и отменяются
+ * через {@link DominoGame#applyMove}/{@link DominoGame#undoMove()}, поэтому игра
+ * копируется один раз на поток за решение.
+ * <p>
+ * Бюджет задается количеством итераций и/или временем. При нескольких потоках
+ * каждый строит собственное дерево (распараллеливание по корню), и голоса
+ * за ходы корня суммируются.
+ */
+public class IsmctsStrategy implements Strategy {
+    public static final double DEFAULT_EXPLORATION = 0.7;
+    private static final int NO_MOVE = -1;
+
+    private final int iterations;
+    private final long timeBudgetNanos;
+    private final int threads;
+    private final double exploration;
+    private final EndgameSolver endgameSolver;
+
+    /**
+     * Однопоточный бот с фиксированным числом итераций.
+     */
+    public IsmctsStrategy(int iterations) {
+        this(iterations, Duration.ZERO, 1);
+    }
+
+    /**
+     * @param iterations общее число итераций на решение (делится между потоками)
+     * @param timeBudget ограничение времени на решение, {@link Duration#ZERO} - без ограничения
+     * @param threads    количество потоков поиска
+     */
+    public IsmctsStrategy(int iterations, Duration timeBudget, int threads) {
+        this(iterations, timeBudget, threads, DEFAULT_EXPLORATION);
+    }
+
+    public IsmctsStrategy(int iterations, Duration timeBudget, int threads, double exploration) {
+        this(iterations, timeBudget.toNanos(), threads, exploration, null);
+    }
+
+    private IsmctsStrategy(int iterations, long timeBudgetNanos, int threads, double exploration,
+                           EndgameSolver endgameSolver) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Количество итераций должно быть положительным");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
+        this.iterations = iterations;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.threads = threads;
+        this.exploration = exploration;
+        this.endgameSolver = endgameSolver;
+    }
+
+    /**
+     * Тот же бот, который в позициях с пустым базаром (для двух игроков)
+     * не ищет, а решает позицию точно.
+     *
+     * @param solver решатель эндшпилей; его таблица транспозиций может быть общей для многих ботов
+     */
+    public IsmctsStrategy withEndgameSolver(EndgameSolver solver) {
+        return new IsmctsStrategy(iterations, timeBudgetNanos, threads, exploration, solver);
+    }
+
+    /**
+     * Бот, использующий все ядра, с ограничением по времени.
+     */
+    public static IsmctsStrategy allCores(Duration timeBudget) {
+        return new IsmctsStrategy(Integer.MAX_VALUE, timeBudget, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public int chooseMove(DominoGame game, RandomGenerator random) {
+        return search(game, random).getBestMove();
+    }
+
+    @Override
+    public String getName() {
+        return "ismcts";
+    }
+
+    /**
+     * Ищет лучший атомарный ход текущего игрока.
+     *
+     * @param game   игра; не изменяется
+     * @param random источник зерен для потоков поиска
+     * @return лучший ход и статистика поиска
+     */
+    public SearchResult search(DominoGame game, RandomGenerator random) {
+        return search(game, random, () -> false);
+    }
+
+    /**
+     * Ищет лучший ход, пока не кончится бюджет или {@code stop} не вернет true.
+     * Остановленный поиск возвращает лучший ход из уже проделанных итераций,
+     * поэтому им можно прервать долгое обдумывание (например, из интерфейса).
+     *
+     * @param stop проверяется потоками поиска каждые несколько итераций; должен быть быстрым и потокобезопасным
+     */
+    public SearchResult search(DominoGame game, RandomGenerator random, BooleanSupplier stop) {
+        long start = System.nanoTime();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateForced(game, moves);
+        if (count == 1) {
+            return new SearchResult(moves[0], 0, System.nanoTime() - start);
+        }
+        if (endgameSolver != null && EndgameSolver.isApplicable(game)) {
+            return new SearchResult(endgameSolver.bestMove(game).move(), 0, System.nanoTime() - start);
+        }
+
+        long deadline = timeBudgetNanos > 0 ? start + timeBudgetNanos : Long.MAX_VALUE;
+        List<SearchTask> tasks = new ArrayList<>(threads);
+        int perThread = Math.max(1, iterations / threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(new SearchTask(game.copy(), random.nextLong(), perThread, deadline, stop));
+        }
+        if (threads == 1) {
+            tasks.get(0).invoke();
+        } else {
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        // Суммируем посещения ходов корня по всем деревьям
+        long[] votes = new long[count];
+        long playouts = 0;
+        for (SearchTask task : tasks) {
+            Node root = task.join();
+            playouts += root.visits;
+            for (int c = 0; c < root.childCount; c++) {
+                Node child = root.children[c];
+                for (int m = 0; m < count; m++) {
+                    if (moves[m] == child.move) {
+                        votes[m] += child.visits;
+                    }
+                }
+            }
+        }
+        int best = 0;
+        for (int m = 1; m < count; m++) {
+            if (votes[m] > votes[best]) {
+                best = m;
+            }
+        }
+        return new SearchResult(moves[best], playouts, System.nanoTime() - start);
+    }
+
+    private class SearchTask extends RecursiveTask<Node> {
+        private final DominoGame game;
+        private final long seed;
+        private final int iterations;
+        private final long deadline;
+        private final BooleanSupplier stop;
+
+        SearchTask(DominoGame game, long seed, int iterations, long deadline, BooleanSupplier stop) {
+            this.game = game;
+            this.seed = seed;
+            this.iterations = iterations;
+            this.deadline = deadline;
+            this.stop = stop;
+        }
+
+        @Override
+        protected Node compute() {
+            SplittableRandom random = new SplittableRandom(seed);
+            int observer = game.getCurrentPlayerIndex();
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            Node root = new Node(NO_MOVE, null, -1);
+
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                if ((iteration & 15) == 0 && (System.nanoTime() > deadline || stop.getAsBoolean())) {
+                    break;
+                }
+                game.determinize(observer, random);
+                int depth = 0;
+                Node node = root;
+
+                // Спуск по дереву и добавление нового узла
+                while (!game.isGameOver()) {
+                    int count = MoveGenerator.generateForced(game, moves);
+                    int untried = 0;
+                    for (int m = 0; m < count; m++) {
+                        Node child = node.child(moves[m]);
+                        if (child == null) {
+                            moves[untried++] = moves[m];
+                        } else {
+                            child.availability++;
+                        }
+                    }
+                    if (untried > 0) {
+                        int move = moves[random.nextInt(untried)];
+                        node = node.addChild(move, game.getCurrentPlayerIndex());
+                        game.applyMove(move);
+                        depth++;
+                        break;
+                    }
+
+                    Node best = null;
+                    double bestScore = Double.NEGATIVE_INFINITY;
+                    for (int m = 0; m < count; m++) {
+                        Node child = node.child(moves[m]);
+                        double score = child.reward / child.visits
+                                + exploration * Math.sqrt(Math.log(child.availability) / child.visits);
+                        if (score > bestScore) {
+                            bestScore = score;
+                            best = child;
+                        }
+                    }
+                    node = best;
+                    game.applyMove(best.move);
+                    depth++;
+                }
+
+                // Случайная доигровка
+                while (!game.isGameOver()) {
+                    int count = MoveGenerator.generateForced(game, moves);
+                    game.applyMove(moves[random.nextInt(count)]);
+                    depth++;
+                }
+
+                int winner = game.getWinnerIndex();
+                for (Node n = node; n != null; n = n.parent) {
+                    n.visits++;
+                    if (n.player == winner) {
+                        n.reward++;
+                    }
+                }
+                while (depth-- > 0) {
+                    game.undoMove();
+                }
+            }
+            return root;
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        final int move;
+        final Node parent;
+        //игрок, сделавший ход, который ведет в этот узел
+        final int player;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        int visits;
+        int availability = 1;
+        double reward;
+
+        Node(int move, Node parent, int player) {
+            this.move = move;
+            this.parent = parent;
+            this.player = player;
+        }
+
+        Node child(int move) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].move == move) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int move, int player) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[Math.max(4, childCount * 2)];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            Node child = new Node(move, this, player);
+            children[childCount++] = child;
+            return child;
+        }
+    }
+
+    /**
+     * Результат поиска: лучший ход и производительность.
+     */
+    public static final class SearchResult {
+        private final int bestMove;
+        private final long playouts;
+        private final long elapsedNanos;
+
+        SearchResult(int bestMove, long playouts, long elapsedNanos) {
+            this.bestMove = bestMove;
+            this.playouts = playouts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        //лучший атомарный ход, см. {@link Move}
+        public int getBestMove() { return bestMove; }
+        public long getPlayouts() { return playouts; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getPlayoutsPerSecond() {
+            return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package domino.bot;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import domino.Move;
+import domino.Player;
+import domino.Side;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Стратегия, играющая случайную подходящую костяшку на случайный подходящий конец.
+ * Берет из базара только когда ходить нечем, а взятую костяшку ставит, если она подходит.
+ */
+public class RandomStrategy implements Strategy {
+
+    @Override
+    public int chooseMove(DominoGame game, RandomGenerator random) {
+        DominoBoard board = game.getBoard();
+        Domino drawn = game.getDrawnDomino();
+        if (drawn != null) {
+            // После взятия из базара можно поставить только взятую костяшку
+            int move = BotMoves.play(board, drawn, randomSide(random));
+            return move == BotMoves.NO_MOVE ? Move.PASS : move;
+        }
+        Player player = game.getCurrentPlayer();
+        int total = 0;
+        for (int w = 0; w < Domino.MASK_WORDS; w++) {
+            total += Long.bitCount(player.getPlayableMask(board.getLeftEnd(), board.getRightEnd(), w));
+        }
+        if (total == 0) {
+            return BotMoves.drawOrPass(game);
+        }
+
+        // Выбираем k-й установленный бит маски, считая по всем словам
+        int k = random.nextInt(total);
+        for (int w = 0; ; w++) {
+            long playable = player.getPlayableMask(board.getLeftEnd(), board.getRightEnd(), w);
+            int bits = Long.bitCount(playable);
+            if (k >= bits) {
+                k -= bits;
+                continue;
+            }
+            for (int i = 0; i < k; i++) {
+                playable &= playable - 1;
+            }
+            Domino tile = Domino.byId(w * Long.SIZE + Long.numberOfTrailingZeros(playable));
+            return BotMoves.play(board, tile, randomSide(random));
+        }
+    }
+
+    private static Side randomSide(RandomGenerator random) {
+        return random.nextBoolean() ? Side.LEFT : Side.RIGHT;
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+}
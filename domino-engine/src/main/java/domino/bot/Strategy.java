@@ -0,0 +1,35 @@
+package domino.bot;
+
+import domino.DominoGame;
+import domino.Move;
+import domino.MoveGenerator;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Стратегия автоматического игрока.
+ * Одна стратегия может обслуживать много игр в разных потоках одновременно,
+ * поэтому реализации не должны хранить изменяемое состояние между вызовами:
+ * вся случайность берется из переданного генератора.
+ */
+public interface Strategy {
+
+    /**
+     * Выбирает атомарный ход для текущего игрока: костяшку вместе с концом цепочки,
+     * взятие из базара или пас. После взятия стратегия вызывается снова и решает,
+     * ставить ли взятую костяшку и на какой конец.
+     *
+     * @param game   игра, в которой ходит {@link DominoGame#getCurrentPlayer()}
+     * @param random генератор случайных чисел этой игры
+     * @return ход в кодировке {@link Move}, допустимый в этой позиции
+     *         (один из ходов {@link MoveGenerator#generate})
+     */
+    int chooseMove(DominoGame game, RandomGenerator random);
+
+    /**
+     * Короткое имя стратегии для отчетов.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
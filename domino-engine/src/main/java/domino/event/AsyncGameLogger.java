@@ -0,0 +1,222 @@
+package domino.event;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.GameListener;
+import domino.GameOverReason;
+import domino.Player;
+import domino.Side;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Асинхронный журнал событий игры.
+ * Поток игры только кладет событие в ограниченную очередь; форматирование
+ * и запись выполняются фоновым потоком пачками с одним сбросом буфера на пачку.
+ * Если очередь переполнена, событие отбрасывается, чтобы журнал никогда
+ * не тормозил игру; количество потерянных событий доступно через {@link #getDroppedEvents()}.
+ * Один журнал можно подключить к любому количеству игр в разных потоках.
+ */
+public class AsyncGameLogger implements GameListener, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 65_536;
+    private static final int MAX_BATCH = 1024;
+    private static final Event POISON = new Event(EventType.STOP, 0, null, null, null, null);
+
+    private final BlockingQueue<Event> queue;
+    private final Writer out;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    //потоки игры, которые сейчас кладут событие в очередь; close ждет их, чтобы ничего не легло после POISON
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    //номера игр в журнале; слабые ключи не держат законченные игры в памяти, доступ под блокировкой карты
+    private final Map<DominoGame, Long> gameIds = new WeakHashMap<>();
+    private final AtomicLong nextGameId = new AtomicLong();
+    private volatile IOException failure;
+
+    public AsyncGameLogger(Writer out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param out      приемник записей; закрывается вместе с журналом
+     * @param capacity максимальное число событий в очереди
+     */
+    public AsyncGameLogger(Writer out, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость очереди должна быть положительной");
+        }
+        this.out = out;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::drainLoop, "domino-game-logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void gameStarted(DominoGame game, Player opener, Domino opening) {
+        long id = nextGameId.incrementAndGet();
+        synchronized (gameIds) {
+            // Перезапущенная игра получает новый номер
+            gameIds.put(game, id);
+        }
+        enqueue(new Event(EventType.STARTED, id, opener.getName(), opening, null, null));
+    }
+
+    @Override
+    public void tilePlayed(DominoGame game, Player player, Domino placed, Side side, boolean flipped) {
+        enqueue(new Event(EventType.PLAYED, gameId(game), player.getName(), placed, side, null));
+    }
+
+    @Override
+    public void tileDrawn(DominoGame game, Player player, Domino drawn) {
+        enqueue(new Event(EventType.DRAWN, gameId(game), player.getName(), drawn, null, null));
+    }
+
+    @Override
+    public void turnPassed(DominoGame game, Player player) {
+        enqueue(new Event(EventType.PASSED, gameId(game), player.getName(), null, null, null));
+    }
+
+    @Override
+    public void gameOver(DominoGame game, Player winner, GameOverReason reason) {
+        String name = winner == null ? null : winner.getName();
+        enqueue(new Event(EventType.GAME_OVER, gameId(game), name, null, null, reason));
+    }
+
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Дописывает все принятые события, останавливает фоновый поток и закрывает приемник.
+     *
+     * @throws UncheckedIOException если запись завершилась ошибкой
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        // Кто увеличил счетчик до закрытия, успеет положить событие; остальные увидят closed
+        while (publishing.get() != 0) {
+            Thread.onSpinWait();
+        }
+        try {
+            queue.put(POISON);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Ошибка записи журнала игры", failure);
+        }
+    }
+
+    private void enqueue(Event event) {
+        publishing.incrementAndGet();
+        try {
+            if (closed.get() || !queue.offer(event)) {
+                dropped.incrementAndGet();
+            }
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder text = new StringBuilder();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            for (Event event : batch) {
+                if (event == POISON) {
+                    running = false;
+                } else {
+                    format(event, text);
+                }
+            }
+            batch.clear();
+
+            if (failure == null && text.length() > 0) {
+                try {
+                    out.append(text);
+                    out.flush();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            text.setLength(0);
+        }
+    }
+
+    private static void format(Event event, StringBuilder text) {
+        text.append('#').append(event.gameId()).append(' ');
+        switch (event.type()) {
+            case STARTED:
+                text.append("Первый ход: ").append(event.player()).append(" выкладывает ").append(event.domino());
+                break;
+            case PLAYED:
+                text.append(event.player()).append(" ставит ").append(event.domino())
+                        .append(event.side() == Side.LEFT ? " слева" : " справа");
+                break;
+            case DRAWN:
+                text.append(event.player()).append(" берет костяшку из базара: ").append(event.domino());
+                break;
+            case PASSED:
+                text.append(event.player()).append(" пропускает ход");
+                break;
+            case GAME_OVER:
+                text.append("Игра окончена");
+                if (event.reason() == GameOverReason.BLOCKED) {
+                    text.append(" (рыба)");
+                }
+                text.append(", победитель: ").append(event.player());
+                break;
+            default:
+                break;
+        }
+        text.append(System.lineSeparator());
+    }
+
+    // Игры различаются по номеру из счетчика, чтобы записи разных столов не смешивались;
+    // игра, начатая до подключения журнала, получает номер при первом событии
+    private long gameId(DominoGame game) {
+        synchronized (gameIds) {
+            return gameIds.computeIfAbsent(game, g -> nextGameId.incrementAndGet());
+        }
+    }
+
+    private enum EventType {
+        STARTED, PLAYED, DRAWN, PASSED, GAME_OVER, STOP
+    }
+
+    private record Event(EventType type, long gameId, String player, Domino domino, Side side,
+                         GameOverReason reason) {
+    }
+}
@@ -0,0 +1,59 @@
+package domino.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Метрики игрового движка в {@link MetricsRegistry#getDefault() общем реестре}.
+ * <p>
+ * Их обновляют публичные методы {@link domino.DominoGame}: начало игры, ходы через
+ * {@code makeMove} и окончание игры после них. Перебор вариантов ботами
+ * ({@code applyMove}/{@code undoMove}) в метрики не попадает: он не меняет
+ * настоящих игр и исказил бы счетчики.
+ * <p>
+ * Чтобы метрики можно было не выключать, игра копит ходы и взятия из базара в своих
+ * полях и сбрасывает их сюда пачками и в конце игры, а время makeMove замеряет
+ * у каждого 64-го вызова. Поэтому счетчики ходов идущих игр немного отстают,
+ * а гистограмма времени - выборка.
+ */
+public final class EngineMetrics {
+    /** Системное свойство: период отчета в секундах. */
+    public static final String REPORT_INTERVAL_PROPERTY = "domino.metrics.interval";
+    /** Системное свойство: порт HTTP-выгрузки метрик. */
+    public static final String PORT_PROPERTY = "domino.metrics.port";
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+    public static final Counter GAMES_STARTED =
+            REGISTRY.counter("domino_games_started_total", "Начатые игры");
+    public static final Counter GAMES_FINISHED =
+            REGISTRY.counter("domino_games_finished_total", "Законченные игры");
+    public static final Counter GAMES_BLOCKED =
+            REGISTRY.counter("domino_games_blocked_total", "Игры, закончившиеся рыбой");
+    public static final Counter MOVES =
+            REGISTRY.counter("domino_moves_total", "Примененные ходы, включая взятие из базара и пропуск");
+    public static final Counter DRAWS =
+            REGISTRY.counter("domino_draws_total", "Костяшки, взятые из базара");
+    public static final Histogram MAKE_MOVE_NANOS =
+            REGISTRY.histogram("domino_make_move_nanos", "Время makeMove по выборке вызовов, нс");
+
+    private EngineMetrics() {
+    }
+
+    /**
+     * Включает выгрузку метрик, заданную системными свойствами
+     * {@value #REPORT_INTERVAL_PROPERTY} (отчет в stderr) и {@value #PORT_PROPERTY} (HTTP).
+     * Без свойств ничего не делает.
+     */
+    public static void exportIfConfigured() throws IOException {
+        String interval = System.getProperty(REPORT_INTERVAL_PROPERTY);
+        if (interval != null) {
+            REGISTRY.startReporter(Duration.ofSeconds(Long.parseLong(interval)), System.err::println);
+        }
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port != null) {
+            int bound = REGISTRY.serve(Integer.parseInt(port)).getAddress().getPort();
+            System.err.println("Метрики: http://localhost:" + bound + "/metrics");
+        }
+    }
+}
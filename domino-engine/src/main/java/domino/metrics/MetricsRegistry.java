@@ -0,0 +1,158 @@
+package domino.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Реестр метрик по именам.
+ * <p>
+ * Метрики создаются один раз и дальше обновляются напрямую, без обращения к реестру.
+ * Реестр только перечисляет их при выгрузке: в текстовом формате Prometheus
+ * ({@link #writeText(Appendable)}), периодическим отчетом ({@link #startReporter})
+ * или по HTTP ({@link #serve(int)}).
+ */
+public class MetricsRegistry {
+    /** Квантили, которые выгружаются для гистограмм. */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+
+    //общий реестр, в котором регистрирует свои метрики движок
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Счетчик с заданным именем; создается при первом обращении.
+     *
+     * @throws IllegalArgumentException если под этим именем зарегистрирована гистограмма
+     */
+    public Counter counter(String name, String help) {
+        Object metric = metrics.computeIfAbsent(name, n -> new Counter(n, help));
+        if (!(metric instanceof Counter counter)) {
+            throw new IllegalArgumentException("Метрика " + name + " не является счетчиком");
+        }
+        return counter;
+    }
+
+    /**
+     * Гистограмма с заданным именем; создается при первом обращении.
+     *
+     * @throws IllegalArgumentException если под этим именем зарегистрирован счетчик
+     */
+    public Histogram histogram(String name, String help) {
+        Object metric = metrics.computeIfAbsent(name, n -> new Histogram(n, help));
+        if (!(metric instanceof Histogram histogram)) {
+            throw new IllegalArgumentException("Метрика " + name + " не является гистограммой");
+        }
+        return histogram;
+    }
+
+    /**
+     * Выгружает все метрики в текстовом формате Prometheus:
+     * счетчики как counter, гистограммы как summary с квантилями, суммой и количеством.
+     */
+    public void writeText(Appendable out) throws IOException {
+        for (Object metric : metrics.values()) {
+            if (metric instanceof Counter counter) {
+                out.append("# HELP ").append(counter.getName()).append(' ').append(counter.getHelp()).append('\n');
+                out.append("# TYPE ").append(counter.getName()).append(" counter\n");
+                out.append(counter.getName()).append(' ').append(Long.toString(counter.get())).append('\n');
+            } else if (metric instanceof Histogram histogram) {
+                String name = histogram.getName();
+                out.append("# HELP ").append(name).append(' ').append(histogram.getHelp()).append('\n');
+                out.append("# TYPE ").append(name).append(" summary\n");
+                for (double quantile : QUANTILES) {
+                    out.append(name).append("{quantile=\"").append(Double.toString(quantile)).append("\"} ")
+                            .append(Long.toString(histogram.getPercentile(quantile * 100))).append('\n');
+                }
+                out.append(name).append("_sum ").append(Long.toString(histogram.getSum())).append('\n');
+                out.append(name).append("_count ").append(Long.toString(histogram.getCount())).append('\n');
+            }
+        }
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Краткий отчет одной строкой: значения счетчиков и медиана/99-й процентиль/максимум гистограмм.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Object metric : metrics.values()) {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            if (metric instanceof Counter counter) {
+                sb.append(counter.getName()).append('=').append(counter.get());
+            } else if (metric instanceof Histogram histogram) {
+                sb.append(String.format(Locale.ROOT, "%s{n=%d p50=%d p99=%d max=%d}", histogram.getName(),
+                        histogram.getCount(), histogram.getPercentile(50), histogram.getPercentile(99),
+                        histogram.getMax()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Периодически передает {@link #summary()} получателю в фоновом потоке-демоне.
+     *
+     * @return планировщик отчета; отчет останавливается через {@code shutdown()}
+     */
+    public ScheduledExecutorService startReporter(Duration period, Consumer<String> sink) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = period.toMillis();
+        reporter.scheduleAtFixedRate(() -> sink.accept(summary()), millis, millis, TimeUnit.MILLISECONDS);
+        return reporter;
+    }
+
+    /**
+     * Запускает локальный HTTP-сервер, отдающий метрики по адресу {@code /metrics}
+     * в текстовом формате Prometheus.
+     *
+     * @param port порт на localhost; 0 - любой свободный
+     * @return запущенный сервер; остановка через {@code stop(0)}
+     */
+    public HttpServer serve(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = toText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(null);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,146 @@
+package domino.record;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.GameOverReason;
+
+/**
+ * Сводная статистика по архиву записей: доля побед первого ходящего
+ * (отдельно - открывшего игру старшим дублем), взятия из базара на игру
+ * и сумма очков, оставшихся на руках при "рыбе".
+ * <p>
+ * Накопитель не потокобезопасен: при параллельном разборе у каждой части
+ * архива свой экземпляр, затем они объединяются через {@link #merge(ArchiveStats)}.
+ * Игра не переигрывается: первый ходящий и его костяшка следуют из раздачи
+ * (по тем же правилам, что в {@link DominoGame}), а очки на руках при "рыбе" -
+ * из раздачи и кодов ходов: все розданные и взятые костяшки минус выложенные.
+ */
+public class ArchiveStats {
+    private long games;
+    private long moves;
+    private long draws;
+    private long openerWins;
+    private long doubleOpenings;
+    private long doubleOpenerWins;
+    private long blockedGames;
+    private long blockedPipsLeft;
+    private int[] codes = new int[64];
+    private final int[] deal = new int[Domino.MAX_TILE_COUNT];
+
+    /**
+     * Учитывает текущую запись курсора.
+     */
+    public void accept(GameRecordReader record) {
+        games++;
+        int count = record.getMoveCount();
+        if (count > codes.length) {
+            codes = new int[Math.max(count, codes.length * 2)];
+        }
+        record.getMoveCodes(codes);
+        moves += count;
+        for (int i = 0; i < count; i++) {
+            if (codes[i] == RecordFormat.CODE_DRAW) {
+                draws++;
+            }
+        }
+
+        int players = record.getPlayerCount();
+        int handSize = record.getHandSize();
+        record.getDealIds(deal);
+        int opener = -1;
+        Domino opening = null;
+        for (int i = 0; i < players * handSize; i++) {
+            Domino domino = Domino.byId(deal[i]);
+            if (opening == null || isHigherOpening(domino, opening)) {
+                opening = domino;
+                opener = i / handSize;
+            }
+        }
+        int winner = record.getWinnerSeat();
+        boolean openerWon = winner >= 0 && winner == opener;
+        if (openerWon) {
+            openerWins++;
+        }
+        if (opening != null && opening.isDouble()) {
+            doubleOpenings++;
+            if (openerWon) {
+                doubleOpenerWins++;
+            }
+        }
+        if (record.getGameOverReason() == GameOverReason.BLOCKED) {
+            blockedGames++;
+            int taken = players * handSize;
+            long pips = opening == null ? 0 : -opening.getValue();
+            for (int i = 0; i < count; i++) {
+                if (codes[i] == RecordFormat.CODE_DRAW) {
+                    taken++;
+                } else if (codes[i] != RecordFormat.CODE_PASS) {
+                    pips -= Domino.byId((codes[i] - 2) >> 1).getValue();
+                }
+            }
+            for (int i = 0; i < taken; i++) {
+                pips += Domino.byId(deal[i]).getValue();
+            }
+            blockedPipsLeft += pips;
+        }
+    }
+
+    //игру открывает старший дубль, а без дублей - первая по местам старшая костяшка
+    private static boolean isHigherOpening(Domino domino, Domino opening) {
+        if (domino.isDouble() != opening.isDouble()) {
+            return domino.isDouble();
+        }
+        return domino.getValue() > opening.getValue();
+    }
+
+    public ArchiveStats merge(ArchiveStats other) {
+        games += other.games;
+        moves += other.moves;
+        draws += other.draws;
+        openerWins += other.openerWins;
+        doubleOpenings += other.doubleOpenings;
+        doubleOpenerWins += other.doubleOpenerWins;
+        blockedGames += other.blockedGames;
+        blockedPipsLeft += other.blockedPipsLeft;
+        return this;
+    }
+
+    public long getGames() { return games; }
+    public long getMoves() { return moves; }
+    public long getDraws() { return draws; }
+    public long getOpenerWins() { return openerWins; }
+    public long getDoubleOpenings() { return doubleOpenings; }
+    public long getDoubleOpenerWins() { return doubleOpenerWins; }
+    public long getBlockedGames() { return blockedGames; }
+    public long getBlockedPipsLeft() { return blockedPipsLeft; }
+
+    public double getDrawsPerGame() {
+        return games == 0 ? 0 : (double) draws / games;
+    }
+
+    public double getOpenerWinRate() {
+        return games == 0 ? 0 : (double) openerWins / games;
+    }
+
+    //доля побед игрока, открывшего игру старшим дублем
+    public double getDoubleOpenerWinRate() {
+        return doubleOpenings == 0 ? 0 : (double) doubleOpenerWins / doubleOpenings;
+    }
+
+    //очки на руках всех игроков в среднем по играм, закончившимся "рыбой"
+    public double getAveragePipsLeftAtBlock() {
+        return blockedGames == 0 ? 0 : (double) blockedPipsLeft / blockedGames;
+    }
+
+    @Override
+    public String toString() {
+        return "Игр: " + games
+                + String.format(", ходов в среднем: %.2f", games == 0 ? 0 : (double) moves / games)
+                + String.format(", из базара на игру: %.2f", getDrawsPerGame())
+                + String.format("%n  Победы первого ходящего: %.2f%%", getOpenerWinRate() * 100)
+                + String.format(", открывшего старшим дублем: %.2f%% из %d игр",
+                getDoubleOpenerWinRate() * 100, doubleOpenings)
+                + String.format("%n  Рыба: %d игр, очков на руках в среднем: %.2f",
+                blockedGames, getAveragePipsLeftAtBlock());
+    }
+}
@@ -0,0 +1,223 @@
+package domino.record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Параллельный разбор архива записанных игр - одного или нескольких файлов
+ * {@link GameRecordWriter}, без загрузки записей в кучу.
+ * <p>
+ * Файлы читаются через отображение в память, а записи достаются обработчику курсором
+ * {@link GameRecordReader}, как при последовательном чтении. Работа делится между ядрами
+ * параллельным потоком: сначала по файлам, затем внутри файла пачками записей.
+ * У записей нет меток синхронизации, поэтому файл нельзя разрезать в произвольном месте;
+ * вместо этого от начала оставшейся части отделяется пачка, границы которой находятся
+ * по длинам записей без их разбора. Размер пачки растет с каждым делением, так что
+ * последовательная часть работы мала по сравнению с разбором записей.
+ * <p>
+ * Результаты собираются в объединяемые накопители: у каждой части свой,
+ * затем они объединяются, как в {@link java.util.stream.Stream#collect}.
+ * <pre>
+ * ArchiveStats stats = new GameArchive(files)
+ *         .aggregate(ArchiveStats::new, ArchiveStats::accept, ArchiveStats::merge);
+ * </pre>
+ */
+public class GameArchive {
+    // Первая отделяемая пачка и ее прирост при каждом следующем делении, в байтах
+    private static final long DEFAULT_BATCH = 1 << 20;
+    private static final long MAX_BATCH = 1 << 26;
+
+    private final List<Path> files;
+    private final long batchBytes;
+
+    public GameArchive(List<Path> files) {
+        this(files, DEFAULT_BATCH);
+    }
+
+    GameArchive(List<Path> files, long batchBytes) {
+        this.files = List.copyOf(files);
+        this.batchBytes = batchBytes;
+    }
+
+    /**
+     * Архив из файлов записей каталога (*.domr) или одного файла.
+     */
+    public static GameArchive of(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return new GameArchive(List.of(path));
+        }
+        try (Stream<Path> list = Files.list(path)) {
+            return new GameArchive(list.filter(p -> p.getFileName().toString().endsWith(".domr")).sorted().toList());
+        }
+    }
+
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * Разбирает все записи архива параллельно.
+     * Обработчик получает курсор текущей записи: его поля можно читать только
+     * внутри вызова, а для сохранения записи нужен {@link GameRecordReader#toRecord()}.
+     *
+     * @param supplier    новый накопитель для части архива
+     * @param accumulator учитывает запись в накопителе
+     * @param combiner    добавляет второй накопитель к первому
+     * @return накопитель по всему архиву
+     * @throws IOException если файл не является файлом записей или запись обрезана
+     */
+    public <A> A aggregate(Supplier<A> supplier, BiConsumer<A, GameRecordReader> accumulator,
+                           BiConsumer<A, A> combiner) throws IOException {
+        List<FileChannel> channels = new ArrayList<>(files.size());
+        try {
+            List<Segment> segments = new ArrayList<>(files.size());
+            for (Path file : files) {
+                // Конструктор читателя проверяет заголовок файла
+                new GameRecordReader(file).close();
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channels.add(channel);
+                segments.add(new Segment(channel, RecordFormat.FILE_HEADER_SIZE, channel.size()));
+            }
+            return StreamSupport.stream(new RecordSpliterator(segments, batchBytes), true)
+                    .collect(supplier, accumulator, combiner);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    //количество записей архива
+    public long count() throws IOException {
+        return aggregate(() -> new long[1], (count, record) -> count[0]++, (a, b) -> a[0] += b[0])[0];
+    }
+
+    /**
+     * Запуск разбора: сводная статистика по файлам и каталогам архива.
+     *
+     * @param args файлы записей или каталоги с ними
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            files.addAll(of(Path.of(arg)).getFiles());
+        }
+        long start = System.nanoTime();
+        ArchiveStats stats = new GameArchive(files)
+                .aggregate(ArchiveStats::new, ArchiveStats::accept, ArchiveStats::merge);
+        System.out.println(stats);
+        System.out.printf("Файлов: %d, время: %.1f с%n", files.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    //часть файла с записями от start до end
+    private record Segment(FileChannel channel, long start, long end) {
+    }
+
+    /**
+     * Делитель архива: список частей файлов делится пополам, а единственная часть
+     * отдает пачки записей от своего начала. Курсор создается лениво, при первом чтении.
+     */
+    private static final class RecordSpliterator implements Spliterator<GameRecordReader> {
+        private final List<Segment> segments;
+        private int index;
+        private long batch;
+        private GameRecordReader reader;
+
+        RecordSpliterator(List<Segment> segments, long batch) {
+            this.segments = segments;
+            this.batch = batch;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GameRecordReader> action) {
+            try {
+                while (index < segments.size()) {
+                    if (reader == null) {
+                        Segment segment = segments.get(index);
+                        reader = new GameRecordReader(segment.channel(), segment.start(), segment.end(),
+                                GameRecordReader.DEFAULT_WINDOW);
+                    }
+                    if (reader.next()) {
+                        action.accept(reader);
+                        return true;
+                    }
+                    reader = null;
+                    index++;
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Spliterator<GameRecordReader> trySplit() {
+            int remaining = segments.size() - index;
+            if (remaining > 1 && reader == null) {
+                int middle = index + remaining / 2;
+                RecordSpliterator prefix = new RecordSpliterator(segments.subList(index, middle), batch);
+                index = middle;
+                return prefix;
+            }
+            if (remaining != 1) {
+                return null;
+            }
+            try {
+                Segment segment = segments.get(index);
+                if (reader == null) {
+                    reader = new GameRecordReader(segment.channel(), segment.start(), segment.end(),
+                            GameRecordReader.DEFAULT_WINDOW);
+                }
+                long from = reader.getPosition();
+                if (segment.end() - from <= 2 * batch) {
+                    return null;
+                }
+                while (reader.getPosition() - from < batch && reader.skip()) {
+                    // Только находим границу пачки
+                }
+                if (reader.getPosition() >= segment.end()) {
+                    // Записи крупнее пачки: вся часть досталась бы одной стороне
+                    reader = new GameRecordReader(segment.channel(), from, segment.end(),
+                            GameRecordReader.DEFAULT_WINDOW);
+                    return null;
+                }
+                RecordSpliterator prefix = new RecordSpliterator(
+                        List.of(new Segment(segment.channel(), from, reader.getPosition())), batch);
+                batch = Math.min(batch * 2, MAX_BATCH);
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            // Количество записей неизвестно: оценка - оставшиеся байты
+            long bytes = 0;
+            for (int i = index; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                bytes += segment.end() - (i == index && reader != null ? reader.getPosition() : segment.start());
+            }
+            return bytes;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package domino.record;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.GameOverReason;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Запись одной игры: раздача, правила и последовательность ходов.
+ * По записи игра восстанавливается полностью ({@link #toGame()}), поэтому
+ * для архива не нужно хранить позиции, только несколько байт на ход.
+ */
+public final class GameRecord {
+    private final Long seed;
+    private final int playerCount;
+    private final int maxPip;
+    private final int handSize;
+    private final byte[] deal;
+    private final int[] moves;
+    private final int winnerSeat;
+    private final GameOverReason reason;
+
+    GameRecord(Long seed, int playerCount, int maxPip, int handSize, byte[] deal, int[] moves,
+               int winnerSeat, GameOverReason reason) {
+        this.seed = seed;
+        this.playerCount = playerCount;
+        this.maxPip = maxPip;
+        this.handSize = handSize;
+        this.deal = deal;
+        this.moves = moves;
+        this.winnerSeat = winnerSeat;
+        this.reason = reason;
+    }
+
+    /**
+     * Записывает начатую игру: раздачу, все сделанные ходы и итог, если игра закончена.
+     *
+     * @param game игра, начатая через startGame (у копий игры нет журнала ходов)
+     * @throws IllegalArgumentException если игра не начата
+     */
+    public static GameRecord of(DominoGame game) {
+        List<Domino> tiles = game.getDeal();
+        if (tiles.isEmpty()) {
+            throw new IllegalArgumentException("Игра не начата");
+        }
+        byte[] deal = new byte[tiles.size()];
+        for (int i = 0; i < deal.length; i++) {
+            deal[i] = (byte) tiles.get(i).getId();
+        }
+        int[] moves = game.getMoveHistory();
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = RecordFormat.encodeMove(moves[i]);
+        }
+        OptionalLong seed = game.getSeed();
+        return new GameRecord(seed.isPresent() ? seed.getAsLong() : null, game.getPlayerCount(),
+                game.getMaxPip(), game.getHandSize(), deal, moves, game.getWinnerIndex(), game.getGameOverReason());
+    }
+
+    /**
+     * Восстанавливает игру: та же раздача и те же ходы, с отменой каждого хода.
+     *
+     * @throws IllegalStateException если набор или размер руки записи не поддерживаются
+     */
+    public DominoGame toGame() {
+        DominoGame game = newGame();
+        for (int code : moves) {
+            game.applyMove(RecordFormat.decodeMove(code, game.getBoard()));
+        }
+        return game;
+    }
+
+    //игра с раздачей записи до первого хода
+    DominoGame newGame() {
+        List<String> names = new ArrayList<>(playerCount);
+        for (int i = 1; i <= playerCount; i++) {
+            names.add("Игрок " + i);
+        }
+        DominoGame game;
+        try {
+            game = new DominoGame(names, maxPip, handSize);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Правила записи не поддерживаются: дубль-" + maxPip
+                    + ", " + handSize + " костяшек на руку", e);
+        }
+        game.startGame(getDeal());
+        return game;
+    }
+
+    public OptionalLong getSeed() {
+        return seed == null ? OptionalLong.empty() : OptionalLong.of(seed);
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getMaxPip() {
+        return maxPip;
+    }
+
+    public int getHandSize() {
+        return handSize;
+    }
+
+    public List<Domino> getDeal() {
+        Domino[] tiles = new Domino[deal.length];
+        for (int i = 0; i < deal.length; i++) {
+            tiles[i] = Domino.byId(deal[i] & 0xFF);
+        }
+        return List.of(tiles);
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    //компактный код хода (см. формат записи): 0 - пас, 1 - взятие, иначе костяшка и сторона
+    public int getMoveCode(int index) {
+        return moves[index];
+    }
+
+    //место победителя или -1
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public GameOverReason getGameOverReason() {
+        return reason;
+    }
+
+    int getDealTile(int index) {
+        return deal[index] & 0xFF;
+    }
+
+    int getDealSize() {
+        return deal.length;
+    }
+}
@@ -0,0 +1,277 @@
+package domino.record;
+
+import domino.GameOverReason;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Последовательное чтение файла записей игр через отображение в память.
+ * <p>
+ * Файл отображается окнами (по умолчанию по 256 МБ), так что размер файла не ограничен.
+ * Читатель работает как курсор: {@link #next()} переходит к следующей записи, а поля
+ * текущей записи читаются прямо из отображенной памяти без создания объектов.
+ * Полная запись создается только по запросу через {@link #toRecord()}.
+ * <pre>
+ * try (GameRecordReader reader = new GameRecordReader(file)) {
+ *     while (reader.next()) {
+ *         wins[reader.getWinnerSeat() + 1]++;
+ *     }
+ * }
+ * </pre>
+ */
+public class GameRecordReader implements Closeable {
+    static final long DEFAULT_WINDOW = 1L << 28;
+
+    private final FileChannel channel;
+    //конец читаемого диапазона: размер файла или граница части файла
+    private final long fileSize;
+    private final long windowSize;
+    //канал принадлежит читателю и закрывается вместе с ним
+    private final boolean ownsChannel;
+    private ByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    // Текущая запись: смещения полей внутри окна
+    private int recordStart;
+    private int dealStart;
+    private int dealSize;
+    private int resultStart;
+    private int movesStart;
+    private int moveCount;
+
+    public GameRecordReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW);
+    }
+
+    GameRecordReader(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        this.ownsChannel = true;
+        try {
+            this.fileSize = channel.size();
+            if (fileSize < RecordFormat.FILE_HEADER_SIZE) {
+                throw new IOException("Неверный формат файла записей: " + file);
+            }
+            map(0);
+            if (window.getInt(0) != RecordFormat.MAGIC || window.get(4) != RecordFormat.VERSION) {
+                throw new IOException("Неверный формат файла записей: " + file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.position = RecordFormat.FILE_HEADER_SIZE;
+        this.recordStart = -1;
+    }
+
+    /**
+     * Читатель части уже проверенного файла: записи с {@code start} до {@code end}.
+     * Границы должны совпадать с границами записей; канал остается открытым после close().
+     */
+    GameRecordReader(FileChannel channel, long start, long end, long windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = end;
+        this.windowSize = windowSize;
+        this.ownsChannel = false;
+        this.position = start;
+        this.recordStart = -1;
+        if (start < end) {
+            map(start);
+        }
+    }
+
+    /**
+     * Переходит к следующей записи.
+     *
+     * @return false, если записей больше нет
+     * @throws IOException если запись обрезана
+     */
+    public boolean next() throws IOException {
+        if (position >= fileSize) {
+            recordStart = -1;
+            return false;
+        }
+        if (position + RecordFormat.MAX_VARINT_SIZE > windowStart + window.limit()
+                && windowStart + window.limit() < fileSize) {
+            map(position);
+        }
+        int p = (int) (position - windowStart);
+        long varint = RecordFormat.getVarint(window, p);
+        int headerSize = (int) (varint >>> 32);
+        int length = (int) varint;
+        long end = position + headerSize + length;
+        if (end > fileSize) {
+            throw new IOException("Запись на позиции " + position + " обрезана");
+        }
+        if (end > windowStart + window.limit()) {
+            map(position);
+            p = 0;
+        }
+
+        recordStart = p + headerSize;
+        int q = recordStart;
+        q += (window.get(q) & RecordFormat.FLAG_SEED) != 0 ? 9 : 1;
+        int maxPip = window.get(q + 1);
+        dealStart = q + 3;
+        dealSize = (maxPip + 1) * (maxPip + 2) / 2;
+        q = dealStart;
+        for (int i = 0; i < dealSize; i++) {
+            q += (int) (RecordFormat.getVarint(window, q) >>> 32);
+        }
+        resultStart = q;
+        varint = RecordFormat.getVarint(window, q + 2);
+        moveCount = (int) varint;
+        movesStart = q + 2 + (int) (varint >>> 32);
+        position = end;
+        return true;
+    }
+
+    /**
+     * Пропускает следующую запись, прочитав только ее длину. Текущей записи после этого нет.
+     *
+     * @return false, если записей больше нет
+     * @throws IOException если запись обрезана
+     */
+    boolean skip() throws IOException {
+        recordStart = -1;
+        if (position >= fileSize) {
+            return false;
+        }
+        if (position + RecordFormat.MAX_VARINT_SIZE > windowStart + window.limit()
+                && windowStart + window.limit() < fileSize) {
+            map(position);
+        }
+        long varint = RecordFormat.getVarint(window, (int) (position - windowStart));
+        long end = position + (varint >>> 32) + (int) varint;
+        if (end > fileSize) {
+            throw new IOException("Запись на позиции " + position + " обрезана");
+        }
+        position = end;
+        return true;
+    }
+
+    public boolean hasSeed() {
+        return (window.get(current()) & RecordFormat.FLAG_SEED) != 0;
+    }
+
+    //зерно записи; имеет смысл только если {@link #hasSeed()}
+    public long getSeed() {
+        return hasSeed() ? window.getLong(recordStart + 1) : 0;
+    }
+
+    public int getPlayerCount() {
+        current();
+        return window.get(dealStart - 3);
+    }
+
+    public int getMaxPip() {
+        current();
+        return window.get(dealStart - 2);
+    }
+
+    public int getHandSize() {
+        current();
+        return window.get(dealStart - 1);
+    }
+
+    //место победителя или -1
+    public int getWinnerSeat() {
+        current();
+        return window.get(resultStart) - 1;
+    }
+
+    public GameOverReason getGameOverReason() {
+        current();
+        int reason = window.get(resultStart + 1);
+        return reason == 0 ? null : GameOverReason.values()[reason - 1];
+    }
+
+    public int getMoveCount() {
+        current();
+        return moveCount;
+    }
+
+    /**
+     * Коды ходов текущей записи ({@link GameRecord#getMoveCode(int)}) без создания записи.
+     *
+     * @param out массив не короче {@link #getMoveCount()}
+     * @return количество ходов
+     */
+    public int getMoveCodes(int[] out) {
+        current();
+        int q = movesStart;
+        for (int i = 0; i < moveCount; i++) {
+            long varint = RecordFormat.getVarint(window, q);
+            out[i] = (int) varint;
+            q += (int) (varint >>> 32);
+        }
+        return moveCount;
+    }
+
+    /**
+     * Раздача текущей записи ({@link GameRecord#getDeal()}) номерами костяшек без создания записи:
+     * сначала руки игроков по порядку мест, затем базар в порядке взятия.
+     *
+     * @param out массив не короче числа костяшек набора
+     * @return количество костяшек
+     */
+    public int getDealIds(int[] out) {
+        current();
+        int q = dealStart;
+        for (int i = 0; i < dealSize; i++) {
+            long varint = RecordFormat.getVarint(window, q);
+            out[i] = (int) varint;
+            q += (int) (varint >>> 32);
+        }
+        return dealSize;
+    }
+
+    /**
+     * Создает полную запись текущей игры, например для восстановления позиции.
+     */
+    public GameRecord toRecord() {
+        current();
+        Long seed = hasSeed() ? getSeed() : null;
+        byte[] deal = new byte[dealSize];
+        int q = dealStart;
+        for (int i = 0; i < dealSize; i++) {
+            long varint = RecordFormat.getVarint(window, q);
+            deal[i] = (byte) varint;
+            q += (int) (varint >>> 32);
+        }
+        int[] moves = new int[moveCount];
+        getMoveCodes(moves);
+        return new GameRecord(seed, getPlayerCount(), getMaxPip(), getHandSize(), deal, moves,
+                getWinnerSeat(), getGameOverReason());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+
+    //смещение следующей записи в файле
+    long getPosition() {
+        return position;
+    }
+
+    private int current() {
+        if (recordStart < 0) {
+            throw new IllegalStateException("Нет текущей записи: нужно вызвать next()");
+        }
+        return recordStart;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+    }
+}
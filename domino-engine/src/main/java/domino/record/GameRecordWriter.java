@@ -0,0 +1,88 @@
+package domino.record;
+
+import domino.DominoGame;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Последовательная запись игр в файл формата записей (см. {@link GameRecordReader}).
+ * Записи копятся в буфере и сбрасываются на диск блоками.
+ * Не потокобезопасен: каждому потоку симуляции нужен свой файл или внешняя синхронизация.
+ */
+public class GameRecordWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private byte[] body = new byte[256];
+    private final byte[] length = new byte[RecordFormat.MAX_VARINT_SIZE];
+    private long recordCount;
+
+    /**
+     * Создает файл (или перезаписывает существующий) и пишет заголовок.
+     */
+    public GameRecordWriter(Path file) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        out.write(RecordFormat.MAGIC >>> 24);
+        out.write(RecordFormat.MAGIC >>> 16);
+        out.write(RecordFormat.MAGIC >>> 8);
+        out.write(RecordFormat.MAGIC);
+        out.write(RecordFormat.VERSION);
+    }
+
+    public void write(DominoGame game) throws IOException {
+        write(GameRecord.of(game));
+    }
+
+    public void write(GameRecord record) throws IOException {
+        // Оценка сверху: заголовок, по varint на костяшку раздачи и на ход
+        ensureCapacity(16 + RecordFormat.MAX_VARINT_SIZE * (record.getDealSize() + record.getMoveCount() + 1));
+        int p = 0;
+        if (record.getSeed().isPresent()) {
+            body[p++] = RecordFormat.FLAG_SEED;
+            long seed = record.getSeed().getAsLong();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                body[p++] = (byte) (seed >>> shift);
+            }
+        } else {
+            body[p++] = 0;
+        }
+        body[p++] = (byte) record.getPlayerCount();
+        body[p++] = (byte) record.getMaxPip();
+        body[p++] = (byte) record.getHandSize();
+        for (int i = 0; i < record.getDealSize(); i++) {
+            p = RecordFormat.putVarint(body, p, record.getDealTile(i));
+        }
+        body[p++] = (byte) (record.getWinnerSeat() + 1);
+        body[p++] = (byte) (record.getGameOverReason() == null ? 0 : record.getGameOverReason().ordinal() + 1);
+        p = RecordFormat.putVarint(body, p, record.getMoveCount());
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            p = RecordFormat.putVarint(body, p, record.getMoveCode(i));
+        }
+
+        out.write(length, 0, RecordFormat.putVarint(length, 0, p));
+        out.write(body, 0, p);
+        recordCount++;
+    }
+
+    //количество записанных игр
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void ensureCapacity(int size) {
+        if (body.length < size) {
+            body = Arrays.copyOf(body, Math.max(size, body.length * 2));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package domino.record;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.Move;
+import domino.Side;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Двоичный формат файла записей игр.
+ * <pre>
+ * файл:   "DOMR" версия(1 байт) запись*
+ * запись: длина(varint) флаги(1) [зерно(8)] игроки(1) максимум_очков(1) размер_руки(1)
+ *         раздача(varint на костяшку) победитель+1(1) причина+1(1) количество_ходов(varint) ход(varint)*
+ * </pre>
+ * Ход кодируется одним маленьким числом: 0 - пас, 1 - взятие из базара,
+ * 2 + номер_костяшки * 2 + сторона - костяшка на левый (0) или правый (1) конец.
+ * Ориентация костяшки не хранится: она однозначно следует из концов цепочки.
+ */
+final class RecordFormat {
+    static final int MAGIC = 0x444F4D52; // "DOMR"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 5;
+    static final int FLAG_SEED = 1;
+    static final int MAX_VARINT_SIZE = 5;
+
+    static final int CODE_PASS = 0;
+    static final int CODE_DRAW = 1;
+
+    private RecordFormat() {
+    }
+
+    //компактный код хода записи
+    static int encodeMove(int move) {
+        if (Move.isPass(move)) {
+            return CODE_PASS;
+        }
+        if (Move.isDraw(move)) {
+            return CODE_DRAW;
+        }
+        return 2 + Move.tile(move).getId() * 2 + Move.side(move).ordinal();
+    }
+
+    //ход по компактному коду: ориентация костяшки определяется по концам цепочки
+    static int decodeMove(int code, DominoBoard board) {
+        if (code == CODE_PASS) {
+            return Move.PASS;
+        }
+        if (code == CODE_DRAW) {
+            return Move.DRAW;
+        }
+        Domino tile = Domino.byId((code - 2) >>> 1);
+        Side side = (code & 1) == 0 ? Side.LEFT : Side.RIGHT;
+        Domino placed = board.fit(tile, side);
+        if (placed == null) {
+            throw new IllegalArgumentException("Костяшка " + tile + " не подходит к концу " + side);
+        }
+        return Move.play(placed, side);
+    }
+
+    static int putVarint(byte[] out, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    //значение varint в буфере с позиции position; количество прочитанных байт - в старших 32 битах
+    static long getVarint(ByteBuffer buffer, int position) {
+        int value = 0;
+        for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+            byte b = buffer.get(position + i);
+            value |= (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return (long) (i + 1) << 32 | (value & 0xFFFFFFFFL);
+            }
+        }
+        throw new IllegalStateException("Испорченное число в записи на позиции " + position);
+    }
+}
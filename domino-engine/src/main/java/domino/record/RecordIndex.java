@@ -0,0 +1,93 @@
+package domino.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Произвольный доступ к играм файла записей по номеру.
+ * <p>
+ * При открытии файл один раз просматривается по длинам записей, без их разбора,
+ * и запоминаются только смещения - 8 байт на игру. Сама запись читается по запросу
+ * из отображенного в память участка файла, поэтому листать архив из миллионов игр
+ * можно, не загружая их в кучу. Чтение записей потокобезопасно.
+ * <pre>
+ * try (RecordIndex index = new RecordIndex(file)) {
+ *     Replay replay = new Replay(index.get(index.size() - 1));
+ * }
+ * </pre>
+ */
+public class RecordIndex implements Closeable {
+    private final Path file;
+    private final FileChannel channel;
+    //смещения начала записей и конец последней: запись i лежит в [offsets[i], offsets[i + 1])
+    private final long[] offsets;
+    private final int size;
+
+    /**
+     * @throws IOException если файл не является файлом записей или последняя запись обрезана
+     */
+    public RecordIndex(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RecordFormat.FILE_HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.position() < RecordFormat.FILE_HEADER_SIZE
+                    || header.getInt(0) != RecordFormat.MAGIC || header.get(4) != RecordFormat.VERSION) {
+                throw new IOException("Неверный формат файла записей: " + file);
+            }
+            long[] found = new long[1024];
+            found[0] = RecordFormat.FILE_HEADER_SIZE;
+            int count = 0;
+            GameRecordReader scan = new GameRecordReader(channel, RecordFormat.FILE_HEADER_SIZE, channel.size(),
+                    GameRecordReader.DEFAULT_WINDOW);
+            while (scan.skip()) {
+                if (++count == found.length) {
+                    found = Arrays.copyOf(found, found.length * 2);
+                }
+                found[count] = scan.getPosition();
+            }
+            this.offsets = found;
+            this.size = count;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    //количество игр в файле
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Читает запись игры с номером {@code index}, считая от 0.
+     *
+     * @throws IOException если файл изменился после открытия индекса
+     */
+    public GameRecord get(int index) throws IOException {
+        Objects.checkIndex(index, size);
+        long start = offsets[index];
+        long end = offsets[index + 1];
+        GameRecordReader reader = new GameRecordReader(channel, start, end, end - start);
+        if (!reader.next()) {
+            throw new IOException("Запись " + index + " не найдена в " + file);
+        }
+        return reader.toRecord();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
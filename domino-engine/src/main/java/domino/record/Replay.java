@@ -0,0 +1,118 @@
+package domino.record;
+
+import domino.DominoGame;
+
+/**
+ * Воспроизведение записанной игры с произвольным доступом к позициям.
+ * <p>
+ * При создании игра один раз проигрывается целиком, и каждые {@code interval} ходов
+ * сохраняется снимок позиции ({@link DominoGame#copy()}). Позиция после хода N
+ * восстанавливается из ближайшего снимка не дальше чем за {@code interval - 1} ходов,
+ * поэтому переход к любому ходу длинной игры занимает почти постоянное время.
+ * <p>
+ * Для последовательного просмотра есть курсор {@link #seek(int)}: соседние позиции
+ * получаются одним ходом вперед или его отменой, без копирования.
+ */
+public class Replay {
+    /** Интервал снимков по умолчанию, в ходах. */
+    public static final int DEFAULT_INTERVAL = 16;
+
+    private final int[] moves;
+    private final DominoGame[] snapshots;
+    private final int interval;
+
+    // Курсор: рабочая игра, ее начальный ход (до него отменять нельзя) и текущий ход
+    private DominoGame cursor;
+    private int cursorBase;
+    private int cursorIndex;
+
+    public Replay(GameRecord record) {
+        this(record, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param record   запись игры
+     * @param interval через сколько ходов сохранять снимок позиции
+     * @throws IllegalArgumentException если ходы записи невозможны в ее раздаче
+     */
+    public Replay(GameRecord record, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Интервал снимков должен быть положительным");
+        }
+        this.interval = interval;
+        this.moves = new int[record.getMoveCount()];
+        this.snapshots = new DominoGame[moves.length / interval + 1];
+
+        DominoGame game = record.newGame();
+        for (int i = 0; i < moves.length; i++) {
+            if (i % interval == 0) {
+                snapshots[i / interval] = game.copy();
+            }
+            moves[i] = RecordFormat.decodeMove(record.getMoveCode(i), game.getBoard());
+            game.applyMove(moves[i]);
+        }
+        if (moves.length % interval == 0) {
+            snapshots[moves.length / interval] = game.copy();
+        }
+        this.cursor = game;
+        this.cursorBase = 0;
+        this.cursorIndex = moves.length;
+    }
+
+    //количество ходов в игре; позиции нумеруются от 0 (раздача) до getMoveCount() (конец)
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    //ход с номером index в кодировке {@link domino.Move}
+    public int getMove(int index) {
+        if (index < 0 || index >= moves.length) {
+            throw new IndexOutOfBoundsException("Ход " + index + " вне игры из " + moves.length + " ходов");
+        }
+        return moves[index];
+    }
+
+    /**
+     * Независимая копия позиции после {@code index} ходов.
+     * Ходы копии можно делать и отменять, на воспроизведение это не влияет.
+     */
+    public DominoGame positionAt(int index) {
+        checkIndex(index);
+        DominoGame game = snapshots[index / interval].copy();
+        for (int i = index - index % interval; i < index; i++) {
+            game.applyMove(moves[i]);
+        }
+        return game;
+    }
+
+    /**
+     * Переводит курсор на позицию после {@code index} ходов и возвращает ее.
+     * Возвращаемая игра принадлежит воспроизведению: ее нельзя менять,
+     * и она меняется при следующем вызове seek.
+     */
+    public DominoGame seek(int index) {
+        checkIndex(index);
+        int fromSnapshot = index % interval + 1;
+        boolean reachable = index >= cursorBase;
+        if (!reachable || Math.abs(index - cursorIndex) > fromSnapshot) {
+            int snapshot = index / interval;
+            cursor = snapshots[snapshot].copy();
+            cursorBase = snapshot * interval;
+            cursorIndex = cursorBase;
+        }
+        while (cursorIndex < index) {
+            cursor.applyMove(moves[cursorIndex++]);
+        }
+        while (cursorIndex > index) {
+            cursor.undoMove();
+            cursorIndex--;
+        }
+        return cursor;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > moves.length) {
+            throw new IndexOutOfBoundsException("Позиция " + index + " вне игры из " + moves.length + " ходов");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package domino.search;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import domino.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Точное решение эндшпилей двух игроков с пустым базаром.
+ * <p>
+ * Когда базар пуст, рука соперника - это все костяшки, которых нет ни на доске,
+ * ни в своей руке, и игра становится игрой с полной информацией. Решатель
+ * перебирает ее до конца альфа-бета поиском (negamax) с таблицей транспозиций,
+ * ключом которой служит хеш Зобриста из {@link DominoGame#getHash()}.
+ * Позиции, которые есть в таблице эндшпилей ({@link Tablebase}), не перебираются,
+ * а берутся из нее.
+ * Оценка - разница очков в конце игры с точки зрения игрока, который ходит:
+ * очки соперника минус свои очки.
+ * <p>
+ * Один решатель можно использовать из нескольких потоков одновременно:
+ * ходы корня решаются параллельно на копиях игры с общей таблицей.
+ */
+public class EndgameSolver {
+    private static final int INFINITY = Short.MAX_VALUE;
+
+    private final TranspositionTable table;
+    private final Tablebase tablebase;
+    private final LongAdder nodes = new LongAdder();
+
+    public EndgameSolver(TranspositionTable table) {
+        this(table, null);
+    }
+
+    /**
+     * @param tablebase таблица эндшпилей для малых позиций или null
+     */
+    public EndgameSolver(TranspositionTable table, Tablebase tablebase) {
+        this.table = table;
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Можно ли решить позицию: двое игроков, базар пуст, игра идет и ход не начат взятием.
+     * Руки решатель хранит одной 64-битной маской, поэтому наборы больше дубль-девять не решаются.
+     */
+    public static boolean isApplicable(DominoGame game) {
+        return game.getPlayerCount() == 2
+                && Domino.tileCount(game.getMaxPip()) <= Long.SIZE
+                && game.getRemainingDominoes() == 0
+                && !game.isGameOver()
+                && game.getDrawnDomino() == null;
+    }
+
+    /**
+     * Точная оценка позиции для игрока, который ходит.
+     *
+     * @param game игра; не изменяется
+     */
+    public int solve(DominoGame game) {
+        checkApplicable(game);
+        DominoGame copy = game.copy();
+        return negamax(copy, -INFINITY, INFINITY, copy.getCurrentPlayerIndex(), new int[depthOf(copy) + 1][MoveGenerator.MAX_MOVES], 0);
+    }
+
+    /**
+     * Лучший ход и его точная оценка. Ходы корня решаются параллельно.
+     *
+     * @param game игра; не изменяется
+     */
+    public Solution bestMove(DominoGame game) {
+        checkApplicable(game);
+        table.newSearch();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateForced(game, moves);
+
+        List<RecursiveTask<Integer>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            DominoGame copy = game.copy();
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected Integer compute() {
+                    int player = copy.getCurrentPlayerIndex();
+                    copy.applyMove(move);
+                    if (copy.isGameOver()) {
+                        return margin(copy, player);
+                    }
+                    int[][] buffers = new int[depthOf(copy) + 1][MoveGenerator.MAX_MOVES];
+                    return -negamax(copy, -INFINITY, INFINITY, 1 - player, buffers, 0);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (tasks.get(i).join() > tasks.get(best).join()) {
+                best = i;
+            }
+        }
+        return new Solution(moves[best], tasks.get(best).join());
+    }
+
+    //количество рассмотренных позиций за все время работы решателя
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    private int negamax(DominoGame game, int alpha, int beta, int player, int[][] buffers, int ply) {
+        nodes.increment();
+        if (tablebase != null && game.getMaxPip() == Domino.MAX_PIP) {
+            long mover = game.getPlayer(player).getHandMask();
+            long other = game.getPlayer(1 - player).getHandMask();
+            if (tablebase.covers(Long.bitCount(mover), Long.bitCount(other))) {
+                DominoBoard board = game.getBoard();
+                return tablebase.probe(mover, other, board.getLeftEnd(), board.getRightEnd());
+            }
+        }
+        int alphaBefore = alpha;
+        long key = game.getHash();
+        int ttMove = -1;
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            int value = TranspositionTable.value(entry);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT) {
+                return value;
+            } else if (bound == TranspositionTable.LOWER) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                return value;
+            }
+            ttMove = TranspositionTable.move(entry);
+        }
+
+        int[] moves = buffers[ply];
+        int count = MoveGenerator.generateForced(game, moves);
+        // Лучший ход из таблицы проверяем первым
+        for (int i = 1; i < count; i++) {
+            if (moves[i] == ttMove) {
+                moves[i] = moves[0];
+                moves[0] = ttMove;
+                break;
+            }
+        }
+
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            game.applyMove(moves[i]);
+            int value = game.isGameOver()
+                    ? margin(game, player)
+                    : -negamax(game, -beta, -alpha, 1 - player, buffers, ply + 1);
+            game.undoMove();
+            if (value > best) {
+                best = value;
+                bestMove = moves[i];
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= alphaBefore ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, best, depthOf(game), bound, bestMove);
+        return best;
+    }
+
+    //разница очков в законченной игре с точки зрения игрока
+    private static int margin(DominoGame game, int player) {
+        return game.getPlayer(1 - player).getHandValue() - game.getPlayer(player).getHandValue();
+    }
+
+    //оценка сверху количества оставшихся ходов: костяшки в руках и пасы между ними
+    private static int depthOf(DominoGame game) {
+        return 2 * (game.getPlayer(0).getHandSize() + game.getPlayer(1).getHandSize()) + 2;
+    }
+
+    private static void checkApplicable(DominoGame game) {
+        if (!isApplicable(game)) {
+            throw new IllegalArgumentException("Решаются только позиции двух игроков с пустым базаром");
+        }
+    }
+
+    /**
+     * Лучший ход и точная оценка позиции после него для игрока, который ходит.
+     */
+    public record Solution(int move, int value) {
+    }
+}
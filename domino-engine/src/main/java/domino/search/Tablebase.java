@@ -0,0 +1,337 @@
+package domino.search;
+
+import domino.Domino;
+import domino.DominoGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Таблица точных оценок эндшпилей двух игроков с пустым базаром (набор дубль-шесть).
+ * <p>
+ * Когда базар пуст, позиция полностью задается руками обоих игроков и концами цепочки:
+ * остальные костяшки лежат на доске и на игру не влияют. Генератор перебирает все
+ * такие позиции, в которых у игроков вместе не больше {@code maxTiles} костяшек,
+ * от меньших к большим, так что каждая позиция решается одним ходом с подстановкой
+ * уже решенных. Оценка, как и у {@link EndgameSolver}, - разница очков в конце игры
+ * с точки зрения игрока, который ходит; она хранится одним байтом со знаком.
+ * <p>
+ * Номер позиции: блок по размерам рук, внутри - номер руки ходящего среди сочетаний
+ * из 28 костяшек, номер руки соперника среди сочетаний оставшихся и номер пары концов.
+ * Файл таблицы отображается в память ({@link #map(Path)}), поэтому запрос -
+ * это вычисление номера и чтение одного байта.
+ */
+public final class Tablebase {
+    private static final int MAGIC = 0x444F5442; // "DOTB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int TILES = Domino.TILE_COUNT;
+    // Пары концов без учета порядка нумеруются как костяшки
+    private static final int END_PAIRS = Domino.TILE_COUNT;
+    // Больше костяшек не влезает в байт оценки (до 12 очков на костяшку)
+    private static final int MAX_TILES_LIMIT = 10;
+
+    private static final int[][] BINOMIAL = new int[TILES + 1][TILES + 1];
+
+    static {
+        for (int n = 0; n <= TILES; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k < n ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private final int maxTiles;
+    private final long[][] offsets;
+    private final ByteBuffer data;
+
+    private Tablebase(int maxTiles, ByteBuffer data) {
+        this.maxTiles = maxTiles;
+        this.offsets = offsets(maxTiles);
+        this.data = data;
+    }
+
+    /**
+     * Решает все позиции, в которых у игроков вместе не больше {@code maxTiles} костяшек.
+     * Позиции одного размера решаются параллельно в общем пуле fork-join.
+     */
+    public static Tablebase generate(int maxTiles) {
+        long size = size(maxTiles);
+        if (size > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Таблица на " + maxTiles + " костяшек не помещается в один файл");
+        }
+        Generator generator = new Generator(maxTiles, new byte[HEADER_SIZE + (int) size]);
+        generator.run();
+        return new Tablebase(maxTiles, header(ByteBuffer.wrap(generator.data), maxTiles));
+    }
+
+    /**
+     * Отображает файл таблицы в память только для чтения.
+     *
+     * @throws IOException если файл не читается или имеет неверный формат
+     */
+    public static Tablebase map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Неверный формат файла эндшпилей: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int maxTiles = buffer.get(6);
+            if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION || buffer.get(5) != Domino.MAX_PIP
+                    || maxTiles < 2 || maxTiles > MAX_TILES_LIMIT
+                    || channel.size() != HEADER_SIZE + size(maxTiles)) {
+                throw new IOException("Неверный формат файла эндшпилей: " + file);
+            }
+            return new Tablebase(maxTiles, buffer);
+        }
+    }
+
+    /**
+     * Записывает таблицу в файл, который потом открывается через {@link #map(Path)}.
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer source = data.duplicate().position(0);
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    //наибольшее количество костяшек в обеих руках вместе, для которого есть оценки
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    /**
+     * Есть ли в таблице оценка позиции.
+     */
+    public boolean covers(DominoGame game) {
+        return game.getMaxPip() == Domino.MAX_PIP
+                && EndgameSolver.isApplicable(game)
+                && covers(game.getPlayer(0).getHandSize(), game.getPlayer(1).getHandSize())
+                && !game.getBoard().isEmpty();
+    }
+
+    boolean covers(int moverSize, int otherSize) {
+        return moverSize > 0 && otherSize > 0 && moverSize + otherSize <= maxTiles;
+    }
+
+    /**
+     * Точная оценка позиции для игрока, который ходит.
+     *
+     * @throws IllegalArgumentException если позиции нет в таблице
+     */
+    public int probe(DominoGame game) {
+        if (!covers(game)) {
+            throw new IllegalArgumentException("Позиции нет в таблице эндшпилей");
+        }
+        int mover = game.getCurrentPlayerIndex();
+        return probe(game.getPlayer(mover).getHandMask(), game.getPlayer(1 - mover).getHandMask(),
+                game.getBoard().getLeftEnd(), game.getBoard().getRightEnd());
+    }
+
+    /**
+     * Оценка позиции по рукам (битовые маски номеров костяшек) и концам цепочки.
+     */
+    public int probe(long moverHand, long otherHand, int leftEnd, int rightEnd) {
+        return data.get(HEADER_SIZE + Math.toIntExact(index(offsets, moverHand, otherHand, leftEnd, rightEnd)));
+    }
+
+    //количество позиций в таблице
+    static long size(int maxTiles) {
+        long[][] offsets = offsets(maxTiles);
+        return offsets[maxTiles - 1][1] + blockSize(maxTiles - 1, 1);
+    }
+
+    // offsets[a][b] - начало блока позиций с руками из a и b костяшек
+    private static long[][] offsets(int maxTiles) {
+        if (maxTiles < 2 || maxTiles > MAX_TILES_LIMIT) {
+            throw new IllegalArgumentException("Размер таблицы должен быть от 2 до " + MAX_TILES_LIMIT + " костяшек");
+        }
+        long[][] offsets = new long[maxTiles + 1][maxTiles + 1];
+        long offset = 0;
+        for (int total = 2; total <= maxTiles; total++) {
+            for (int a = 1; a < total; a++) {
+                offsets[a][total - a] = offset;
+                offset += blockSize(a, total - a);
+            }
+        }
+        return offsets;
+    }
+
+    private static long blockSize(int a, int b) {
+        return (long) BINOMIAL[TILES][a] * BINOMIAL[TILES - a][b] * END_PAIRS;
+    }
+
+    private static long index(long[][] offsets, long mover, long other, int leftEnd, int rightEnd) {
+        int a = Long.bitCount(mover);
+        int b = Long.bitCount(other);
+        long rankA = rank(mover);
+        long rankB = rank(compress(other, mover));
+        int ends = Math.max(leftEnd, rightEnd) * (Math.max(leftEnd, rightEnd) + 1) / 2 + Math.min(leftEnd, rightEnd);
+        return offsets[a][b] + (rankA * BINOMIAL[TILES - a][b] + rankB) * END_PAIRS + ends;
+    }
+
+    // Номер сочетания в комбинаторной системе счисления
+    private static long rank(long mask) {
+        long rank = 0;
+        int i = 1;
+        for (; mask != 0; mask &= mask - 1, i++) {
+            rank += BINOMIAL[Long.numberOfTrailingZeros(mask)][i];
+        }
+        return rank;
+    }
+
+    // Сочетание из k элементов по номеру
+    private static long unrank(long rank, int k) {
+        long mask = 0;
+        int n = TILES;
+        for (int i = k; i > 0; i--) {
+            do {
+                n--;
+            } while (BINOMIAL[n][i] > rank);
+            mask |= 1L << n;
+            rank -= BINOMIAL[n][i];
+        }
+        return mask;
+    }
+
+    // Убирает из номеров костяшек руки other позиции, занятые рукой mover
+    private static long compress(long other, long mover) {
+        long result = 0;
+        for (; other != 0; other &= other - 1) {
+            int bit = Long.numberOfTrailingZeros(other);
+            result |= 1L << (bit - Long.bitCount(mover & ((1L << bit) - 1)));
+        }
+        return result;
+    }
+
+    // Обратное к compress: раскладывает сжатые номера по свободным от mover позициям
+    private static long expand(long compressed, long mover) {
+        long result = 0;
+        long free = ~mover & ((1L << TILES) - 1);
+        for (int i = 0; free != 0; free &= free - 1, i++) {
+            if ((compressed & (1L << i)) != 0) {
+                result |= Long.lowestOneBit(free);
+            }
+        }
+        return result;
+    }
+
+    private static int pips(long hand) {
+        int pips = 0;
+        for (; hand != 0; hand &= hand - 1) {
+            pips += Domino.byId(Long.numberOfTrailingZeros(hand)).getValue();
+        }
+        return pips;
+    }
+
+    private static ByteBuffer header(ByteBuffer buffer, int maxTiles) {
+        buffer.putInt(0, MAGIC);
+        buffer.put(4, (byte) VERSION);
+        buffer.put(5, (byte) Domino.MAX_PIP);
+        buffer.put(6, (byte) maxTiles);
+        return buffer;
+    }
+
+    /**
+     * Генерация таблицы по возрастанию количества костяшек в руках.
+     */
+    private static final class Generator {
+        private final int maxTiles;
+        private final long[][] offsets;
+        private final byte[] data;
+
+        Generator(int maxTiles, byte[] data) {
+            this.maxTiles = maxTiles;
+            this.offsets = offsets(maxTiles);
+            this.data = data;
+        }
+
+        void run() {
+            for (int total = 2; total <= maxTiles; total++) {
+                for (int moverSize = 1; moverSize < total; moverSize++) {
+                    int a = moverSize;
+                    int b = total - a;
+                    // Позиции одного размера зависят только от меньших, их можно решать параллельно
+                    IntStream.range(0, BINOMIAL[TILES][a]).parallel().forEach(rankA -> {
+                        long mover = unrank(rankA, a);
+                        for (int rankB = 0; rankB < BINOMIAL[TILES - a][b]; rankB++) {
+                            long other = expand(unrank(rankB, b), mover);
+                            for (int high = 0; high <= Domino.MAX_PIP; high++) {
+                                for (int low = 0; low <= high; low++) {
+                                    int value = solve(mover, other, low, high);
+                                    data[HEADER_SIZE + (int) index(offsets, mover, other, low, high)] = (byte) value;
+                                }
+                            }
+                        }
+                    });
+                }
+            }
+        }
+
+        private int solve(long mover, long other, int left, int right) {
+            long ends = Domino.pipMask(left) | Domino.pipMask(right);
+            if ((mover & ends) != 0) {
+                return bestPlay(mover, other, left, right);
+            }
+            if ((other & ends) != 0) {
+                // Пас: ходит соперник
+                return -bestPlay(other, mover, left, right);
+            }
+            // Рыба: никто не может ходить
+            return pips(other) - pips(mover);
+        }
+
+        private int bestPlay(long mover, long other, int left, int right) {
+            int best = Integer.MIN_VALUE;
+            for (long playable = mover & (Domino.pipMask(left) | Domino.pipMask(right));
+                 playable != 0; playable &= playable - 1) {
+                int id = Long.numberOfTrailingZeros(playable);
+                Domino domino = Domino.byId(id);
+                long rest = mover & ~(1L << id);
+                if (domino.matches(left)) {
+                    best = Math.max(best, after(rest, other, other(domino, left), right));
+                }
+                if (domino.matches(right)) {
+                    best = Math.max(best, after(rest, other, left, other(domino, right)));
+                }
+            }
+            return best;
+        }
+
+        // Оценка хода для сделавшего его игрока
+        private int after(long rest, long other, int left, int right) {
+            if (rest == 0) {
+                return pips(other);
+            }
+            return -data[HEADER_SIZE + (int) index(offsets, other, rest, left, right)];
+        }
+
+        private static int other(Domino domino, int end) {
+            return domino.getLeft() == end ? domino.getRight() : domino.getLeft();
+        }
+    }
+
+    /**
+     * Генерирует таблицу и записывает ее в файл.
+     * Аргументы: путь к файлу и наибольшее количество костяшек в обеих руках (по умолчанию 6).
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "endgames.dtb");
+        int maxTiles = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long start = System.nanoTime();
+        Tablebase tablebase = generate(maxTiles);
+        tablebase.write(file);
+        System.out.printf("%s: %d позиций, %d байт, %.1f с%n", file, size(maxTiles),
+                Files.size(file), (System.nanoTime() - start) / 1e9);
+    }
+}
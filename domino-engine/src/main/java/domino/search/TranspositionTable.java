@@ -0,0 +1,151 @@
+package domino.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Таблица транспозиций фиксированного размера без блокировок,
+ * общая для нескольких потоков поиска.
+ * <p>
+ * Каждая запись занимает два long: ключ, сложенный по XOR с данными, и сами данные.
+ * Если другой поток перезаписал половину записи, проверка ключа при чтении
+ * не сойдется и запись будет считаться отсутствующей, поэтому блокировки не нужны.
+ * <p>
+ * Записи сгруппированы в корзины по две: первая ячейка хранит результат
+ * самого глубокого поиска (заменяется при большей или равной глубине
+ * либо если запись осталась от прошлого поиска), вторая заменяется всегда.
+ */
+public class TranspositionTable {
+    /** Точное значение. */
+    public static final int EXACT = 1;
+    /** Значение не меньше сохраненного (отсечение по beta). */
+    public static final int LOWER = 2;
+    /** Значение не больше сохраненного (ни один ход не улучшил alpha). */
+    public static final int UPPER = 3;
+    /** Результат {@link #probe(long)} при отсутствии записи. */
+    public static final long MISS = 0;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Раскладка данных: 0-15 значение, 16-23 глубина, 24-25 тип оценки,
+    // 26-41 лучший ход + 1, 42-49 поколение, 63 - признак занятой записи
+    private static final long VALID = 1L << 63;
+
+    private final long[] slots;
+    private final int bucketMask;
+    private volatile int generation;
+
+    /**
+     * @param sizeMegabytes приблизительный размер таблицы в мегабайтах
+     */
+    public TranspositionTable(int sizeMegabytes) {
+        if (sizeMegabytes <= 0) {
+            throw new IllegalArgumentException("Размер таблицы должен быть положительным");
+        }
+        // Корзина - две записи по 16 байт
+        long buckets = Long.highestOneBit((long) sizeMegabytes * 1024 * 1024 / 32);
+        if (buckets > 1 << 26) {
+            buckets = 1 << 26;
+        }
+        this.slots = new long[(int) buckets * 4];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Ищет запись по ключу.
+     *
+     * @return упакованные данные записи или {@link #MISS}
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = base; i < base + 4; i += 2) {
+            long data = (long) SLOTS.getOpaque(slots, i + 1);
+            long check = (long) SLOTS.getOpaque(slots, i);
+            if ((data & VALID) != 0 && (check ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Сохраняет результат поиска.
+     *
+     * @param key   хеш позиции
+     * @param value оценка позиции (от -32768 до 32767)
+     * @param depth глубина поиска (от 0 до 255)
+     * @param bound {@link #EXACT}, {@link #LOWER} или {@link #UPPER}
+     * @param move  лучший ход или -1
+     */
+    public void store(long key, int value, int depth, int bound, int move) {
+        long data = VALID
+                | (value & 0xFFFFL)
+                | (long) (Math.min(depth, 255)) << 16
+                | (long) bound << 24
+                | (long) ((move + 1) & 0xFFFF) << 26
+                | (long) (generation & 0xFF) << 42;
+        int base = bucket(key);
+
+        // Первая ячейка: сохраняем, если там тот же ключ, более мелкий поиск или старое поколение
+        long oldData = (long) SLOTS.getOpaque(slots, base + 1);
+        long oldKey = (long) SLOTS.getOpaque(slots, base) ^ oldData;
+        boolean replaceFirst = (oldData & VALID) == 0
+                || oldKey == key
+                || depth(oldData) <= depth
+                || generation(oldData) != (generation & 0xFF);
+        int slot = replaceFirst ? base : base + 2;
+        SLOTS.setOpaque(slots, slot, key ^ data);
+        SLOTS.setOpaque(slots, slot + 1, data);
+    }
+
+    /**
+     * Начинает новый поиск: записи прошлых поисков становятся кандидатами на замену.
+     */
+    public void newSearch() {
+        generation = generation + 1;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            SLOTS.setOpaque(slots, i, 0L);
+        }
+    }
+
+    //заполненность таблицы в промилле по первой тысяче корзин
+    public int getFillPermille() {
+        int sample = Math.min(1000, bucketMask + 1);
+        int used = 0;
+        for (int b = 0; b < sample; b++) {
+            for (int i = b * 4; i < b * 4 + 4; i += 2) {
+                if (((long) SLOTS.getOpaque(slots, i + 1) & VALID) != 0) {
+                    used++;
+                }
+            }
+        }
+        return used * 1000 / (sample * 2);
+    }
+
+    public static int value(long data) {
+        return (short) data;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 16) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 24) & 3;
+    }
+
+    public static int move(long data) {
+        return ((int) (data >>> 26) & 0xFFFF) - 1;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 42) & 0xFF;
+    }
+
+    private int bucket(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) << 2;
+    }
+}
@@ -0,0 +1,105 @@
+package domino.sim;
+
+/**
+ * Рейтинг участника турнира по системе Глико (Glicko-1) и параллельно по Эло.
+ * <p>
+ * Глико, кроме оценки силы, хранит ее отклонение (RD): чем больше сыграно партий,
+ * тем оно меньше, а 95%-й доверительный интервал рейтинга - {@code rating ± 1.96·RD}.
+ * Сила ботов со временем не меняется, поэтому отклонение между периодами не растет.
+ * Рейтинги Глико обновляются раз в период (тур) по всем его партиям сразу,
+ * рейтинг Эло - после каждой партии.
+ */
+public final class Rating {
+    public static final double INITIAL_RATING = 1500;
+    public static final double INITIAL_DEVIATION = 350;
+    /** Коэффициент Эло: максимальное изменение рейтинга за одну партию. */
+    public static final double ELO_K = 16;
+
+    private static final double Q = Math.log(10) / 400;
+
+    private double rating = INITIAL_RATING;
+    private double deviation = INITIAL_DEVIATION;
+    private double elo = INITIAL_RATING;
+    // Накопленные за текущий период суммы формулы Глико
+    private double varianceSum;
+    private double improvementSum;
+
+    public double getRating() {
+        return rating;
+    }
+
+    public double getDeviation() {
+        return deviation;
+    }
+
+    public double getElo() {
+        return elo;
+    }
+
+    //границы 95%-го доверительного интервала рейтинга Глико
+    public double getLowerBound() {
+        return rating - 1.96 * deviation;
+    }
+
+    public double getUpperBound() {
+        return rating + 1.96 * deviation;
+    }
+
+    /**
+     * Учитывает результат партии текущего периода против соперника.
+     * Рейтинг соперника берется на начало периода, поэтому порядок партий не важен.
+     *
+     * @param opponent рейтинг соперника
+     * @param score    1 - победа, 0.5 - ничья, 0 - поражение
+     */
+    void addResult(Rating opponent, double score) {
+        double g = g(opponent.deviation);
+        double expected = expected(rating, opponent.rating, opponent.deviation);
+        varianceSum += g * g * expected * (1 - expected);
+        improvementSum += g * (score - expected);
+    }
+
+    /**
+     * Завершает период: пересчитывает рейтинг и отклонение по накопленным партиям.
+     */
+    void endPeriod() {
+        if (varianceSum == 0) {
+            return;
+        }
+        double inverseVariance = Q * Q * varianceSum;
+        double precision = 1 / (deviation * deviation) + inverseVariance;
+        rating += Q / precision * improvementSum;
+        deviation = Math.sqrt(1 / precision);
+        varianceSum = 0;
+        improvementSum = 0;
+    }
+
+    /**
+     * Обновляет рейтинги Эло обоих участников по одной партии.
+     *
+     * @param score результат первого участника
+     */
+    static void updateElo(Rating first, Rating second, double score) {
+        double expected = 1 / (1 + Math.pow(10, (second.elo - first.elo) / 400));
+        double delta = ELO_K * (score - expected);
+        first.elo += delta;
+        second.elo -= delta;
+    }
+
+    //ожидаемый результат против соперника с учетом неопределенности его рейтинга
+    static double expected(double rating, double opponentRating, double opponentDeviation) {
+        return 1 / (1 + Math.pow(10, -g(opponentDeviation) * (rating - opponentRating) / 400));
+    }
+
+    private static double g(double deviation) {
+        return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+
+    //для тестов и восстановления: рейтинг с заданными значениями
+    static Rating of(double rating, double deviation) {
+        Rating r = new Rating();
+        r.rating = rating;
+        r.deviation = deviation;
+        return r;
+    }
+}
@@ -0,0 +1,121 @@
+package domino.sim;
+
+import java.util.List;
+
+/**
+ * Сводная статистика серии игр.
+ * Накопитель не потокобезопасен: каждый поток собирает свой экземпляр,
+ * затем экземпляры объединяются через {@link #merge(SimulationStats)}.
+ */
+public class SimulationStats {
+    private final List<String> seatNames;
+    private final long[] wins;
+    private long games;
+    private long blockedGames;
+    private long unfinishedGames;
+    private long totalTurns;
+    private long elapsedNanos;
+    private long masterSeed;
+    private int longestGameTurns = -1;
+    private long longestGameSeed;
+
+    public SimulationStats(List<String> seatNames) {
+        this.seatNames = List.copyOf(seatNames);
+        this.wins = new long[seatNames.size()];
+    }
+
+    /**
+     * Учитывает одну сыгранную игру.
+     *
+     * @param winnerSeat номер места победителя или -1 если победителя нет
+     * @param turns      количество ходов в игре
+     * @param blocked    игра закончилась "рыбой"
+     * @param finished   игра закончилась по правилам, а не по лимиту ходов
+     * @param seed       зерно игры, по которому ее можно переиграть
+     */
+    public void record(int winnerSeat, int turns, boolean blocked, boolean finished, long seed) {
+        games++;
+        if (turns > longestGameTurns) {
+            longestGameTurns = turns;
+            longestGameSeed = seed;
+        }
+        totalTurns += turns;
+        if (winnerSeat >= 0) {
+            wins[winnerSeat]++;
+        }
+        if (blocked) {
+            blockedGames++;
+        }
+        if (!finished) {
+            unfinishedGames++;
+        }
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+        }
+        games += other.games;
+        blockedGames += other.blockedGames;
+        unfinishedGames += other.unfinishedGames;
+        totalTurns += other.totalTurns;
+        if (other.longestGameTurns > longestGameTurns) {
+            longestGameTurns = other.longestGameTurns;
+            longestGameSeed = other.longestGameSeed;
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void setMasterSeed(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    public long getGames() { return games; }
+    public long getWins(int seat) { return wins[seat]; }
+    public long getBlockedGames() { return blockedGames; }
+    public long getUnfinishedGames() { return unfinishedGames; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public long getMasterSeed() { return masterSeed; }
+    public int getLongestGameTurns() { return longestGameTurns; }
+    //зерно самой длинной игры серии - для разбора выбросов
+    public long getLongestGameSeed() { return longestGameSeed; }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    public double getBlockedRate() {
+        return games == 0 ? 0 : (double) blockedGames / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Серия ").append(masterSeed).append(". Игр: ").append(games)
+                .append(String.format(", ходов в среднем: %.2f", getAverageTurns()))
+                .append(String.format(", рыба: %.2f%%", getBlockedRate() * 100))
+                .append(String.format(", скорость: %.0f игр/с", getGamesPerSecond()));
+        if (unfinishedGames > 0) {
+            sb.append(", не закончено: ").append(unfinishedGames);
+        }
+        if (games > 0) {
+            sb.append(String.format("%n  Самая длинная игра: %d ходов, зерно %d", longestGameTurns, longestGameSeed));
+        }
+        for (int i = 0; i < wins.length; i++) {
+            sb.append(String.format("%n  %s: %.2f%% побед", seatNames.get(i), getWinRate(i) * 100));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package domino.sim;
+
+import domino.DominoGame;
+import domino.MoveGenerator;
+import domino.bot.GreedyStrategy;
+import domino.bot.RandomStrategy;
+import domino.bot.Strategy;
+import domino.metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Консольный движок массовой симуляции игр без пользовательского интерфейса.
+ * Играет полные партии между автоматическими стратегиями и распределяет
+ * независимые игры по всем ядрам через fork-join.
+ * <p>
+ * Каждая игра серии получает собственное зерно, вычисляемое из зерна серии
+ * и номера игры ({@link #gameSeed(long, long)}), поэтому любую игру можно
+ * переиграть отдельно через {@link #playGame(long, SimulationStats)}
+ * независимо от того, в каком потоке она шла.
+ */
+public class Simulator {
+    /** Лимит ходов, после которого игра считается незаконченной. */
+    public static final int DEFAULT_MAX_TURNS = 1000;
+    // Столько игр подряд играет один поток, прежде чем задача перестает делиться
+    private static final int GAMES_PER_TASK = 256;
+
+    private final List<Strategy> seats;
+    private final List<String> seatNames;
+    private final int maxTurns;
+
+    /**
+     * @param seats стратегии игроков по местам; должны быть потокобезопасными
+     */
+    public Simulator(List<? extends Strategy> seats) {
+        this(seats, DEFAULT_MAX_TURNS);
+    }
+
+    public Simulator(List<? extends Strategy> seats, int maxTurns) {
+        if (seats == null || seats.size() < 2) {
+            throw new IllegalArgumentException("Минимум 2 игрока");
+        }
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Лимит ходов должен быть положительным");
+        }
+        this.seats = List.copyOf(seats);
+        this.maxTurns = maxTurns;
+        this.seatNames = new ArrayList<>();
+        for (int i = 0; i < seats.size(); i++) {
+            seatNames.add((i + 1) + ". " + seats.get(i).getName());
+        }
+    }
+
+    /**
+     * Играет указанное количество игр в общем пуле fork-join со случайным зерном серии.
+     */
+    public SimulationStats run(long games) {
+        return run(games, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Играет указанное количество игр в общем пуле fork-join.
+     *
+     * @param games      количество игр
+     * @param masterSeed зерно серии
+     */
+    public SimulationStats run(long games, long masterSeed) {
+        return run(games, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Играет указанное количество игр в заданном пуле.
+     */
+    public SimulationStats run(long games, long masterSeed, ForkJoinPool pool) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Количество игр не может быть отрицательным");
+        }
+        long start = System.nanoTime();
+        SimulationStats stats = pool.invoke(new SimulationTask(masterSeed, 0, games));
+        stats.setMasterSeed(masterSeed);
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Зерно игры с заданным номером в серии.
+     * Зерна соседних игр статистически независимы (перемешивание SplitMix64).
+     */
+    public static long gameSeed(long masterSeed, long gameIndex) {
+        long z = masterSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Играет одну игру в текущем потоке и добавляет ее итог в статистику.
+     * Одно и то же зерно всегда дает одну и ту же игру.
+     *
+     * @param seed  зерно игры: определяет раздачу и случайные решения стратегий
+     * @param stats статистика для итога игры
+     */
+    public void playGame(long seed, SimulationStats stats) {
+        DominoGame game = new DominoGame(seatNames);
+        int turns = play(game, seats::get, seed, maxTurns);
+        int winnerSeat = game.getWinner() == null ? -1 : game.getPlayers().indexOf(game.getWinner());
+        stats.record(winnerSeat, turns, game.isBlocked(), game.isGameOver(), seed);
+    }
+
+    /**
+     * Общий цикл игры: начинает игру с раздачей из зерна и доигрывает ее стратегиями мест.
+     * Одно и то же зерно дает одну и ту же раздачу и одни и те же случайные решения стратегий,
+     * кто бы ни играл этот цикл: симуляция, турнир или пакетный режим консоли.
+     * Если стратегия предлагает недопустимый ход, за нее делается первый допустимый.
+     *
+     * @param game     еще не начатая игра с правилами и именами мест
+     * @param seats    стратегия по номеру места
+     * @param seed     зерно игры
+     * @param maxTurns лимит ходов, после которого игра не доигрывается
+     * @return число сыгранных ходов; взятие из базара продолжает ход
+     */
+    public static int play(DominoGame game, IntFunction<? extends Strategy> seats, long seed, int maxTurns) {
+        return play(game, seats, seed, maxTurns, seat -> false);
+    }
+
+    /**
+     * Общий цикл игры, в котором места retry сами повторяют выбор после недопустимого хода,
+     * как человек в консоли, вместо первого допустимого хода за них. Стратегия такого места
+     * должна в конце концов дать допустимый ход или бросить исключение.
+     *
+     * @param retry места, которым недопустимый ход не засчитывается
+     * @see #play(DominoGame, IntFunction, long, int)
+     */
+    public static int play(DominoGame game, IntFunction<? extends Strategy> seats, long seed, int maxTurns,
+                           IntPredicate retry) {
+        SplittableRandom random = new SplittableRandom(seed);
+        game.startGame(random);
+        // Отдельный поток чисел для стратегий, чтобы их решения не влияли на раздачу
+        random = random.split();
+
+        int turns = 0;
+        while (!game.isGameOver() && turns < maxTurns) {
+            int seat = game.getCurrentPlayerIndex();
+            if (!game.makeMove(seats.apply(seat).chooseMove(game, random))) {
+                if (retry.test(seat)) {
+                    continue;
+                }
+                // Стратегия предложила недопустимый ход - делаем за нее первый допустимый
+                game.makeMove(firstLegalMove(game));
+            }
+            // Взятие из базара продолжает ход, ход заканчивается сменой игрока или концом игры
+            if (game.getCurrentPlayerIndex() != seat || game.isGameOver()) {
+                turns++;
+            }
+        }
+        return turns;
+    }
+
+    //первый ход генератора: допустим в любой позиции идущей игры
+    private static int firstLegalMove(DominoGame game) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        MoveGenerator.generateForced(game, moves);
+        return moves[0];
+    }
+
+    private SimulationStats newStats() {
+        return new SimulationStats(seatNames);
+    }
+
+    private class SimulationTask extends RecursiveTask<SimulationStats> {
+        private final long masterSeed;
+        private final long from;
+        private final long to;
+
+        SimulationTask(long masterSeed, long from, long to) {
+            this.masterSeed = masterSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationStats stats = newStats();
+                for (long i = from; i < to; i++) {
+                    playGame(gameSeed(masterSeed, i), stats);
+                }
+                return stats;
+            }
+
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(masterSeed, from, middle);
+            left.fork();
+            SimulationStats right = new SimulationTask(masterSeed, middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Запуск симуляции: случайный бот против жадного.
+     *
+     * Метрики движка выгружаются, если заданы свойства из {@link EngineMetrics#exportIfConfigured()}.
+     *
+     * @param args количество игр (по умолчанию 100000) и зерно серии (по умолчанию случайное)
+     */
+    public static void main(String[] args) throws IOException {
+        EngineMetrics.exportIfConfigured();
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        Simulator simulator = new Simulator(List.of(new RandomStrategy(), new GreedyStrategy()));
+        SimulationStats stats = args.length > 1
+                ? simulator.run(games, Long.parseLong(args[1]))
+                : simulator.run(games);
+        System.out.println(stats);
+    }
+}
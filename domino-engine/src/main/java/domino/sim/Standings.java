@@ -0,0 +1,77 @@
+package domino.sim;
+
+import java.util.List;
+
+/**
+ * Таблица турнира после очередного тура, от сильнейшего к слабейшему по рейтингу Глико.
+ * Неизменяема: турнир отдает новую таблицу после каждого тура.
+ */
+public class Standings {
+    private final int round;
+    private final long games;
+    private final boolean converged;
+    private final long elapsedNanos;
+    private final List<Entry> entries;
+
+    /**
+     * Строка таблицы.
+     *
+     * @param name      имя стратегии
+     * @param games     сыгранные партии
+     * @param score     набранные очки: победа - 1, ничья или незаконченная игра - 0.5
+     * @param rating    рейтинг Глико
+     * @param deviation отклонение рейтинга Глико
+     * @param elo       рейтинг Эло
+     */
+    public record Entry(String name, long games, double score, double rating, double deviation, double elo) {
+        //доля набранных очков
+        public double getScoreRate() {
+            return games == 0 ? 0 : score / games;
+        }
+
+        public double getLowerBound() {
+            return rating - 1.96 * deviation;
+        }
+
+        public double getUpperBound() {
+            return rating + 1.96 * deviation;
+        }
+    }
+
+    Standings(int round, long games, boolean converged, long elapsedNanos, List<Entry> entries) {
+        this.round = round;
+        this.games = games;
+        this.converged = converged;
+        this.elapsedNanos = elapsedNanos;
+        this.entries = List.copyOf(entries);
+    }
+
+    //номер сыгранного тура, с 1
+    public int getRound() { return round; }
+    public long getGames() { return games; }
+    //турнир остановлен досрочно: все рейтинги достигли нужной точности
+    public boolean isConverged() { return converged; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public List<Entry> getEntries() { return entries; }
+
+    public Entry getLeader() {
+        return entries.get(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Тур ").append(round).append(". Партий: ").append(games)
+                .append(String.format(", время: %.1f с", elapsedNanos / 1e9));
+        if (converged) {
+            sb.append(", рейтинги сошлись");
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            sb.append(String.format("%n  %d. %s: %.0f ± %.0f (Эло %.0f), очки %.1f из %d (%.1f%%)",
+                    i + 1, e.name(), e.rating(), 1.96 * e.deviation(), e.elo(),
+                    e.score(), e.games(), e.getScoreRate() * 100));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,282 @@
+package domino.sim;
+
+import domino.DominoGame;
+import domino.bot.GreedyStrategy;
+import domino.bot.IsmctsStrategy;
+import domino.bot.RandomStrategy;
+import domino.bot.Strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Турнир между стратегиями с рейтингами Глико и Эло.
+ * <p>
+ * Турнир идет турами. В каждом туре участники разбиваются на пары по круговой
+ * ({@link Pairing#ROUND_ROBIN}) или швейцарской ({@link Pairing#SWISS}) системе, и каждая
+ * пара играет {@code dealsPerMatch} раздач дважды: во второй раз соперники меняются местами,
+ * а раздача и случайность стратегий остаются теми же. Так удача в раздаче и преимущество
+ * первого хода достаются обоим поровну.
+ * <p>
+ * Партии тура играются параллельно на всех ядрах; их результаты применяются в порядке
+ * расписания, поэтому итог зависит только от зерна турнира. После каждого тура
+ * слушатель получает новую {@link Standings}. Если задана точность
+ * ({@link #withConvergence(double)}), турнир останавливается, как только отклонения
+ * всех рейтингов станут не больше нее.
+ */
+public class Tournament {
+    /** Раздач на пару участников в туре по умолчанию (каждая играется дважды). */
+    public static final int DEFAULT_DEALS_PER_MATCH = 8;
+
+    private static final List<String> SEAT_NAMES = List.of("Место 1", "Место 2");
+
+    /**
+     * Система разбиения на пары.
+     */
+    public enum Pairing {
+        /** Каждый с каждым: круг из n-1 тура (n при нечетном числе участников), затем круг повторяется. */
+        ROUND_ROBIN,
+        /** Соседи по текущему рейтингу, по возможности без повторных встреч; нечетный пропускает тур. */
+        SWISS
+    }
+
+    private final List<Strategy> entrants;
+    private final List<String> names;
+    private Pairing pairing = Pairing.ROUND_ROBIN;
+    private int dealsPerMatch = DEFAULT_DEALS_PER_MATCH;
+    private double targetDeviation;
+    private int maxTurns = Simulator.DEFAULT_MAX_TURNS;
+
+    /**
+     * @param entrants участники; должны быть потокобезопасными
+     */
+    public Tournament(List<? extends Strategy> entrants) {
+        if (entrants == null || entrants.size() < 2) {
+            throw new IllegalArgumentException("Минимум 2 участника");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.names = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            names.add((i + 1) + ". " + entrants.get(i).getName());
+        }
+    }
+
+    public Tournament withPairing(Pairing pairing) {
+        this.pairing = pairing;
+        return this;
+    }
+
+    public Tournament withDealsPerMatch(int dealsPerMatch) {
+        if (dealsPerMatch <= 0) {
+            throw new IllegalArgumentException("Количество раздач должно быть положительным");
+        }
+        this.dealsPerMatch = dealsPerMatch;
+        return this;
+    }
+
+    /**
+     * Досрочная остановка: турнир заканчивается после тура, в котором отклонения
+     * рейтингов Глико всех участников стали не больше заданного.
+     *
+     * @param deviation допустимое отклонение; 0 - играть все туры
+     */
+    public Tournament withConvergence(double deviation) {
+        if (deviation < 0) {
+            throw new IllegalArgumentException("Отклонение не может быть отрицательным");
+        }
+        this.targetDeviation = deviation;
+        return this;
+    }
+
+    public Tournament withMaxTurns(int maxTurns) {
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Лимит ходов должен быть положительным");
+        }
+        this.maxTurns = maxTurns;
+        return this;
+    }
+
+    public Standings run(int rounds, long masterSeed) {
+        return run(rounds, masterSeed, standings -> {
+        });
+    }
+
+    /**
+     * Проводит турнир.
+     *
+     * @param rounds     наибольшее количество туров
+     * @param masterSeed зерно турнира: определяет все раздачи
+     * @param listener   получает таблицу после каждого тура, в потоке вызывающего
+     * @return итоговая таблица
+     */
+    public Standings run(int rounds, long masterSeed, Consumer<Standings> listener) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Количество туров должно быть положительным");
+        }
+        int n = entrants.size();
+        Rating[] ratings = new Rating[n];
+        for (int i = 0; i < n; i++) {
+            ratings[i] = new Rating();
+        }
+        long[] games = new long[n];
+        double[] scores = new double[n];
+        int[][] meetings = new int[n][n];
+        long start = System.nanoTime();
+        long gameIndex = 0;
+        Standings standings = null;
+
+        for (int round = 1; round <= rounds; round++) {
+            List<int[]> pairs = pairing == Pairing.ROUND_ROBIN
+                    ? roundRobinPairs(n, round - 1)
+                    : swissPairs(ratings, meetings);
+            int deals = pairs.size() * dealsPerMatch;
+            long firstGame = gameIndex;
+            gameIndex += deals;
+
+            // Очки первого участника пары в двух партиях каждой раздачи
+            double[] results = new double[2 * deals];
+            IntStream.range(0, deals).parallel().forEach(d -> {
+                int[] pair = pairs.get(d / dealsPerMatch);
+                long seed = Simulator.gameSeed(masterSeed, firstGame + d);
+                results[2 * d] = score(playGame(entrants.get(pair[0]), entrants.get(pair[1]), seed), 0);
+                results[2 * d + 1] = score(playGame(entrants.get(pair[1]), entrants.get(pair[0]), seed), 1);
+            });
+
+            for (int r = 0; r < results.length; r++) {
+                int[] pair = pairs.get(r / 2 / dealsPerMatch);
+                int a = pair[0];
+                int b = pair[1];
+                double score = results[r];
+                ratings[a].addResult(ratings[b], score);
+                ratings[b].addResult(ratings[a], 1 - score);
+                Rating.updateElo(ratings[a], ratings[b], score);
+                games[a]++;
+                games[b]++;
+                scores[a] += score;
+                scores[b] += 1 - score;
+            }
+            for (int[] pair : pairs) {
+                meetings[pair[0]][pair[1]]++;
+                meetings[pair[1]][pair[0]]++;
+            }
+            boolean converged = targetDeviation > 0;
+            for (Rating rating : ratings) {
+                rating.endPeriod();
+                converged &= rating.getDeviation() <= targetDeviation;
+            }
+
+            standings = standings(round, gameIndex * 2, converged, System.nanoTime() - start,
+                    ratings, games, scores);
+            listener.accept(standings);
+            if (converged) {
+                break;
+            }
+        }
+        return standings;
+    }
+
+    /**
+     * Играет одну партию в текущем потоке.
+     * Одно и то же зерно дает ту же раздачу независимо от того, кто на каком месте.
+     *
+     * @return место победителя или -1, если победителя нет
+     */
+    int playGame(Strategy first, Strategy second, long seed) {
+        DominoGame game = new DominoGame(SEAT_NAMES);
+        Simulator.play(game, seat -> seat == 0 ? first : second, seed, maxTurns);
+        return game.getWinnerIndex();
+    }
+
+    //очки игрока на месте seat: победа - 1, поражение - 0, без победителя - пополам
+    private static double score(int winnerSeat, int seat) {
+        return winnerSeat < 0 ? 0.5 : winnerSeat == seat ? 1 : 0;
+    }
+
+    /**
+     * Пары тура круговой системы (метод вращения: первый участник на месте, остальные
+     * сдвигаются по кругу). При нечетном числе участников один из них пропускает тур.
+     */
+    static List<int[]> roundRobinPairs(int n, int round) {
+        int size = n + (n & 1);
+        int[] circle = new int[size];
+        circle[0] = 0;
+        int shift = round % (size - 1);
+        for (int i = 1; i < size; i++) {
+            // Номер n при нечетном n - пропуск тура
+            circle[i] = 1 + (i - 1 + shift) % (size - 1);
+        }
+        List<int[]> pairs = new ArrayList<>(size / 2);
+        for (int i = 0; i < size / 2; i++) {
+            int a = circle[i];
+            int b = circle[size - 1 - i];
+            if (a < n && b < n) {
+                pairs.add(new int[]{a, b});
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Пары тура швейцарской системы: участник с наибольшим рейтингом играет с ближайшим
+     * по рейтингу из тех, с кем встречался реже всего. Нечетный последний пропускает тур.
+     */
+    static List<int[]> swissPairs(Rating[] ratings, int[][] meetings) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -ratings[i].getRating()).thenComparing(i -> i));
+
+        List<int[]> pairs = new ArrayList<>(ratings.length / 2);
+        boolean[] paired = new boolean[ratings.length];
+        for (int i = 0; i < order.size(); i++) {
+            int a = order.get(i);
+            if (paired[a]) {
+                continue;
+            }
+            int best = -1;
+            for (int j = i + 1; j < order.size(); j++) {
+                int b = order.get(j);
+                if (!paired[b] && (best < 0 || meetings[a][b] < meetings[a][best])) {
+                    best = b;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            paired[a] = true;
+            paired[best] = true;
+            pairs.add(new int[]{a, best});
+        }
+        return pairs;
+    }
+
+    private Standings standings(int round, long totalGames, boolean converged, long elapsedNanos,
+                                Rating[] ratings, long[] games, double[] scores) {
+        List<Standings.Entry> entries = new ArrayList<>(ratings.length);
+        for (int i = 0; i < ratings.length; i++) {
+            entries.add(new Standings.Entry(names.get(i), games[i], scores[i],
+                    ratings[i].getRating(), ratings[i].getDeviation(), ratings[i].getElo()));
+        }
+        entries.sort(Comparator.comparingDouble(Standings.Entry::rating).reversed());
+        return new Standings(round, totalGames, converged, elapsedNanos, entries);
+    }
+
+    /**
+     * Турнир случайного, жадного и ISMCTS-ботов.
+     *
+     * @param args количество туров (по умолчанию 30), зерно турнира (по умолчанию случайное)
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : ThreadLocalRandom.current().nextLong();
+        Tournament tournament = new Tournament(List.of(
+                new RandomStrategy(), new GreedyStrategy(), new IsmctsStrategy(200)))
+                .withConvergence(50);
+        tournament.run(rounds, seed, System.out::println);
+    }
+}
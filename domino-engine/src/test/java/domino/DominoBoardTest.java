@@ -96,4 +96,57 @@ class DominoBoardTest {
 
         assertEquals(3, board.getBoard().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testChainView() {
+        // Цепочка [2|3][3|4][4|5] через представление без копирования
+        java.util.List<Domino> chain = board.getChain();
+        board.playDomino(new Domino(3, 4));
+        board.addToLeft(new Domino(2, 3));
+        board.addToRight(new Domino(5, 4));
+
+        assertEquals(3, chain.size());
+        assertEquals(Domino.of(2, 3), chain.get(0));
+        assertEquals(Domino.of(4, 5), chain.get(2));
+        assertEquals(21, board.getPipTotal());
+        assertEquals("[2|3] [3|4] [4|5]", board.toString());
+        assertThrows(UnsupportedOperationException.class, () -> chain.add(new Domino(1, 1)));
+    }
+
+    @Test
+    void testLongChainBothEnds() {
+        // Чередуем концы, чтобы буфер несколько раз перешел через границу
+        board.playDomino(new Domino(0, 0));
+        for (int i = 0; i < 40; i++) {
+            assertTrue(board.addToLeft(new Domino(0, 0)));
+            assertTrue(board.addToRight(new Domino(0, 0)));
+        }
+
+        assertEquals(81, board.size());
+        assertEquals(81, board.getBoard().size());
+        assertEquals(0, board.getLeftEnd());
+        assertEquals(0, board.getRightEnd());
+    }
+
+    @Test
+    void testFitAndRemove() {
+        board.playDomino(new Domino(3, 4));
+
+        assertEquals(Domino.of(2, 3), board.fit(Domino.of(2, 3), Side.LEFT));
+        assertEquals(Domino.of(5, 3), board.fit(Domino.of(3, 5), Side.LEFT));
+        assertEquals(Domino.of(4, 6), board.fit(Domino.of(6, 4), Side.RIGHT));
+        assertNull(board.fit(Domino.of(1, 2), Side.RIGHT));
+
+        board.addToLeft(Domino.of(2, 3));
+        board.addToRight(Domino.of(4, 6));
+        assertEquals(Domino.of(2, 3), board.removeLeft());
+        assertEquals(Domino.of(4, 6), board.removeRight());
+        assertEquals(3, board.getLeftEnd());
+        assertEquals(4, board.getRightEnd());
+        assertEquals(7, board.getPipTotal());
+
+        board.removeLeft();
+        assertTrue(board.isEmpty());
+        assertEquals(-1, board.getLeftEnd());
+    }
+}
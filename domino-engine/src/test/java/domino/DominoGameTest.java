@@ -1,5 +1,6 @@
 package domino;
 
+import domino.metrics.EngineMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
@@ -111,4 +112,322 @@ class DominoGameTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void testListenerReceivesEvents() {
+        List<String> events = new java.util.ArrayList<>();
+        game.addListener(new GameListener() {
+            @Override
+            public void gameStarted(DominoGame g, Player opener, Domino opening) {
+                events.add("start");
+            }
+
+            @Override
+            public void tilePlayed(DominoGame g, Player player, Domino placed, Side side, boolean flipped) {
+                // Поставленная костяшка лежит на соответствующем конце доски
+                int index = side == Side.LEFT ? 0 : g.getBoard().size() - 1;
+                assertEquals(placed, g.getBoard().getDomino(index));
+                events.add("play");
+            }
+
+            @Override
+            public void tileDrawn(DominoGame g, Player player, Domino drawn) {
+                events.add("draw");
+            }
+
+            @Override
+            public void gameOver(DominoGame g, Player winner, GameOverReason reason) {
+                assertEquals(g.getWinner(), winner);
+                assertEquals(g.getGameOverReason(), reason);
+                events.add("over");
+            }
+        });
+
+        game.startGame();
+        assertEquals("start", events.get(0));
+        assertNotNull(game.getOpeningDomino());
+
+        for (int turn = 0; turn < 500 && !game.isGameOver(); turn++) {
+            Player player = game.getCurrentPlayer();
+            game.makeMove(player.findPlayableDomino(game.getBoard().getLeftEnd(), game.getBoard().getRightEnd()));
+        }
+
+        assertTrue(game.isGameOver());
+        assertEquals("over", events.get(events.size() - 1));
+        assertEquals(game.getBoard().size() - 1, events.stream().filter("play"::equals).count());
+    }
+
+    @Test
+    void testRemoveListener() {
+        GameListener listener = new GameListener() {
+            @Override
+            public void gameStarted(DominoGame g, Player opener, Domino opening) {
+                fail("Удаленный слушатель не должен получать события");
+            }
+        };
+        game.addListener(listener);
+
+        assertTrue(game.removeListener(listener));
+        assertFalse(game.removeListener(listener));
+        game.startGame();
+    }
+
+    @Test
+    void testSeededGameIsReproducible() {
+        DominoGame other = new DominoGame(Arrays.asList("Игрок 1", "Игрок 2"));
+
+        game.startGame(77);
+        other.startGame(77);
+
+        assertEquals(77, game.getSeed().getAsLong());
+        assertEquals(game.getBoard().toString(), other.getBoard().toString());
+        assertEquals(game.getCurrentPlayerIndex(), other.getCurrentPlayerIndex());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(game.getPlayers().get(i).getHand(), other.getPlayers().get(i).getHand());
+        }
+    }
+
+    @Test
+    void testUndoRestoresEveryPosition() {
+        game.startGame(5);
+        List<String> positions = new java.util.ArrayList<>();
+        positions.add(describe(game));
+
+        // Играем партию целиком, запоминая позицию после каждого атомарного хода
+        while (!game.isGameOver()) {
+            int before = game.getHistorySize();
+            Player player = game.getCurrentPlayer();
+            game.makeMove(player.findPlayableDomino(game.getBoard().getLeftEnd(), game.getBoard().getRightEnd()));
+            assertTrue(game.getHistorySize() > before);
+            while (positions.size() < game.getHistorySize()) {
+                positions.add(null);
+            }
+            positions.add(describe(game));
+        }
+        String last = positions.get(positions.size() - 1);
+
+        // Отменяем все ходы и сверяем позиции, где они известны
+        while (game.getHistorySize() > 0) {
+            game.undoMove();
+            String expected = positions.get(game.getHistorySize());
+            if (expected != null) {
+                assertEquals(expected, describe(game));
+            }
+        }
+        assertFalse(game.isGameOver());
+        assertThrows(IllegalStateException.class, game::undoMove);
+        assertNotEquals(last, describe(game));
+    }
+
+    @Test
+    void testApplyAndUndoSingleMoves() {
+        game.startGame(11);
+        String start = describe(game);
+        int remaining = game.getRemainingDominoes();
+
+        game.applyMove(Move.DRAW);
+        assertEquals(remaining - 1, game.getRemainingDominoes());
+        assertNotNull(game.getDrawnDomino());
+        // Второй раз за ход брать из базара нельзя
+        assertThrows(IllegalArgumentException.class, () -> game.applyMove(Move.DRAW));
+
+        game.applyMove(Move.PASS);
+        game.undoMove();
+        game.undoMove();
+
+        assertEquals(start, describe(game));
+        assertNull(game.getDrawnDomino());
+    }
+
+    @Test
+    void testApplyInvalidPlay() {
+        game.startGame(3);
+        Player player = game.getCurrentPlayer();
+        Domino foreign = game.getPlayers().get(1 - game.getCurrentPlayerIndex()).getHand().get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> game.applyMove(Move.play(foreign, Side.LEFT)));
+        assertEquals(player, game.getCurrentPlayer());
+        assertEquals(0, game.getHistorySize());
+    }
+
+    private static String describe(DominoGame g) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(g.getBoard()).append('|').append(g.getBoard().getLeftEnd()).append(',')
+                .append(g.getBoard().getRightEnd()).append('|').append(g.getRemainingDominoes())
+                .append('|').append(g.getCurrentPlayerIndex()).append('|').append(g.getGameState())
+                .append('|').append(g.getWinner()).append('|').append(g.getDrawnDomino());
+        for (Player player : g.getPlayers()) {
+            sb.append('|').append(player);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testHashIsIncremental() {
+        game.startGame(21);
+        long start = game.getHash();
+        assertEquals(game.computeHash(), start);
+
+        while (!game.isGameOver()) {
+            Player player = game.getCurrentPlayer();
+            game.makeMove(player.findPlayableDomino(game.getBoard().getLeftEnd(), game.getBoard().getRightEnd()));
+            assertEquals(game.computeHash(), game.getHash());
+        }
+        while (game.getHistorySize() > 0) {
+            game.undoMove();
+        }
+
+        assertEquals(start, game.getHash());
+        assertEquals(start, game.copy().getHash());
+    }
+
+    @Test
+    void testStartFromDealRepeatsGame() {
+        game.startGame(33);
+        DominoGame repeated = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        repeated.startGame(game.getDeal());
+
+        assertEquals(Domino.TILE_COUNT, game.getDeal().size());
+        assertEquals(game.getDeal(), repeated.getDeal());
+        assertEquals(game.getHash(), repeated.getHash());
+        assertEquals(game.getOpeningDomino(), repeated.getOpeningDomino());
+        assertTrue(repeated.getSeed().isEmpty());
+    }
+
+    @Test
+    void testStartFromInvalidDealFails() {
+        List<Domino> deal = new java.util.ArrayList<>(new DominoGame(List.of("А", "Б")).getDeal());
+        assertTrue(deal.isEmpty());
+
+        game.startGame(1);
+        deal.addAll(game.getDeal());
+        deal.set(0, deal.get(1));
+
+        assertThrows(IllegalArgumentException.class, () -> game.startGame(deal));
+        assertThrows(IllegalArgumentException.class, () -> game.startGame(deal.subList(0, 27)));
+    }
+
+    @Test
+    void testMoveHistory() {
+        game.startGame(2);
+        game.makeMove(null);
+        int[] moves = game.getMoveHistory();
+
+        assertEquals(game.getHistorySize(), moves.length);
+        assertTrue(moves.length >= 1);
+        assertTrue(Move.isDraw(moves[0]) || Move.isPass(moves[0]));
+    }
+
+    @Test
+    void testMetricsCountGameMoves() {
+        long started = EngineMetrics.GAMES_STARTED.get();
+        long finished = EngineMetrics.GAMES_FINISHED.get();
+        long blocked = EngineMetrics.GAMES_BLOCKED.get();
+        long moves = EngineMetrics.MOVES.get();
+        long draws = EngineMetrics.DRAWS.get();
+        long timed = EngineMetrics.MAKE_MOVE_NANOS.getCount();
+
+        game.startGame(5);
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int calls = 0;
+        while (!game.isGameOver()) {
+            MoveGenerator.generate(game, legal);
+            assertTrue(game.makeMove(legal[0]));
+            calls++;
+        }
+        // Перебор через applyMove/undoMove в метрики не попадает
+        game.undoMove();
+        game.applyMove(game.getMoveHistory().length == 0 ? Move.PASS : legal[0]);
+
+        int expectedDraws = 0;
+        for (int move : game.getMoveHistory()) {
+            if (move == Move.DRAW) {
+                expectedDraws++;
+            }
+        }
+        assertEquals(started + 1, EngineMetrics.GAMES_STARTED.get());
+        assertEquals(finished + 1, EngineMetrics.GAMES_FINISHED.get());
+        assertEquals(blocked + (game.isBlocked() ? 1 : 0), EngineMetrics.GAMES_BLOCKED.get());
+        assertEquals(moves + game.getHistorySize(), EngineMetrics.MOVES.get());
+        assertEquals(draws + expectedDraws, EngineMetrics.DRAWS.get());
+        // Время замеряется у каждого 64-го вызова, начиная с первого
+        assertEquals(timed + (calls + 63) / 64, EngineMetrics.MAKE_MOVE_NANOS.getCount());
+    }
+
+    @Test
+    void testDoubleTwelveForEightPlayers() {
+        List<String> names = new java.util.ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            names.add("Игрок " + i);
+        }
+        DominoGame big = new DominoGame(names, 12, 11);
+        big.startGame(12);
+
+        assertEquals(12, big.getMaxPip());
+        assertEquals(91, big.getDeal().size());
+        assertEquals(91 - 8 * 11, big.getRemainingDominoes());
+        for (Player player : big.getPlayers()) {
+            assertTrue(player.getHandSize() >= 10);
+        }
+        long start = big.getHash();
+        java.util.SplittableRandom random = new java.util.SplittableRandom(12);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        while (!big.isGameOver()) {
+            int count = MoveGenerator.generate(big, moves);
+            big.applyMove(moves[random.nextInt(count)]);
+            assertEquals(big.computeHash(), big.getHash());
+        }
+        while (big.getHistorySize() > 0) {
+            big.undoMove();
+        }
+        assertEquals(start, big.getHash());
+
+        DominoGame repeated = new DominoGame(names, 12, 11);
+        repeated.startGame(big.getDeal());
+        assertEquals(start, repeated.getHash());
+    }
+
+    @Test
+    void testInvalidSetConfiguration() {
+        List<String> four = List.of("А", "Б", "В", "Г");
+        assertThrows(IllegalArgumentException.class, () -> new DominoGame(four, 16, 7));
+        assertThrows(IllegalArgumentException.class, () -> new DominoGame(four, 6, 8));
+        assertThrows(IllegalArgumentException.class, () -> new DominoGame(four, 9, 0));
+        assertEquals(Domino.TILE_COUNT, new DominoGame(four, 6, 7).getHandSize() * 4);
+    }
+
+    @Test
+    void testPassOnlyAfterDrawOrWhenStuck() {
+        game.startGame(11);
+        assertTrue(game.getRemainingDominoes() > 0);
+        assertFalse(game.isLegal(Move.PASS));
+        assertThrows(IllegalArgumentException.class, () -> game.applyMove(Move.PASS));
+        assertFalse(game.makeMove(Move.PASS));
+        assertEquals(0, game.getHistorySize());
+
+        game.applyMove(Move.DRAW);
+        assertTrue(game.isLegal(Move.PASS));
+
+        // С пустым базаром пас допустим, только если ходить нечем
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        while (!game.isGameOver()) {
+            int count = MoveGenerator.generate(game, moves);
+            boolean passGenerated = false;
+            for (int i = 0; i < count; i++) {
+                passGenerated |= moves[i] == Move.PASS;
+            }
+            assertEquals(passGenerated, game.isLegal(Move.PASS));
+            game.applyMove(moves[count - 1]);
+        }
+    }
+
+    @Test
+    void testGarbageMoveCodesAreRejected() {
+        game.startGame(5);
+        for (int move : new int[]{2050, -2, -1, 3, 5, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertFalse(game.isLegal(move), "ход " + move);
+            assertFalse(game.makeMove(move), "ход " + move);
+            assertThrows(IllegalArgumentException.class, () -> game.applyMove(move));
+        }
+        assertEquals(0, game.getHistorySize());
+    }
+}
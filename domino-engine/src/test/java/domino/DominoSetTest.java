@@ -2,6 +2,7 @@ package domino;
 
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.SplittableRandom;
 import static org.junit.jupiter.api.Assertions.*;
 
 class DominoSetTest {
@@ -58,4 +59,25 @@ class DominoSetTest {
 
         assertEquals(set1.size(), set2.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSeededShuffleIsReproducible() {
+        DominoSet set1 = new DominoSet();
+        DominoSet set2 = new DominoSet();
+
+        set1.shuffle(new SplittableRandom(2024));
+        set2.shuffle(new SplittableRandom(2024));
+
+        assertEquals(set1.draw(28), set2.draw(28));
+    }
+
+    @Test
+    void testLargerSets() {
+        assertEquals(55, new DominoSet(9).size());
+        assertEquals(91, new DominoSet(12).size());
+        assertEquals(Domino.MAX_TILE_COUNT, new DominoSet(15).size());
+        assertEquals(new DominoSet().draw(28), new DominoSet(6).draw(28));
+        assertThrows(IllegalArgumentException.class, () -> new DominoSet(16));
+        assertThrows(IllegalArgumentException.class, () -> new DominoSet(-1));
+    }
+}
@@ -16,7 +16,7 @@ public class DominoTest {
     @Test
     void testDominoInvalidValues() {
         assertThrows(IllegalArgumentException.class, () -> {
-            new Domino(7, 2);
+            new Domino(16, 2);
         });
 
         assertThrows(IllegalArgumentException.class, () -> {
@@ -64,4 +64,67 @@ public class DominoTest {
 
         assertEquals("[1|6]", domino.toString());
     }
+
+    @Test
+    void testFlipReturnsCachedInstance() {
+        Domino domino = Domino.of(2, 5);
+
+        assertSame(domino.flip(), domino.flip());
+        assertSame(domino, domino.flip().flip());
+        assertSame(Domino.of(5, 2), domino.flip());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        Domino domino = new Domino(3, 4);
+
+        assertEquals(Domino.of(3, 4), domino);
+        assertEquals(Domino.of(3, 4).hashCode(), domino.hashCode());
+        assertNotEquals(domino, domino.flip());
+        assertTrue(domino.isSameTile(domino.flip()));
+    }
+
+    @Test
+    void testTileRegistry() {
+        // 28 костяшек с номерами 0..27 и 49 ориентированных форм
+        boolean[] seen = new boolean[Domino.TILE_COUNT];
+        for (int id = 0; id < Domino.TILE_COUNT; id++) {
+            Domino tile = Domino.byId(id);
+            assertEquals(id, tile.getId());
+            assertTrue(tile.getLeft() <= tile.getRight());
+            seen[id] = true;
+        }
+        for (int left = 0; left < Domino.PIP_COUNT; left++) {
+            for (int right = 0; right < Domino.PIP_COUNT; right++) {
+                Domino oriented = Domino.of(left, right);
+                assertSame(oriented, Domino.byCode(oriented.getCode()));
+                assertTrue(seen[oriented.getId()]);
+            }
+        }
+        assertEquals(28, Domino.TILE_COUNT);
+        assertEquals(49, Domino.ORIENTED_COUNT);
+    }
+
+    @Test
+    void testLargerSetsExtendNumbering() {
+        // Номера дубль-шесть остаются первыми, каждый больший набор - продолжение меньшего
+        assertEquals(55, Domino.tileCount(9));
+        assertEquals(91, Domino.tileCount(12));
+        assertEquals(136, Domino.tileCount(15));
+        assertEquals(Domino.tileCount(15), Domino.MAX_TILE_COUNT);
+        assertEquals(Domino.TILE_COUNT, Domino.of(0, 7).getId());
+        assertEquals(Domino.MAX_TILE_COUNT - 1, Domino.of(15, 15).getId());
+
+        for (int pip = 0; pip <= Domino.MAX_SUPPORTED_PIP; pip++) {
+            int count = 0;
+            for (int word = 0; word < Domino.MASK_WORDS; word++) {
+                for (long mask = Domino.pipMask(pip, word); mask != 0; mask &= mask - 1) {
+                    assertTrue(Domino.byId(word * Long.SIZE + Long.numberOfTrailingZeros(mask)).matches(pip));
+                    count++;
+                }
+            }
+            assertEquals(Domino.MAX_SUPPORTED_PIP + 1, count, "с каждым значением 16 костяшек");
+        }
+        assertEquals(0, Domino.pipMask(-1, 2));
+    }
 }
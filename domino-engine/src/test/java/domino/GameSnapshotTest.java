@@ -0,0 +1,121 @@
+package domino;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса GameSnapshot - неизменяемого снимка игры.
+ */
+class GameSnapshotTest {
+    private DominoGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new DominoGame(List.of("Игрок 1", "Игрок 2", "Игрок 3"));
+        game.startGame(17);
+    }
+
+    @Test
+    void testSnapshotMatchesGame() {
+        playMoves(game, 5);
+        GameSnapshot snapshot = game.snapshot();
+
+        assertEquals(game.getBoard().getBoard(), snapshot.getChain());
+        assertEquals(game.getBoard().getLeftEnd(), snapshot.getLeftEnd());
+        assertEquals(game.getBoard().getRightEnd(), snapshot.getRightEnd());
+        assertEquals(game.getBoard().getPipTotal(), snapshot.getPipTotal());
+        assertEquals(game.getRemainingDominoes(), snapshot.getRemainingDominoes());
+        assertEquals(game.getCurrentPlayerIndex(), snapshot.getCurrentPlayerIndex());
+        assertEquals(game.getHash(), snapshot.getHash());
+        assertEquals(List.of("Игрок 1", "Игрок 2", "Игрок 3"), snapshot.getPlayerNames());
+        for (int i = 0; i < game.getPlayerCount(); i++) {
+            assertEquals(game.getPlayer(i).getHand(), snapshot.getHand(i));
+            assertEquals(game.getPlayer(i).getHandSize(), snapshot.getHandSize(i));
+        }
+    }
+
+    @Test
+    void testSnapshotDoesNotChangeWhenGameMoves() {
+        playMoves(game, 3);
+        GameSnapshot snapshot = game.snapshot();
+        List<Domino> chain = new ArrayList<>(snapshot.getChain());
+        long hand = snapshot.getHandMask(snapshot.getCurrentPlayerIndex());
+        int bazaar = snapshot.getRemainingDominoes();
+
+        playMoves(game, 10);
+        while (game.getHistorySize() > 0) {
+            game.undoMove();
+        }
+        playMoves(game, 8);
+
+        assertEquals(chain, snapshot.getChain());
+        assertEquals(hand, snapshot.getHandMask(snapshot.getCurrentPlayerIndex()));
+        assertEquals(bazaar, snapshot.getRemainingDominoes());
+    }
+
+    @Test
+    void testForksAreIndependent() {
+        playMoves(game, 4);
+        GameSnapshot snapshot = game.snapshot();
+        DominoGame first = snapshot.fork();
+        DominoGame second = snapshot.fork();
+
+        assertEquals(game.getHash(), first.getHash());
+        assertEquals(first.computeHash(), first.getHash());
+        assertEquals(game.getSeed(), first.getSeed());
+        assertEquals(game.getDeal(), first.getDeal());
+
+        playMoves(first, 20);
+        second.determinize(0, new java.util.SplittableRandom(1));
+        playMoves(second, 20);
+        playMoves(game, 20);
+
+        assertEquals(snapshot.getHash(), snapshot.fork().getHash());
+        assertEquals(snapshot.getChain(), snapshot.fork().getBoard().getBoard());
+        assertEquals(first.computeHash(), first.getHash());
+        assertEquals(second.computeHash(), second.getHash());
+    }
+
+    @Test
+    void testSnapshotOfFinishedGame() {
+        playMoves(game, Integer.MAX_VALUE);
+        GameSnapshot snapshot = game.snapshot();
+
+        assertTrue(snapshot.isGameOver());
+        assertEquals(game.getWinnerIndex(), snapshot.getWinnerIndex());
+        assertEquals(game.getGameOverReason(), snapshot.getGameOverReason());
+        assertEquals(game.getWinnerIndex(), snapshot.fork().getWinnerIndex());
+        assertEquals(game.getPlayers().indexOf(game.getOpener()), snapshot.getOpenerIndex());
+    }
+
+    @Test
+    void testConcurrentReaders() throws InterruptedException {
+        GameSnapshot snapshot = game.snapshot();
+        List<Domino> expected = new ArrayList<>(snapshot.getChain());
+        int[] mismatches = new int[1];
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                if (!expected.equals(snapshot.getChain())) {
+                    mismatches[0]++;
+                }
+            }
+        });
+        reader.start();
+        playMoves(game, Integer.MAX_VALUE);
+        reader.join();
+
+        assertEquals(0, mismatches[0]);
+    }
+
+    private static void playMoves(DominoGame game, int moves) {
+        for (int i = 0; i < moves && !game.isGameOver(); i++) {
+            DominoBoard board = game.getBoard();
+            game.makeMove(game.getCurrentPlayer().findPlayableDomino(board.getLeftEnd(), board.getRightEnd()));
+        }
+    }
+}
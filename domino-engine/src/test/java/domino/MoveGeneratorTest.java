@@ -0,0 +1,122 @@
+package domino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса MoveGenerator - генератора ходов.
+ */
+class MoveGeneratorTest {
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    @Test
+    void testGeneratedMovesAreLegalAndComplete() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2", "Игрок 3"));
+        game.startGame(31);
+
+        while (!game.isGameOver()) {
+            int count = MoveGenerator.generate(game, moves);
+            assertTrue(count > 0);
+            for (int i = 0; i < count; i++) {
+                assertTrue(game.isLegal(moves[i]), Move.toString(moves[i]));
+            }
+            // Ходы, которых нет в списке, недопустимы
+            for (Domino domino : game.getCurrentPlayer().getHand()) {
+                for (Side side : Side.values()) {
+                    Domino placed = game.getBoard().fit(domino, side);
+                    boolean sameEnds = game.getBoard().getLeftEnd() == game.getBoard().getRightEnd();
+                    if (placed != null && game.isLegal(Move.play(placed, side)) && !(sameEnds && side == Side.RIGHT)) {
+                        assertTrue(contains(count, Move.play(placed, side)), Move.toString(Move.play(placed, side)));
+                    }
+                }
+            }
+            assertTrue(game.makeMove(moves[count - 1]));
+        }
+        assertEquals(0, MoveGenerator.generate(game, moves));
+    }
+
+    @Test
+    void testForcedMovesDrawOnlyWhenStuck() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(5);
+        DominoBoard board = game.getBoard();
+
+        int count = MoveGenerator.generateForced(game, moves);
+        boolean canPlay = game.getCurrentPlayer().hasPlayerDomino(board.getLeftEnd(), board.getRightEnd());
+
+        if (canPlay) {
+            for (int i = 0; i < count; i++) {
+                assertTrue(Move.isPlay(moves[i]));
+            }
+            assertEquals(count + 1, MoveGenerator.generate(game, moves));
+            assertEquals(Move.DRAW, moves[count]);
+        } else {
+            assertEquals(1, count);
+            assertEquals(Move.DRAW, moves[0]);
+        }
+    }
+
+    @Test
+    void testMovesAfterDraw() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(13);
+        game.applyMove(Move.DRAW);
+
+        int count = MoveGenerator.generate(game, moves);
+
+        // После взятия можно сыграть только взятой костяшкой или спасовать
+        assertEquals(Move.PASS, moves[count - 1]);
+        for (int i = 0; i < count - 1; i++) {
+            assertTrue(Move.tile(moves[i]).isSameTile(game.getDrawnDomino()));
+        }
+        assertEquals(count, MoveGenerator.generateForced(game, moves));
+    }
+
+    @Test
+    void testMakeMoveWithSide() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(8);
+        DominoBoard board = game.getBoard();
+        int count = MoveGenerator.generateForced(game, moves);
+        int play = -1;
+        for (int i = 0; i < count; i++) {
+            if (Move.isPlay(moves[i]) && Move.side(moves[i]) == Side.RIGHT) {
+                play = moves[i];
+            }
+        }
+        if (play < 0) {
+            return;
+        }
+        int leftBefore = board.getLeftEnd();
+        Domino tile = Move.tile(play);
+
+        assertTrue(game.makeMove(tile.flip(), Side.RIGHT));
+        assertEquals(leftBefore, game.getBoard().getLeftEnd());
+        assertEquals(tile, game.getBoard().getDomino(game.getBoard().size() - 1));
+    }
+
+    @Test
+    void testIllegalEncodedMoveIsRejected() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(3);
+        long hash = game.getHash();
+        Domino foreign = game.getPlayer(1 - game.getCurrentPlayerIndex()).getHand().get(0);
+
+        assertFalse(game.makeMove(Move.play(foreign, Side.LEFT)));
+        assertFalse(game.makeMove(foreign, Side.RIGHT));
+        assertFalse(game.makeMove(12345));
+        assertEquals(hash, game.getHash());
+    }
+
+    private boolean contains(int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
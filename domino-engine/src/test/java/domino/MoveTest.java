@@ -0,0 +1,47 @@
+package domino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Move - кодирования ходов.
+ */
+class MoveTest {
+
+    @Test
+    void testPlayRoundTrip() {
+        for (int code = 0; code < Domino.CODE_COUNT; code++) {
+            for (Side side : Side.values()) {
+                int move = Move.play(Domino.byCode(code), side);
+
+                assertTrue(Move.isPlay(move));
+                assertFalse(Move.isDraw(move));
+                assertFalse(Move.isPass(move));
+                assertSame(Domino.byCode(code), Move.tile(move));
+                assertEquals(side, Move.side(move));
+            }
+        }
+    }
+
+    @Test
+    void testDrawAndPass() {
+        assertTrue(Move.isDraw(Move.DRAW));
+        assertTrue(Move.isPass(Move.PASS));
+        assertFalse(Move.isPlay(Move.DRAW));
+        assertFalse(Move.isPlay(Move.PASS));
+        assertEquals("[5|3] слева", Move.toString(Move.play(Domino.of(5, 3), Side.LEFT)));
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(Move.isValid(Move.PASS));
+        assertTrue(Move.isValid(Move.DRAW));
+        assertTrue(Move.isValid(Move.play(Domino.byCode(Domino.CODE_COUNT - 1), Side.RIGHT)));
+        assertFalse(Move.isValid(Move.play(Domino.byCode(Domino.CODE_COUNT - 1), Side.RIGHT) + 8));
+        assertFalse(Move.isValid(2050));
+        assertFalse(Move.isValid(-2));
+        assertFalse(Move.isValid(3));
+        assertFalse(Move.isValid(Move.DRAW | 4));
+    }
+}
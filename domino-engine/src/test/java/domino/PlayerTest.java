@@ -2,6 +2,9 @@ package domino;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -56,4 +59,55 @@ class PlayerTest {
 
         assertEquals(19, player.getHandValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPlayableMask() {
+        Domino playable = new Domino(3, 4);
+        Domino other = new Domino(1, 1);
+        player.addDomino(playable);
+        player.addDomino(other);
+
+        assertEquals(1L << playable.getId(), player.getPlayableMask(4, 6));
+        assertEquals(playable, player.findPlayableDomino(6, 3));
+        assertNull(player.findPlayableDomino(5, 6));
+        // пустая доска (концы -1) не дает подходящих костяшек
+        assertFalse(player.hasPlayerDomino(-1, -1));
+    }
+
+    @Test
+    void testHandOrderAndDuplicates() {
+        player.addDomino(new Domino(6, 6));
+        player.addDomino(new Domino(0, 1));
+        player.addDomino(new Domino(6, 6));
+
+        assertEquals(2, player.getHandSize());
+        assertEquals(13, player.getHandValue());
+        assertEquals(Domino.of(0, 1), player.getHand().get(0));
+        assertTrue(player.hasDomino(Domino.of(6, 6)));
+        assertFalse(player.removeDomino(new Domino(2, 2)));
+    }
+
+    @Test
+    void testTilesAboveFirstWord() {
+        Domino high = Domino.of(15, 15);
+        Domino middle = Domino.of(3, 12);
+        player.addDomino(Domino.of(1, 2));
+        player.addDomino(high);
+        player.addDomino(middle);
+
+        assertTrue(high.getId() >= Long.SIZE * 2 && middle.getId() >= Long.SIZE);
+        assertEquals(3, player.getHandSize());
+        assertEquals(48, player.getHandValue());
+        assertTrue(player.hasDomino(middle));
+        assertEquals(middle, player.findPlayableDomino(12, 9));
+        assertEquals(high, player.findPlayableDomino(14, 15));
+        assertEquals(1L << (high.getId() - Long.SIZE * 2), player.getPlayableMask(15, 15, 2));
+        assertEquals(0, player.getPlayableMask(15, 15));
+        assertEquals(List.of(Domino.of(1, 2), middle, high), player.getHand());
+
+        assertTrue(player.removeDomino(high));
+        assertFalse(player.hasPlayerDomino(15, 14));
+        assertTrue(player.removeDomino(middle));
+        assertEquals(1, player.getHandSize());
+    }
+}
@@ -0,0 +1,137 @@
+package domino.actor;
+
+import domino.DominoGame;
+import domino.GameSnapshot;
+import domino.Move;
+import domino.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса GameActor - однопоточного владельца игры.
+ */
+class GameActorTest {
+
+    @Test
+    void testCommandsFromManyThreadsAreSerialized() throws Exception {
+        GameActor actor = new GameActor(startedGame(1));
+        int[] counter = new int[1];
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+
+        ExecutorService senders = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            senders.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    CompletableFuture<Integer> result = actor.ask(game -> {
+                        if (concurrent.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        int value = ++counter[0];
+                        concurrent.decrementAndGet();
+                        return value;
+                    });
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            });
+        }
+        senders.shutdown();
+        assertTrue(senders.awaitTermination(10, TimeUnit.SECONDS));
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals(8_000, counter[0]);
+        assertEquals(0, overlaps.get());
+        assertEquals(8_000, actor.getCommandCount());
+        assertTrue(actor.getBatchCount() <= actor.getCommandCount());
+    }
+
+    @Test
+    void testMovesAndSnapshots() throws Exception {
+        GameActor actor = new GameActor(startedGame(2));
+        List<GameSnapshot> published = new ArrayList<>();
+        actor.subscribe(published::add);
+        GameSnapshot initial = actor.snapshot();
+
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int move = actor.ask(game -> {
+            MoveGenerator.generate(game, moves);
+            return moves[0];
+        }).get();
+        assertTrue(actor.submit(move).get());
+        assertFalse(actor.submit(Move.play(initial.getOpeningDomino(), domino.Side.LEFT)).get());
+
+        GameSnapshot after = actor.snapshot();
+        assertNotEquals(initial.getHash(), after.getHash());
+        assertFalse(published.isEmpty());
+        assertEquals(after.getHash(), published.get(published.size() - 1).getHash());
+    }
+
+    @Test
+    void testFailedCommandDoesNotStopActor() throws Exception {
+        GameActor actor = new GameActor(startedGame(3));
+
+        CompletableFuture<Object> failed = actor.ask(game -> {
+            throw new IllegalStateException("сбой");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+
+        assertEquals(2, actor.ask(DominoGame::getPlayerCount).get());
+    }
+
+    @Test
+    void testFailingSubscriberDoesNotStopActor() throws Exception {
+        GameActor actor = new GameActor(startedGame(5));
+        List<GameSnapshot> published = new CopyOnWriteArrayList<>();
+        actor.subscribe(snapshot -> {
+            throw new IllegalStateException("сбой подписчика");
+        });
+        actor.subscribe(published::add);
+
+        assertEquals(2, actor.ask(DominoGame::getPlayerCount).get(5, TimeUnit.SECONDS));
+        assertTrue(actor.submit(Move.DRAW).get(5, TimeUnit.SECONDS));
+        assertTrue(actor.ask(DominoGame::getPlayerCount).get(5, TimeUnit.SECONDS) > 0);
+        assertFalse(published.isEmpty(), "остальные подписчики получают снимки");
+    }
+
+    @Test
+    void testBatching() throws Exception {
+        // Исполнитель, который копит задачи: все команды успевают попасть в ящик до разбора
+        List<Runnable> pending = new ArrayList<>();
+        GameActor actor = new GameActor(startedGame(4), pending::add, 16);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.add(actor.ask(DominoGame::getPlayerCount));
+        }
+        assertEquals(1, pending.size());
+
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+
+        assertEquals(3, actor.getBatchCount());
+        for (CompletableFuture<Integer> result : results) {
+            assertEquals(2, result.get());
+        }
+    }
+
+    private static DominoGame startedGame(long seed) {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(seed);
+        return game;
+    }
+}
@@ -0,0 +1,82 @@
+package domino.bot;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.Move;
+import domino.MoveGenerator;
+import domino.sim.SimulationStats;
+import domino.sim.Simulator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса IsmctsStrategy - бота на поиске Монте-Карло.
+ */
+class IsmctsStrategyTest {
+
+    @Test
+    void testSearchDoesNotChangeGame() {
+        DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2"));
+        game.startGame(9);
+        String before = game.getBoard() + " " + game.getPlayers() + " " + game.getRemainingDominoes();
+
+        IsmctsStrategy.SearchResult result = new IsmctsStrategy(500).search(game, new SplittableRandom(1));
+
+        assertEquals(before, game.getBoard() + " " + game.getPlayers() + " " + game.getRemainingDominoes());
+        assertEquals(0, game.getHistorySize());
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateForced(game, moves);
+        boolean legal = false;
+        for (int i = 0; i < count; i++) {
+            legal |= moves[i] == result.getBestMove();
+        }
+        assertTrue(legal, "Найденный ход должен быть допустимым: " + Move.toString(result.getBestMove()));
+    }
+
+    @Test
+    void testChooseMoveReturnsSearchedMove() {
+        DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2", "Бот 3"));
+        game.startGame(4);
+        IsmctsStrategy strategy = new IsmctsStrategy(300);
+
+        int move = strategy.chooseMove(game, new SplittableRandom(2));
+
+        // Ход возвращается целиком, вместе с концом цепочки, а не только костяшка
+        assertEquals(strategy.search(game, new SplittableRandom(2)).getBestMove(), move);
+        assertTrue(game.isLegal(move), Move.toString(move));
+    }
+
+    @Test
+    void testStoppedSearchReturnsLegalMove() {
+        DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2"));
+        game.startGame(12);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateForced(game, moves);
+
+        // Без остановки такой поиск шел бы часами
+        IsmctsStrategy.SearchResult result = IsmctsStrategy.allCores(Duration.ofHours(1))
+                .search(game, new SplittableRandom(3), () -> true);
+
+        assertEquals(0, result.getPlayouts());
+        boolean legal = false;
+        for (int m = 0; m < count; m++) {
+            legal |= moves[m] == result.getBestMove();
+        }
+        assertTrue(legal, "Остановленный поиск должен вернуть допустимый ход");
+    }
+
+    @Test
+    void testBeatsRandomStrategy() {
+        Simulator simulator = new Simulator(List.of(new IsmctsStrategy(200), new RandomStrategy()));
+
+        SimulationStats stats = simulator.run(200, 1);
+
+        assertEquals(200, stats.getGames());
+        assertTrue(stats.getWinRate(0) > 0.5, "ISMCTS должен чаще выигрывать: " + stats);
+    }
+}
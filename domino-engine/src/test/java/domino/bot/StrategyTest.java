@@ -0,0 +1,72 @@
+package domino.bot;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.Move;
+import domino.MoveGenerator;
+import domino.Side;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для встроенных стратегий ботов.
+ */
+class StrategyTest {
+
+    @Test
+    void testStrategiesChooseLegalMoves() {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (Strategy strategy : List.of(new RandomStrategy(), new GreedyStrategy())) {
+            DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2", "Бот 3"));
+            game.startGame(7);
+
+            while (!game.isGameOver()) {
+                int move = strategy.chooseMove(game, random);
+                assertTrue(game.isLegal(move), strategy.getName() + ": " + Move.toString(move));
+                // Берут из базара и пасуют, только когда поставить нечего
+                int count = MoveGenerator.generateForced(game, moves);
+                for (int i = 0; i < count && !Move.isPlay(move); i++) {
+                    assertFalse(Move.isPlay(moves[i]), Move.toString(moves[i]));
+                }
+                game.applyMove(move);
+            }
+        }
+    }
+
+    @Test
+    void testRandomStrategyUsesBothEnds() {
+        SplittableRandom random = new SplittableRandom(3);
+        boolean left = false;
+        boolean right = false;
+        for (int seed = 0; seed < 200 && !(left && right); seed++) {
+            DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2"));
+            game.startGame(seed);
+            int move = new RandomStrategy().chooseMove(game, random);
+            left |= Move.isPlay(move) && Move.side(move) == Side.LEFT;
+            right |= Move.isPlay(move) && Move.side(move) == Side.RIGHT;
+        }
+        assertTrue(left && right);
+    }
+
+    @Test
+    void testGreedyPrefersHeaviestDomino() {
+        DominoGame game = new DominoGame(List.of("Бот 1", "Бот 2"));
+        game.startGame();
+        int left = game.getBoard().getLeftEnd();
+        int right = game.getBoard().getRightEnd();
+
+        int move = new GreedyStrategy().chooseMove(game, new SplittableRandom(1));
+
+        assertTrue(game.isLegal(move));
+        for (Domino domino : game.getCurrentPlayer().getHand()) {
+            if (Move.isPlay(move) && (domino.matches(left) || domino.matches(right))) {
+                assertTrue(domino.getValue() <= Move.tile(move).getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package domino.event;
+
+import domino.DominoGame;
+import domino.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса AsyncGameLogger - асинхронного журнала событий.
+ */
+class AsyncGameLoggerTest {
+
+    @Test
+    void testWritesAllEventsOnClose() {
+        StringWriter out = new StringWriter();
+        AsyncGameLogger logger = new AsyncGameLogger(out);
+
+        DominoGame game = new DominoGame(List.of("Анна", "Борис"));
+        game.addListener(logger);
+        game.startGame();
+        for (int turn = 0; turn < 500 && !game.isGameOver(); turn++) {
+            Player player = game.getCurrentPlayer();
+            game.makeMove(player.findPlayableDomino(game.getBoard().getLeftEnd(), game.getBoard().getRightEnd()));
+        }
+        logger.close();
+
+        String text = out.toString();
+        assertTrue(text.contains("Первый ход: "));
+        assertTrue(text.contains("Игра окончена"));
+        assertEquals(0, logger.getDroppedEvents());
+    }
+
+    @Test
+    void testDropsEventsAfterClose() {
+        AsyncGameLogger logger = new AsyncGameLogger(new StringWriter(), 4);
+        logger.close();
+
+        DominoGame game = new DominoGame(List.of("Анна", "Борис"));
+        game.addListener(logger);
+        game.startGame();
+
+        assertEquals(1, logger.getDroppedEvents());
+    }
+
+    @Test
+    void testEventsRacingCloseAreWrittenOrCounted() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        AsyncGameLogger logger = new AsyncGameLogger(out, 1 << 20);
+        DominoGame game = new DominoGame(List.of("Анна", "Борис"));
+        Player player = new Player("Анна");
+        int perThread = 20_000;
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.turnPassed(game, player);
+                }
+            });
+            producers[t].start();
+        }
+        Thread.sleep(5);
+        logger.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        long written = out.toString().lines().count();
+        assertEquals((long) perThread * producers.length, written + logger.getDroppedEvents());
+    }
+
+    @Test
+    void testConcurrentGamesGetDistinctIds() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        AsyncGameLogger logger = new AsyncGameLogger(out);
+        Thread[] tables = new Thread[8];
+        for (int t = 0; t < tables.length; t++) {
+            tables[t] = new Thread(() -> {
+                DominoGame game = new DominoGame(List.of("Анна", "Борис"));
+                game.addListener(logger);
+                game.startGame();
+            });
+            tables[t].start();
+        }
+        for (Thread table : tables) {
+            table.join();
+        }
+        logger.close();
+
+        Set<String> ids = new HashSet<>();
+        out.toString().lines().forEach(line -> ids.add(line.substring(0, line.indexOf(' '))));
+        assertEquals(tables.length, ids.size());
+    }
+
+    @Test
+    void testConcurrentCloseClosesWriterOnce() throws InterruptedException {
+        AtomicInteger closes = new AtomicInteger();
+        StringWriter out = new StringWriter() {
+            @Override
+            public void close() {
+                closes.incrementAndGet();
+            }
+        };
+        AsyncGameLogger logger = new AsyncGameLogger(out);
+        Thread[] closers = new Thread[4];
+        for (int t = 0; t < closers.length; t++) {
+            closers[t] = new Thread(logger::close);
+            closers[t].start();
+        }
+        for (Thread closer : closers) {
+            closer.join();
+        }
+
+        assertEquals(1, closes.get());
+    }
+}
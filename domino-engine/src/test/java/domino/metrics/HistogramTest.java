@@ -0,0 +1,60 @@
+package domino.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Histogram - гистограммы с логарифмическими корзинами.
+ */
+class HistogramTest {
+
+    @Test
+    void testBucketsCoverValuesInOrder() {
+        int previous = -1;
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 1_000_000, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(bucket > previous, "корзины должны расти вместе со значением: " + value);
+            assertTrue(bucket < Histogram.BUCKET_COUNT);
+            assertTrue(Histogram.upperBound(bucket) >= value);
+            previous = bucket;
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    void testRelativeErrorIsBounded() {
+        for (long value = 1; value < 1L << 40; value = value * 3 + 1) {
+            long upper = Histogram.upperBound(Histogram.bucketOf(value));
+            assertTrue(upper - value <= value / Histogram.SUB_BUCKETS, "значение " + value + ", граница " + upper);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram("h", "");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean(), 1e-9);
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / Histogram.SUB_BUCKETS);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / Histogram.SUB_BUCKETS);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertEquals(1000, histogram.getPercentile(0), 1000 / Histogram.SUB_BUCKETS);
+    }
+
+    @Test
+    void testEmptyAndNegative() {
+        Histogram histogram = new Histogram("h", "");
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+}
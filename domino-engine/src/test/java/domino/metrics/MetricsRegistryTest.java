@@ -0,0 +1,96 @@
+package domino.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса MetricsRegistry - реестра и выгрузки метрик.
+ */
+class MetricsRegistryTest {
+
+    @Test
+    void testMetricsAreCreatedOnce() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("c_total", "счетчик");
+        assertSame(counter, registry.counter("c_total", "счетчик"));
+        assertSame(registry.histogram("h", ""), registry.histogram("h", ""));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("c_total", ""));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("h", ""));
+    }
+
+    @Test
+    void testCounterFromManyThreads() throws InterruptedException {
+        Counter counter = new MetricsRegistry().counter("c_total", "");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, counter.get());
+    }
+
+    @Test
+    void testPrometheusText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("moves_total", "Ходы").add(3);
+        registry.histogram("latency_nanos", "Задержка").record(100);
+
+        String text = registry.toText();
+
+        assertTrue(text.contains("# TYPE moves_total counter\nmoves_total 3\n"), text);
+        assertTrue(text.contains("# TYPE latency_nanos summary\n"), text);
+        assertTrue(text.contains("latency_nanos{quantile=\"0.99\"} 100\n"), text);
+        assertTrue(text.contains("latency_nanos_count 1\n"), text);
+        assertTrue(registry.summary().contains("moves_total=3"));
+    }
+
+    @Test
+    void testHttpEndpoint() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("games_total", "Игры").add(7);
+        HttpServer server = registry.serve(0);
+        try {
+            URL url = URI.create("http://localhost:" + server.getAddress().getPort() + "/metrics").toURL();
+            try (InputStream in = url.openStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("games_total 7"), body);
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testReporter() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("games_total", "").increment();
+        BlockingQueue<String> reports = new ArrayBlockingQueue<>(16);
+        ScheduledExecutorService reporter = registry.startReporter(Duration.ofMillis(10), reports::offer);
+        try {
+            assertEquals("games_total=1", reports.poll(5, TimeUnit.SECONDS));
+        } finally {
+            reporter.shutdown();
+        }
+    }
+}
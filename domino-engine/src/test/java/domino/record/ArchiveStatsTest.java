@@ -0,0 +1,133 @@
+package domino.record;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.Move;
+import domino.bot.RandomStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса ArchiveStats - статистики по архиву записей.
+ */
+class ArchiveStatsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStatsMatchPlayedGames() throws IOException {
+        Path file = dir.resolve("games.domr");
+        long draws = 0;
+        long openerWins = 0;
+        long doubleOpenings = 0;
+        long doubleOpenerWins = 0;
+        long blocked = 0;
+        long pipsLeft = 0;
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int seed = 0; seed < 200; seed++) {
+                DominoGame game = GameRecordTest.playedGame(seed, 2 + seed % 2);
+                writer.write(game);
+                for (int move : game.getMoveHistory()) {
+                    if (move == Move.DRAW) {
+                        draws++;
+                    }
+                }
+                boolean openerWon = game.getWinner() == game.getOpener();
+                if (openerWon) {
+                    openerWins++;
+                }
+                if (game.getOpeningDomino().isDouble()) {
+                    doubleOpenings++;
+                    doubleOpenerWins += openerWon ? 1 : 0;
+                }
+                if (game.isBlocked()) {
+                    blocked++;
+                    for (int i = 0; i < game.getPlayerCount(); i++) {
+                        pipsLeft += game.getPlayer(i).getHandValue();
+                    }
+                }
+            }
+        }
+
+        ArchiveStats stats = new ArchiveStats();
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            while (reader.next()) {
+                stats.accept(reader);
+            }
+        }
+
+        assertEquals(200, stats.getGames());
+        assertEquals(draws, stats.getDraws());
+        assertEquals(draws / 200.0, stats.getDrawsPerGame(), 1e-12);
+        assertEquals(openerWins, stats.getOpenerWins());
+        assertEquals(blocked, stats.getBlockedGames());
+        assertEquals(pipsLeft, stats.getBlockedPipsLeft());
+        assertEquals(doubleOpenings, stats.getDoubleOpenings());
+        assertEquals(doubleOpenerWins, stats.getDoubleOpenerWins());
+        assertTrue(doubleOpenings > 0);
+    }
+
+    @Test
+    void testOpenerWithoutDoubles() throws IOException {
+        // В руках нет дублей, старшие костяшки 3|6 и 4|5 равны: открывает первое место
+        List<Domino> rest = new ArrayList<>();
+        for (int i = 0; i < Domino.TILE_COUNT; i++) {
+            rest.add(Domino.byId(i));
+        }
+        List<Domino> top = List.of(Domino.of(3, 6), Domino.of(4, 5), Domino.of(4, 6), Domino.of(5, 6));
+        rest.removeAll(top);
+        List<Domino> small = new ArrayList<>();
+        for (Domino domino : rest) {
+            if (!domino.isDouble() && small.size() < 12) {
+                small.add(domino);
+            }
+        }
+        rest.removeAll(small);
+        List<Domino> deal = new ArrayList<>(small.subList(0, 6));
+        deal.add(top.get(0));
+        deal.addAll(small.subList(6, 12));
+        deal.add(top.get(1));
+        deal.addAll(top.subList(2, 4));
+        deal.addAll(rest);
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(deal);
+        SplittableRandom random = new SplittableRandom(1);
+        RandomStrategy strategy = new RandomStrategy();
+        while (!game.isGameOver()) {
+            game.makeMove(strategy.chooseMove(game, random));
+        }
+        Path file = dir.resolve("no-doubles.domr");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(game);
+        }
+
+        ArchiveStats stats = new ArchiveStats();
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertTrue(reader.next());
+            stats.accept(reader);
+        }
+
+        assertSame(game.getPlayer(0), game.getOpener());
+        assertEquals(0, stats.getDoubleOpenings());
+        assertEquals(game.getWinner() == game.getOpener() ? 1 : 0, stats.getOpenerWins());
+    }
+
+    @Test
+    void testMerge() {
+        ArchiveStats empty = new ArchiveStats();
+        assertEquals(0, empty.getDrawsPerGame());
+        assertEquals(0, empty.getAveragePipsLeftAtBlock());
+
+        assertSame(empty, empty.merge(new ArchiveStats()));
+        assertEquals(0, empty.getGames());
+    }
+}
@@ -0,0 +1,96 @@
+package domino.record;
+
+import domino.DominoGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса GameArchive - параллельного разбора архива записей.
+ */
+class GameArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEveryRecordIsSeenOnce() throws IOException {
+        List<Path> files = List.of(
+                writeGames("a.domr", 0, 300),
+                writeGames("b.domr", 300, 1),
+                writeGames("c.domr", 301, 0),
+                writeGames("d.domr", 301, 500));
+
+        // Маленькие пачки: файлы делятся на много частей
+        List<Long> seeds = new GameArchive(files, 256)
+                .aggregate(ArrayList<Long>::new, (list, record) -> list.add(record.getSeed()), List::addAll);
+
+        Long[] sorted = seeds.toArray(new Long[0]);
+        Arrays.sort(sorted);
+        assertEquals(801, sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+        assertEquals(801, new GameArchive(files).count());
+    }
+
+    @Test
+    void testParallelStatsMatchSequentialReading() throws IOException {
+        Path file = writeGames("games.domr", 0, 400);
+
+        ArchiveStats sequential = new ArchiveStats();
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            while (reader.next()) {
+                sequential.accept(reader);
+            }
+        }
+        ArchiveStats parallel = new GameArchive(List.of(file), 512)
+                .aggregate(ArchiveStats::new, ArchiveStats::accept, ArchiveStats::merge);
+
+        assertEquals(sequential.toString(), parallel.toString());
+        assertEquals(400, parallel.getGames());
+        assertEquals(sequential.getBlockedPipsLeft(), parallel.getBlockedPipsLeft());
+    }
+
+    @Test
+    void testArchiveFromDirectory() throws IOException {
+        writeGames("2.domr", 0, 3);
+        writeGames("1.domr", 3, 2);
+        Files.writeString(dir.resolve("notes.txt"), "не архив");
+
+        GameArchive archive = GameArchive.of(dir);
+
+        assertEquals(List.of(dir.resolve("1.domr"), dir.resolve("2.domr")), archive.getFiles());
+        assertEquals(5, archive.count());
+    }
+
+    @Test
+    void testTruncatedArchiveFails() throws IOException {
+        Path file = writeGames("games.domr", 0, 50);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        Path foreign = Files.writeString(dir.resolve("foreign.domr"), "не архив записей");
+
+        assertThrows(IOException.class, () -> new GameArchive(List.of(file), 256).count());
+        assertThrows(IOException.class, () -> new GameArchive(List.of(foreign)).count());
+    }
+
+    private Path writeGames(String name, int firstSeed, int count) throws IOException {
+        Path file = dir.resolve(name);
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                DominoGame game = GameRecordTest.playedGame(firstSeed + i, 2 + i % 3);
+                writer.write(game);
+            }
+        }
+        return file;
+    }
+}
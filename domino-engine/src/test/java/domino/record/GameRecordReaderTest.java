@@ -0,0 +1,133 @@
+package domino.record;
+
+import domino.DominoGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для классов GameRecordReader и GameRecordWriter - файла записей игр.
+ */
+class GameRecordReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testWriteAndReadBack() throws IOException {
+        Path file = dir.resolve("games.domr");
+        List<DominoGame> games = writeGames(file, 50);
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            for (DominoGame game : games) {
+                assertTrue(reader.next());
+                assertEquals(game.getSeed().getAsLong(), reader.getSeed());
+                assertEquals(2, reader.getPlayerCount());
+                assertEquals(game.getWinnerIndex(), reader.getWinnerSeat());
+                assertEquals(game.getGameOverReason(), reader.getGameOverReason());
+                assertEquals(game.getMoveHistory().length, reader.getMoveCount());
+                assertEquals(game.getHash(), reader.toRecord().toGame().getHash());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void testRecordsAcrossWindows() throws IOException {
+        Path file = dir.resolve("games.domr");
+        List<DominoGame> games = writeGames(file, 200);
+
+        // Окно меньше файла: записи попадают на границы окон
+        try (GameRecordReader reader = new GameRecordReader(file, 200)) {
+            int count = 0;
+            while (reader.next()) {
+                DominoGame game = games.get(count++);
+                assertArrayEquals(movesOf(game), movesOf(reader.toRecord()));
+            }
+            assertEquals(games.size(), count);
+        }
+    }
+
+    @Test
+    void testRecordWithoutSeed() throws IOException {
+        Path file = dir.resolve("games.domr");
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame();
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(game);
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertTrue(reader.next());
+            assertFalse(reader.hasSeed());
+            assertEquals(game.getDeal(), reader.toRecord().getDeal());
+        }
+    }
+
+    @Test
+    void testCompactSize() throws IOException {
+        Path file = dir.resolve("games.domr");
+        writeGames(file, 100);
+
+        // Раздача и заголовок - около 40 байт, плюс байт на ход
+        assertTrue(Files.size(file) < 100 * 100, "размер файла: " + Files.size(file));
+    }
+
+    @Test
+    void testRejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = dir.resolve("foreign.domr");
+        Files.write(foreign, new byte[]{1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> new GameRecordReader(foreign));
+
+        Path file = dir.resolve("games.domr");
+        writeGames(file, 1);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void testAccessBeforeNextFails() throws IOException {
+        Path file = dir.resolve("games.domr");
+        writeGames(file, 1);
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertThrows(IllegalStateException.class, reader::getWinnerSeat);
+        }
+    }
+
+    private static List<DominoGame> writeGames(Path file, int count) throws IOException {
+        List<DominoGame> games = new ArrayList<>();
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                DominoGame game = GameRecordTest.playedGame(i, 2);
+                writer.write(game);
+                games.add(game);
+            }
+            assertEquals(count, writer.getRecordCount());
+        }
+        return games;
+    }
+
+    private static int[] movesOf(DominoGame game) {
+        return movesOf(GameRecord.of(game));
+    }
+
+    private static int[] movesOf(GameRecord record) {
+        int[] codes = new int[record.getMoveCount()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = record.getMoveCode(i);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,122 @@
+package domino.record;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.GameOverReason;
+import domino.Move;
+import domino.Side;
+import domino.bot.RandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса GameRecord - записи одной игры.
+ */
+class GameRecordTest {
+
+    @Test
+    void testToGameRestoresFinishedGame() {
+        DominoGame game = playedGame(5, 3);
+        GameRecord record = GameRecord.of(game);
+
+        DominoGame restored = record.toGame();
+
+        assertEquals(game.getHash(), restored.getHash());
+        assertEquals(game.getBoard().getBoard(), restored.getBoard().getBoard());
+        assertEquals(game.getWinnerIndex(), restored.getWinnerIndex());
+        assertEquals(game.getGameOverReason(), restored.getGameOverReason());
+        assertEquals(record.getWinnerSeat(), game.getWinnerIndex());
+        assertEquals(5, record.getSeed().getAsLong());
+        assertEquals(3, record.getPlayerCount());
+    }
+
+    @Test
+    void testMoveCodesAreSmall() {
+        GameRecord record = GameRecord.of(playedGame(8, 2));
+
+        assertTrue(record.getMoveCount() > 0);
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            assertTrue(record.getMoveCode(i) < 128, "код хода должен помещаться в один байт");
+        }
+    }
+
+    @Test
+    void testEncodeDecodeMove() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(4);
+        List<Integer> moves = new java.util.ArrayList<>(List.of(Move.PASS, Move.DRAW));
+        for (Domino domino : game.getCurrentPlayer().getHand()) {
+            for (Side side : Side.values()) {
+                Domino placed = game.getBoard().fit(domino, side);
+                if (placed != null) {
+                    moves.add(Move.play(placed, side));
+                }
+            }
+        }
+
+        assertTrue(moves.size() > 2);
+        for (int move : moves) {
+            int code = RecordFormat.encodeMove(move);
+            assertEquals(move, RecordFormat.decodeMove(code, game.getBoard()));
+        }
+    }
+
+    @Test
+    void testRecordOfUnstartedGameFails() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.of(game));
+    }
+
+    @Test
+    void testUnfinishedGameHasNoResult() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(6);
+        GameRecord record = GameRecord.of(game);
+
+        assertEquals(-1, record.getWinnerSeat());
+        assertNull(record.getGameOverReason());
+        assertFalse(record.toGame().isGameOver());
+    }
+
+    @Test
+    void testDoubleFifteenRoundTrip() {
+        List<String> names = List.of("Игрок 1", "Игрок 2", "Игрок 3", "Игрок 4", "Игрок 5", "Игрок 6");
+        DominoGame game = new DominoGame(names, 15, 15);
+        game.startGame(15);
+        SplittableRandom random = new SplittableRandom(15);
+        RandomStrategy strategy = new RandomStrategy();
+        while (!game.isGameOver()) {
+            game.makeMove(strategy.chooseMove(game, random));
+        }
+
+        DominoGame restored = GameRecord.of(game).toGame();
+
+        assertEquals(15, restored.getMaxPip());
+        assertEquals(15, restored.getHandSize());
+        assertEquals(game.getHash(), restored.getHash());
+        assertEquals(game.getBoard().getBoard(), restored.getBoard().getBoard());
+        assertEquals(game.getWinnerIndex(), restored.getWinnerIndex());
+    }
+
+    static DominoGame playedGame(long seed, int players) {
+        List<String> names = new java.util.ArrayList<>();
+        for (int i = 1; i <= players; i++) {
+            names.add("Игрок " + i);
+        }
+        DominoGame game = new DominoGame(names);
+        game.startGame(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        RandomStrategy strategy = new RandomStrategy();
+        while (!game.isGameOver()) {
+            game.makeMove(strategy.chooseMove(game, random));
+        }
+        assertNotNull(game.getGameOverReason());
+        assertTrue(game.getGameOverReason() == GameOverReason.EMPTY_HAND || game.isBlocked());
+        return game;
+    }
+}
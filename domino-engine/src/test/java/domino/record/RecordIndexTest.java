@@ -0,0 +1,66 @@
+package domino.record;
+
+import domino.DominoGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса RecordIndex - доступа к записям файла по номеру.
+ */
+class RecordIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordsInAnyOrderMatchGames() throws IOException {
+        Path file = dir.resolve("games.domr");
+        List<DominoGame> games = new ArrayList<>();
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int i = 0; i < 2000; i++) {
+                DominoGame game = GameRecordTest.playedGame(i, 2 + i % 3);
+                games.add(game);
+                writer.write(game);
+            }
+        }
+
+        try (RecordIndex index = new RecordIndex(file)) {
+            assertEquals(2000, index.size());
+            for (int i : new int[] {1999, 0, 1000, 7, 1998}) {
+                GameRecord record = index.get(i);
+                assertEquals(i, record.getSeed().getAsLong());
+                assertEquals(games.get(i).getHash(), record.toGame().getHash());
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> index.get(2000));
+        }
+    }
+
+    @Test
+    void testEmptyAndBrokenFiles() throws IOException {
+        Path empty = dir.resolve("empty.domr");
+        new GameRecordWriter(empty).close();
+        try (RecordIndex index = new RecordIndex(empty)) {
+            assertEquals(0, index.size());
+        }
+
+        Path foreign = Files.writeString(dir.resolve("foreign.domr"), "не архив записей");
+        assertThrows(IOException.class, () -> new RecordIndex(foreign));
+
+        Path truncated = dir.resolve("truncated.domr");
+        try (GameRecordWriter writer = new GameRecordWriter(truncated)) {
+            writer.write(GameRecordTest.playedGame(1, 2));
+        }
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IOException.class, () -> new RecordIndex(truncated));
+    }
+}
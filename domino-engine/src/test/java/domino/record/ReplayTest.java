@@ -0,0 +1,74 @@
+package domino.record;
+
+import domino.DominoGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Replay - воспроизведения записанных игр.
+ */
+class ReplayTest {
+
+    @Test
+    void testPositionAtMatchesSequentialReplay() {
+        GameRecord record = GameRecord.of(GameRecordTest.playedGame(12, 3));
+        long[] hashes = sequentialHashes(record);
+        Replay replay = new Replay(record, 4);
+
+        assertEquals(record.getMoveCount(), replay.getMoveCount());
+        for (int i = 0; i <= replay.getMoveCount(); i++) {
+            assertEquals(hashes[i], replay.positionAt(i).getHash(), "позиция " + i);
+        }
+    }
+
+    @Test
+    void testSeekInRandomOrder() {
+        GameRecord record = GameRecord.of(GameRecordTest.playedGame(13, 2));
+        long[] hashes = sequentialHashes(record);
+        Replay replay = new Replay(record, 5);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(replay.getMoveCount() + 1);
+            assertEquals(hashes[index], replay.seek(index).getHash(), "позиция " + index);
+        }
+        assertTrue(replay.seek(replay.getMoveCount()).isGameOver());
+    }
+
+    @Test
+    void testPositionCopiesAreIndependent() {
+        Replay replay = new Replay(GameRecord.of(GameRecordTest.playedGame(14, 2)));
+        DominoGame first = replay.positionAt(1);
+        long hash = first.getHash();
+
+        first.applyMove(replay.getMove(1));
+
+        assertEquals(hash, replay.positionAt(1).getHash());
+        assertEquals(hash, replay.seek(1).getHash());
+    }
+
+    @Test
+    void testOutOfRange() {
+        Replay replay = new Replay(GameRecord.of(GameRecordTest.playedGame(15, 2)));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.positionAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.seek(replay.getMoveCount() + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.getMove(replay.getMoveCount()));
+        assertThrows(IllegalArgumentException.class, () -> new Replay(GameRecord.of(GameRecordTest.playedGame(15, 2)), 0));
+    }
+
+    //хеши позиций после каждого хода при обычном проигрывании
+    private static long[] sequentialHashes(GameRecord record) {
+        DominoGame game = record.newGame();
+        long[] hashes = new long[record.getMoveCount() + 1];
+        hashes[0] = game.getHash();
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            game.applyMove(RecordFormat.decodeMove(record.getMoveCode(i), game.getBoard()));
+            hashes[i + 1] = game.getHash();
+        }
+        return hashes;
+    }
+}
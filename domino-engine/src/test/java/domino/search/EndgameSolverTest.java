@@ -0,0 +1,88 @@
+package domino.search;
+
+import domino.DominoGame;
+import domino.Move;
+import domino.bot.IsmctsStrategy;
+import domino.bot.RandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса EndgameSolver - точного решения эндшпилей.
+ */
+class EndgameSolverTest {
+
+    @Test
+    void testSolveMatchesBestMoveAndLeavesGameIntact() {
+        DominoGame game = endgame(3);
+        long hash = game.getHash();
+        EndgameSolver solver = new EndgameSolver(new TranspositionTable(4));
+
+        int value = solver.solve(game);
+        EndgameSolver.Solution solution = solver.bestMove(game);
+
+        assertEquals(value, solution.value());
+        assertEquals(hash, game.getHash());
+        assertTrue(solver.getNodes() > 0);
+
+        // После лучшего хода оценка соперника противоположна
+        game.applyMove(solution.move());
+        if (!game.isGameOver() && EndgameSolver.isApplicable(game)) {
+            assertEquals(-value, solver.solve(game));
+        }
+    }
+
+    @Test
+    void testSolverWithoutTableAgrees() {
+        // Маленькая таблица почти ничего не хранит, результат не должен меняться
+        DominoGame game = endgame(8);
+        int withTable = new EndgameSolver(new TranspositionTable(16)).solve(game);
+        int tiny = new EndgameSolver(new TranspositionTable(1)).solve(game);
+
+        assertEquals(withTable, tiny);
+    }
+
+    @Test
+    void testRejectsGamesWithBazaar() {
+        DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+        game.startGame(1);
+
+        assertFalse(EndgameSolver.isApplicable(game));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EndgameSolver(new TranspositionTable(1)).solve(game));
+    }
+
+    @Test
+    void testIsmctsUsesSolverInEndgame() {
+        DominoGame game = endgame(5);
+        EndgameSolver solver = new EndgameSolver(new TranspositionTable(4));
+        IsmctsStrategy strategy = new IsmctsStrategy(100).withEndgameSolver(solver);
+
+        IsmctsStrategy.SearchResult result = strategy.search(game, new SplittableRandom(1));
+
+        assertEquals(0, result.getPlayouts());
+        assertTrue(Move.isPlay(result.getBestMove()) || Move.isPass(result.getBestMove()));
+    }
+
+    /**
+     * Доигрывает случайную партию до пустого базара.
+     */
+    static DominoGame endgame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        while (true) {
+            DominoGame game = new DominoGame(List.of("Игрок 1", "Игрок 2"));
+            game.startGame(random.nextLong());
+            RandomStrategy strategy = new RandomStrategy();
+            while (!game.isGameOver() && !EndgameSolver.isApplicable(game)) {
+                game.makeMove(strategy.chooseMove(game, random));
+            }
+            if (!game.isGameOver()) {
+                return game;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package domino.search;
+
+import domino.DominoGame;
+import domino.bot.RandomStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Tablebase - таблицы эндшпилей.
+ */
+class TablebaseTest {
+    private static Tablebase tablebase;
+
+    @BeforeAll
+    static void generate() {
+        tablebase = Tablebase.generate(5);
+    }
+
+    @Test
+    void testMatchesSolver() {
+        EndgameSolver solver = new EndgameSolver(new TranspositionTable(4));
+        SplittableRandom random = new SplittableRandom(7);
+        int checked = 0;
+        for (long seed = 0; checked < 40; seed++) {
+            DominoGame game = smallEndgame(seed, random);
+            if (game == null) {
+                continue;
+            }
+            assertEquals(solver.solve(game), tablebase.probe(game), "seed " + seed);
+            checked++;
+        }
+    }
+
+    @Test
+    void testSolverUsesTablebase() {
+        DominoGame game = smallEndgame(3, new SplittableRandom(3));
+        int expected = new EndgameSolver(new TranspositionTable(1)).solve(game);
+        EndgameSolver solver = new EndgameSolver(new TranspositionTable(1), tablebase);
+
+        assertEquals(expected, solver.solve(game));
+        assertEquals(1, solver.getNodes());
+    }
+
+    @Test
+    void testWriteAndMap(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("endgames.dtb");
+        tablebase.write(file);
+        Tablebase mapped = Tablebase.map(file);
+
+        assertEquals(tablebase.getMaxTiles(), mapped.getMaxTiles());
+        assertEquals(8 + Tablebase.size(5), Files.size(file));
+        DominoGame game = smallEndgame(11, new SplittableRandom(11));
+        assertEquals(tablebase.probe(game), mapped.probe(game));
+    }
+
+    @Test
+    void testRejectsForeignFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("garbage.dtb");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> Tablebase.map(file));
+    }
+
+    @Test
+    void testDoesNotCoverLargePositions() {
+        DominoGame game = new DominoGame(java.util.List.of("Игрок 1", "Игрок 2"));
+        game.startGame(1);
+
+        assertFalse(tablebase.covers(game));
+        assertThrows(IllegalArgumentException.class, () -> tablebase.probe(game));
+    }
+
+    /**
+     * Случайная партия, доигранная до пустого базара и не больше 5 костяшек в руках,
+     * или null, если игра закончилась раньше.
+     */
+    private static DominoGame smallEndgame(long seed, SplittableRandom random) {
+        DominoGame game = EndgameSolverTest.endgame(seed);
+        RandomStrategy strategy = new RandomStrategy();
+        while (!game.isGameOver() && !tablebase.covers(game)) {
+            game.makeMove(strategy.chooseMove(game, random));
+        }
+        return game.isGameOver() ? null : game;
+    }
+}
@@ -0,0 +1,69 @@
+package domino.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса TranspositionTable - таблицы транспозиций.
+ */
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+        table.store(key, -42, 7, TranspositionTable.LOWER, 1234);
+
+        long entry = table.probe(key);
+        assertNotEquals(TranspositionTable.MISS, entry);
+        assertEquals(-42, TranspositionTable.value(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(1234, TranspositionTable.move(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(key + 1));
+    }
+
+    @Test
+    void testDeepEntrySurvivesShallowStores() {
+        TranspositionTable table = new TranspositionTable(1);
+        long deep = 5;
+        table.store(deep, 1, 20, TranspositionTable.EXACT, -1);
+
+        // Другие ключи той же корзины (одинаковый XOR половин) с меньшей глубиной уходят во вторую ячейку
+        for (long i = 1; i <= 10; i++) {
+            table.store(i << 32 | (deep ^ i), 2, 1, TranspositionTable.EXACT, -1);
+        }
+        assertEquals(2, TranspositionTable.value(table.probe(10L << 32 | (deep ^ 10))));
+
+        assertEquals(20, TranspositionTable.depth(table.probe(deep)));
+        assertEquals(-1, TranspositionTable.move(table.probe(deep)));
+    }
+
+    @Test
+    void testConcurrentStoresNeverReturnForeignData() {
+        TranspositionTable table = new TranspositionTable(1);
+        // Значение записи однозначно выводится из ключа - чужие данные сразу видны
+        new ForkJoinPool(4).submit(() -> IntStream.range(0, 4).parallel().forEach(t -> {
+            SplittableRandom random = new SplittableRandom(t);
+            for (int i = 0; i < 200_000; i++) {
+                long key = random.nextLong();
+                table.store(key, (int) (key & 0x7FFF), 1, TranspositionTable.EXACT, -1);
+                long entry = table.probe(key);
+                if (entry != TranspositionTable.MISS) {
+                    assertEquals((int) (key & 0x7FFF), TranspositionTable.value(entry));
+                }
+            }
+        })).join();
+
+        assertTrue(table.getFillPermille() > 0);
+        table.clear();
+        assertEquals(0, table.getFillPermille());
+    }
+}
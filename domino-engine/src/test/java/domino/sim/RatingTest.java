@@ -0,0 +1,62 @@
+package domino.sim;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Rating - рейтингов Глико и Эло.
+ */
+class RatingTest {
+
+    @Test
+    void testGlickoPaperExample() {
+        // Пример из описания системы Глико (Glickman, "The Glicko system")
+        Rating player = Rating.of(1500, 200);
+        player.addResult(Rating.of(1400, 30), 1);
+        player.addResult(Rating.of(1550, 100), 0);
+        player.addResult(Rating.of(1700, 300), 0);
+        player.endPeriod();
+
+        assertEquals(1464, player.getRating(), 1);
+        assertEquals(151.4, player.getDeviation(), 0.1);
+    }
+
+    @Test
+    void testPeriodWithoutGamesKeepsRating() {
+        Rating rating = new Rating();
+        rating.endPeriod();
+
+        assertEquals(Rating.INITIAL_RATING, rating.getRating());
+        assertEquals(Rating.INITIAL_DEVIATION, rating.getDeviation());
+    }
+
+    @Test
+    void testDeviationShrinksWithGames() {
+        Rating a = new Rating();
+        Rating b = new Rating();
+        for (int period = 0; period < 10; period++) {
+            for (int i = 0; i < 10; i++) {
+                a.addResult(b, 0.5);
+                b.addResult(a, 0.5);
+            }
+            a.endPeriod();
+            b.endPeriod();
+        }
+
+        assertEquals(Rating.INITIAL_RATING, a.getRating(), 1e-9);
+        assertTrue(a.getDeviation() < 100);
+        assertTrue(a.getLowerBound() < a.getRating() && a.getRating() < a.getUpperBound());
+    }
+
+    @Test
+    void testEloIsZeroSum() {
+        Rating a = new Rating();
+        Rating b = new Rating();
+
+        Rating.updateElo(a, b, 1);
+
+        assertEquals(Rating.INITIAL_RATING + Rating.ELO_K / 2, a.getElo(), 1e-9);
+        assertEquals(2 * Rating.INITIAL_RATING, a.getElo() + b.getElo(), 1e-9);
+    }
+}
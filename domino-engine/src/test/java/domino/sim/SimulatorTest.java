@@ -0,0 +1,78 @@
+package domino.sim;
+
+import domino.bot.GreedyStrategy;
+import domino.bot.RandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Simulator - массовой симуляции игр.
+ */
+class SimulatorTest {
+
+    @Test
+    void testRunCountsEveryGame() {
+        Simulator simulator = new Simulator(List.of(new RandomStrategy(), new GreedyStrategy()));
+
+        SimulationStats stats = simulator.run(600);
+
+        assertEquals(600, stats.getGames());
+        assertEquals(0, stats.getUnfinishedGames(), "Все игры должны заканчиваться по правилам");
+        // У каждой законченной игры есть победитель
+        assertEquals(600, stats.getWins(0) + stats.getWins(1));
+        assertTrue(stats.getAverageTurns() > 0);
+        assertTrue(stats.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    void testPlayGameInCurrentThread() {
+        Simulator simulator = new Simulator(List.of(new GreedyStrategy(), new GreedyStrategy(), new RandomStrategy()));
+        SimulationStats stats = new SimulationStats(List.of("a", "b", "c"));
+
+        simulator.playGame(1, stats);
+
+        assertEquals(1, stats.getGames());
+    }
+
+    @Test
+    void testMergeStats() {
+        SimulationStats first = new SimulationStats(List.of("a", "b"));
+        SimulationStats second = new SimulationStats(List.of("a", "b"));
+        first.record(0, 10, false, true, 1);
+        second.record(1, 20, true, true, 2);
+
+        first.merge(second);
+
+        assertEquals(2, first.getGames());
+        assertEquals(15.0, first.getAverageTurns());
+        assertEquals(0.5, first.getBlockedRate());
+        assertEquals(0.5, first.getWinRate(1));
+        assertEquals(2, first.getLongestGameSeed());
+    }
+
+    @Test
+    void testSeriesIsReproducible() {
+        Simulator simulator = new Simulator(List.of(new RandomStrategy(), new RandomStrategy()));
+
+        SimulationStats first = simulator.run(1000, 42);
+        SimulationStats second = simulator.run(1000, 42);
+
+        assertEquals(first.getWins(0), second.getWins(0));
+        assertEquals(first.getBlockedGames(), second.getBlockedGames());
+        assertEquals(first.getAverageTurns(), second.getAverageTurns());
+        assertEquals(first.getLongestGameSeed(), second.getLongestGameSeed());
+
+        // Самую длинную игру можно переиграть по ее зерну
+        SimulationStats replay = new SimulationStats(List.of("a", "b"));
+        simulator.playGame(first.getLongestGameSeed(), replay);
+        assertEquals(first.getLongestGameTurns(), replay.getLongestGameTurns());
+    }
+
+    @Test
+    void testTooFewSeats() {
+        assertThrows(IllegalArgumentException.class, () -> new Simulator(List.of(new RandomStrategy())));
+    }
+}
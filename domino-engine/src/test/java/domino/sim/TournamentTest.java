@@ -0,0 +1,148 @@
+package domino.sim;
+
+import domino.Move;
+import domino.bot.GreedyStrategy;
+import domino.bot.RandomStrategy;
+import domino.bot.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса Tournament - турнира стратегий с рейтингами.
+ */
+class TournamentTest {
+    // Никогда не ставит костяшку сама: только берет из базара
+    private static final Strategy DRAWER = new Strategy() {
+        @Override
+        public int chooseMove(domino.DominoGame game, java.util.random.RandomGenerator random) {
+            return game.getDrawnDomino() == null && game.getRemainingDominoes() > 0 ? Move.DRAW : Move.PASS;
+        }
+
+        @Override
+        public String getName() {
+            return "drawer";
+        }
+    };
+
+    @Test
+    void testRoundRobinCoversEveryPairOncePerCycle() {
+        for (int n = 2; n <= 7; n++) {
+            Set<Long> pairs = new HashSet<>();
+            int rounds = n - 1 + (n & 1);
+            for (int round = 0; round < rounds; round++) {
+                Set<Integer> busy = new HashSet<>();
+                for (int[] pair : Tournament.roundRobinPairs(n, round)) {
+                    assertTrue(busy.add(pair[0]) && busy.add(pair[1]), "участник играет дважды за тур");
+                    assertTrue(pairs.add((long) Math.min(pair[0], pair[1]) << 32 | Math.max(pair[0], pair[1])));
+                }
+            }
+            assertEquals(n * (n - 1) / 2, pairs.size());
+        }
+    }
+
+    @Test
+    void testSwissPairsNeighboursWithoutRepeats() {
+        Rating[] ratings = {Rating.of(1500, 100), Rating.of(1700, 100), Rating.of(1600, 100), Rating.of(1400, 100)};
+        int[][] meetings = new int[4][4];
+
+        List<int[]> pairs = Tournament.swissPairs(ratings, meetings);
+        assertArrayEquals(new int[]{1, 2}, pairs.get(0));
+        assertArrayEquals(new int[]{0, 3}, pairs.get(1));
+
+        meetings[1][2] = meetings[2][1] = 1;
+        pairs = Tournament.swissPairs(ratings, meetings);
+        assertArrayEquals(new int[]{1, 0}, pairs.get(0));
+        assertArrayEquals(new int[]{2, 3}, pairs.get(1));
+
+        // При нечетном числе последний пропускает тур
+        assertEquals(1, Tournament.swissPairs(new Rating[]{new Rating(), new Rating(), new Rating()},
+                new int[3][3]).size());
+    }
+
+    @Test
+    void testDuplicateDealsCancelLuck() {
+        // Одинаковые стратегии на одинаковых раздачах с обменом мест набирают ровно поровну
+        Standings standings = new Tournament(List.of(new RandomStrategy(), new RandomStrategy()))
+                .withDealsPerMatch(20)
+                .run(3, 7);
+
+        for (Standings.Entry entry : standings.getEntries()) {
+            assertEquals(120, entry.games());
+            assertEquals(0.5, entry.getScoreRate(), 1e-9);
+            assertEquals(Rating.INITIAL_RATING, entry.rating(), 1e-6);
+        }
+        assertEquals(120, standings.getGames());
+    }
+
+    @Test
+    void testStrongerStrategyLeadsAndResultsStream() {
+        List<Standings> rounds = new ArrayList<>();
+        Tournament tournament = new Tournament(List.of(DRAWER, new GreedyStrategy(), new RandomStrategy()))
+                .withDealsPerMatch(64);
+
+        Standings result = tournament.run(6, 42, rounds::add);
+
+        assertEquals(6, rounds.size());
+        assertSame(result, rounds.get(5));
+        assertFalse(result.isConverged());
+        assertEquals("1. drawer", result.getEntries().get(2).name());
+        assertTrue(result.getEntries().get(0).getLowerBound() > result.getEntries().get(2).getUpperBound());
+        assertTrue(result.getEntries().get(0).elo() > result.getEntries().get(2).elo());
+        // Отклонения рейтингов уменьшаются от тура к туру
+        assertTrue(rounds.get(5).getLeader().deviation() < rounds.get(0).getLeader().deviation());
+    }
+
+    @Test
+    void testSameSeedGivesSameResult() {
+        Tournament tournament = new Tournament(List.of(new GreedyStrategy(), new RandomStrategy(), DRAWER))
+                .withPairing(Tournament.Pairing.SWISS)
+                .withDealsPerMatch(8);
+
+        assertEquals(tournament.run(4, 5).getEntries(), tournament.run(4, 5).getEntries());
+    }
+
+    @Test
+    void testGamesMatchSimulator() {
+        Strategy greedy = new GreedyStrategy();
+        Strategy random = new RandomStrategy();
+        Tournament tournament = new Tournament(List.of(greedy, random));
+        Simulator simulator = new Simulator(List.of(greedy, random));
+        for (long seed = 0; seed < 50; seed++) {
+            SimulationStats stats = new SimulationStats(List.of("1", "2"));
+            simulator.playGame(seed, stats);
+            int winner = tournament.playGame(greedy, random, seed);
+            assertEquals(winner < 0 ? 0 : 1, stats.getWins(0) + stats.getWins(1), "зерно " + seed);
+            if (winner >= 0) {
+                assertEquals(1, stats.getWins(winner), "зерно " + seed);
+            }
+        }
+    }
+
+    @Test
+    void testStopsWhenRatingsConverge() {
+        Standings result = new Tournament(List.of(new GreedyStrategy(), DRAWER))
+                .withDealsPerMatch(32)
+                .withConvergence(120)
+                .run(1000, 3);
+
+        assertTrue(result.isConverged());
+        assertTrue(result.getRound() < 1000);
+        for (Standings.Entry entry : result.getEntries()) {
+            assertTrue(entry.deviation() <= 120);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(List.of(new GreedyStrategy())));
+        Tournament tournament = new Tournament(List.of(new GreedyStrategy(), DRAWER));
+        assertThrows(IllegalArgumentException.class, () -> tournament.withDealsPerMatch(0));
+        assertThrows(IllegalArgumentException.class, () -> tournament.run(0, 1));
+    }
+}
@@ -0,0 +1,180 @@
+package domino.gui;
+
+import domino.Domino;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+
+/**
+ * Игровая доска: цепочка костяшек, нарисованная готовыми изображениями {@link TileImages}.
+ * <p>
+ * Костяшки раскладываются по ячейкам строками слева направо и переносятся на следующую
+ * строку по ширине окна; по высоте доска прокручивается. Номер ячейки отсчитывается
+ * от первой сыгранной костяшки, поэтому ход на любой конец цепочки не сдвигает
+ * остальные костяшки, и после хода перерисовываются только изменившиеся ячейки.
+ * Вся доска перерисовывается, лишь когда цепочка начинает новую строку сверху.
+ */
+final class BoardView extends JComponent implements Scrollable {
+    private static final int MARGIN = 10;
+    private static final int GAP = 6;
+    // Слева от первой костяшки может лечь не больше MAX_TILE_COUNT - 1 костяшек, справа - столько же;
+    // так доска вмещает цепочку любого набора, вплоть до дубль-пятнадцать
+    private static final int ORIGIN = Domino.MAX_TILE_COUNT - 1;
+    private static final int SLOT_COUNT = 2 * Domino.MAX_TILE_COUNT - 1;
+    private static final Font PLACEHOLDER_FONT = new Font("Arial", Font.ITALIC, 14);
+
+    private final TileImages images;
+    private final Domino[] slots = new Domino[SLOT_COUNT];
+    // Занятые ячейки: от first до last включительно; пустая доска - first > last
+    private int first = ORIGIN;
+    private int last = ORIGIN - 1;
+    private String placeholder = "Доска пуста. Начните новую игру!";
+
+    BoardView(TileImages images, Color background) {
+        this.images = images;
+        setBackground(background);
+        setOpaque(true);
+    }
+
+    /**
+     * Показывает цепочку.
+     *
+     * @param chain        костяшки слева направо в том виде, в каком они лежат
+     * @param openingIndex позиция первой сыгранной костяшки в цепочке
+     */
+    void setChain(List<Domino> chain, int openingIndex) {
+        int columns = columns();
+        int oldFirstRow = first / columns;
+        int oldRows = rows(columns);
+        int newFirst = ORIGIN - openingIndex;
+        int newLast = newFirst + chain.size() - 1;
+
+        Rectangle changed = null;
+        for (int slot = Math.min(first, newFirst); slot <= Math.max(last, newLast); slot++) {
+            Domino tile = slot >= newFirst && slot <= newLast ? chain.get(slot - newFirst) : null;
+            Domino old = slots[slot];
+            if (tile == old || tile != null && old != null && tile.getCode() == old.getCode()) {
+                continue;
+            }
+            slots[slot] = tile;
+            Rectangle cell = cellBounds(slot, columns, oldFirstRow);
+            changed = changed == null ? cell : changed.union(cell);
+        }
+        boolean wasEmpty = first > last;
+        first = newFirst;
+        last = newLast;
+
+        if (first / columns != oldFirstRow || wasEmpty != (first > last)) {
+            // Цепочка сдвинулась по вертикали или появилась/исчезла надпись - перерисовать все
+            revalidate();
+            repaint();
+        } else if (changed != null) {
+            if (rows(columns) != oldRows) {
+                revalidate();
+            }
+            repaint(changed);
+            scrollRectToVisible(changed);
+        }
+    }
+
+    //позиция первой сыгранной костяшки в цепочке: от нее доска отсчитывает ячейки
+    static int openingIndex(List<Domino> chain, Domino opening) {
+        for (int i = 0; opening != null && i < chain.size(); i++) {
+            if (chain.get(i).isSameTile(opening)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    void clear(String placeholder) {
+        this.placeholder = placeholder;
+        setChain(List.of(), 0);
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        if (first > last) {
+            g.setColor(Color.DARK_GRAY);
+            g.setFont(PLACEHOLDER_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            g.drawString(placeholder, (getWidth() - metrics.stringWidth(placeholder)) / 2,
+                    MARGIN + metrics.getAscent());
+            return;
+        }
+        int columns = columns();
+        int firstRow = first / columns;
+        for (int slot = first; slot <= last; slot++) {
+            Rectangle cell = cellBounds(slot, columns, firstRow);
+            if (cell.intersects(clip)) {
+                g.drawImage(images.get(slots[slot], false), cell.x, cell.y, null);
+            }
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int columns = columns();
+        int rows = Math.max(1, rows(columns));
+        int width = 2 * MARGIN + columns * (images.getWidth() + GAP) - GAP;
+        return new Dimension(width, 2 * MARGIN + rows * (images.getHeight() + GAP) - GAP);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return images.getHeight() + GAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(visibleRect.height - images.getHeight(), images.getHeight());
+    }
+
+    //строки переносятся по ширине окна, поэтому прокрутка только по вертикали
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    private int columns() {
+        int width = getParent() instanceof JViewport viewport ? viewport.getWidth() : getWidth();
+        return Math.max(1, (width - 2 * MARGIN + GAP) / (images.getWidth() + GAP));
+    }
+
+    private int rows(int columns) {
+        return first > last ? 0 : last / columns - first / columns + 1;
+    }
+
+    private Rectangle cellBounds(int slot, int columns, int firstRow) {
+        int row = slot / columns - firstRow;
+        int column = slot % columns;
+        return new Rectangle(MARGIN + column * (images.getWidth() + GAP), MARGIN + row * (images.getHeight() + GAP),
+                images.getWidth(), images.getHeight());
+    }
+}
@@ -1,26 +1,45 @@
 package domino.gui;
 
 import domino.*;
+import domino.bot.IsmctsStrategy;
 import javax.swing.*;
 import java.awt.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class DominoGui {
     private DominoGame game;
     private JFrame frame;
     private JLabel statusLabel;
-    private JPanel boardPanel;
-    private JPanel playerHandPanel;
+    private BoardView boardView;
+    private HandView handView;
     private JTextArea gameInfoArea;
-    private JButton[] dominoButtons;
     private Player currentPlayer;
+    private JCheckBox computerOpponentBox;
+    private JButton playBtn;
+    private JButton takeFromBankBtn;
+    private JButton passBtn;
+    private JButton hintBtn;
+    private JButton stopBtn;
+    private JSpinner thinkSecondsSpinner;
+    private JProgressBar thinkingBar;
+
+    // Компьютерный соперник занимает место второго игрока, человек - первого
+    private static final int HUMAN_SEAT = 0;
+    private static final int COMPUTER_SEAT = 1;
+    private final SplittableRandom computerRandom = new SplittableRandom();
+    // Идущий в фоне поиск хода компьютера или подсказки, null - никто не думает
+    private SearchWorker search;
 
     // Цвета для оформления
-    private static final Color DOMINO_BG = new Color(255, 250, 240);
-    private static final Color DOMINO_DOT = new Color(40, 40, 40);
     private static final Color BUTTON_COLOR = new Color(70, 130, 180);
     private static final Color BOARD_COLOR = new Color(240, 248, 255);
+    private static final Color HAND_COLOR = new Color(245, 245, 245);
+
+    // Изображения костяшек рисуются один раз и переиспользуются доской и рукой
+    private final TileImages tileImages = new TileImages(40);
 
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new DominoGui().createAndShowGUI());
@@ -47,15 +66,16 @@ public class DominoGui {
         JPanel topPanel = createTopPanel();
 
         // Центральная панель - игровая доска
-        boardPanel = createBoardPanel();
-        JScrollPane boardScroll = new JScrollPane(boardPanel);
+        boardView = new BoardView(tileImages, BOARD_COLOR);
+        JScrollPane boardScroll = new JScrollPane(boardView);
         boardScroll.setBorder(BorderFactory.createTitledBorder("Игровая доска"));
-        boardScroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_ALWAYS);
+        boardScroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         boardScroll.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        boardScroll.getViewport().setBackground(BOARD_COLOR);
 
         // Панель руки игрока (с костяшками)
-        playerHandPanel = createPlayerHandPanel();
-        JScrollPane handScroll = new JScrollPane(playerHandPanel);
+        handView = new HandView(tileImages, HAND_COLOR);
+        JScrollPane handScroll = new JScrollPane(handView);
         handScroll.setBorder(BorderFactory.createTitledBorder("Ваши костяшки"));
 
         // Панель информации
@@ -107,43 +127,45 @@ public class DominoGui {
         return panel;
     }
 
-    private JPanel createBoardPanel() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
-        panel.setBackground(BOARD_COLOR);
-        panel.setPreferredSize(new Dimension(1250, 200));
-
-        JLabel placeholder = new JLabel("Доска пуста. Начните новую игру!");
-        placeholder.setFont(new Font("Arial", Font.ITALIC, 14));
-        panel.add(placeholder);
-
-        return panel;
-    }
-
-    private JPanel createPlayerHandPanel() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
-        panel.setBackground(new Color(245, 245, 245));
-
-        JLabel placeholder = new JLabel("Нет активной игры");
-        placeholder.setFont(new Font("Arial", Font.ITALIC, 14));
-        panel.add(placeholder);
-
-        return panel;
-    }
-
     private JPanel createControlPanel() {
-        JPanel panel = new JPanel(new GridLayout(1, 5, 10, 0));
-
-        JButton playBtn = createControlButton("Сыграть", e -> playSelectedDomino());
-        JButton takeFromBankBtn = createControlButton("Взять", e -> takeFromBank());
-        JButton passBtn = createControlButton("Пас", e -> passTurn());
+        JPanel panel = new JPanel(new GridLayout(2, 6, 10, 5));
+
+        playBtn = createControlButton("Сыграть", e -> playSelectedDomino());
+        takeFromBankBtn = createControlButton("Взять", e -> takeFromBank());
+        passBtn = createControlButton("Пас", e -> passTurn());
+        hintBtn = createControlButton("Подсказка", e -> suggestMove());
+        stopBtn = createControlButton("Стоп", e -> finishSearch());
+        stopBtn.setEnabled(false);
         JButton newGameBtn = createControlButton("Новая", e -> initializeNewGame());
         JButton rulesBtn = createControlButton("Правила", e -> showRules());
+        JButton replayBtn = createControlButton("Повтор", e -> ReplayViewer.open(frame));
 
         panel.add(playBtn);
         panel.add(takeFromBankBtn);
         panel.add(passBtn);
+        panel.add(hintBtn);
+        panel.add(stopBtn);
         panel.add(newGameBtn);
         panel.add(rulesBtn);
+        panel.add(replayBtn);
+
+        computerOpponentBox = new JCheckBox("Против компьютера");
+        computerOpponentBox.setFont(new Font("Arial", Font.BOLD, 14));
+        computerOpponentBox.setFocusPainted(false);
+        computerOpponentBox.addActionListener(e -> computerOpponentChanged());
+        panel.add(computerOpponentBox);
+
+        // Бюджет времени на ход компьютера и на подсказку
+        thinkSecondsSpinner = new JSpinner(new SpinnerNumberModel(2.0, 0.5, 30.0, 0.5));
+        JPanel budgetPanel = new JPanel(new BorderLayout(5, 0));
+        budgetPanel.add(new JLabel("Секунд на ход:"), BorderLayout.WEST);
+        budgetPanel.add(thinkSecondsSpinner, BorderLayout.CENTER);
+        panel.add(budgetPanel);
+
+        thinkingBar = new JProgressBar(0, 100);
+        thinkingBar.setStringPainted(true);
+        thinkingBar.setString("");
+        panel.add(thinkingBar);
 
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         return panel;
@@ -163,12 +185,14 @@ public class DominoGui {
         // Всегда 2 игрока
         List<String> playerNames = Arrays.asList("Игрок 1", "Игрок 2");
 
+        cancelSearch();
         try {
             game = new DominoGame(playerNames);
             game.startGame();
             currentPlayer = game.getCurrentPlayer();
 
             updateStatus("Игра началась! Ходит: " + currentPlayer.getName());
+            playComputerTurns();
             updateGameDisplay();
 
         } catch (Exception e) {
@@ -191,101 +215,25 @@ public class DominoGui {
     }
 
     private void updateBoardDisplay() {
-        boardPanel.removeAll();
-
-        if (game == null || game.getBoard() == null) {
-            JLabel placeholder = new JLabel("Доска пуста. Начните новую игру!");
-            placeholder.setFont(new Font("Arial", Font.ITALIC, 14));
-            boardPanel.add(placeholder);
-        } else {
-            JLabel boardLabel = new JLabel(game.getBoard().toString());
-            boardLabel.setFont(new Font("Arial", Font.BOLD, 16));
-            boardPanel.add(boardLabel);
+        if (game == null) {
+            boardView.clear("Доска пуста. Начните новую игру!");
+            return;
         }
-
-        boardPanel.revalidate();
-        boardPanel.repaint();
+        List<Domino> chain = game.getBoard().getChain();
+        boardView.setChain(chain, BoardView.openingIndex(chain, game.getOpeningDomino()));
     }
 
     private void updatePlayerHandDisplay() {
-        playerHandPanel.removeAll();
-
-        if (currentPlayer == null || currentPlayer.getHand() == null) {
-            JLabel placeholder = new JLabel("Нет активной игры");
-            placeholder.setFont(new Font("Arial", Font.ITALIC, 14));
-            playerHandPanel.add(placeholder);
+        // Против компьютера всегда видна рука человека, в том числе пока компьютер думает
+        Player shown = computerOpponentBox.isSelected() && game != null
+                ? game.getPlayers().get(HUMAN_SEAT) : currentPlayer;
+        if (shown == null) {
+            handView.clear("Нет активной игры");
+        } else if (shown.getHandSize() == 0) {
+            handView.clear("У вас нет костяшек!");
         } else {
-            List<Domino> hand = currentPlayer.getHand();
-
-            if (hand.isEmpty()) {
-                JLabel emptyLabel = new JLabel("У вас нет костяшек!");
-                emptyLabel.setFont(new Font("Arial", Font.ITALIC, 14));
-                playerHandPanel.add(emptyLabel);
-            } else {
-                dominoButtons = new JButton[hand.size()];
-
-                for (int i = 0; i < hand.size(); i++) {
-                    Domino domino = hand.get(i);
-                    JButton dominoButton = createDominoButton(domino, i);
-                    dominoButtons[i] = dominoButton;
-                    playerHandPanel.add(dominoButton);
-                }
-            }
-        }
-
-        playerHandPanel.revalidate();
-        playerHandPanel.repaint();
-    }
-
-    private JButton createDominoButton(Domino domino, int index) {
-        //кнопка-костяшка
-        JButton button = new JButton(createDominoText(domino));
-        button.setFont(new Font("Arial", Font.BOLD, 18));
-        button.setBackground(DOMINO_BG);
-        button.setForeground(DOMINO_DOT);
-        button.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(Color.DARK_GRAY, 2),
-                BorderFactory.createEmptyBorder(10, 20, 10, 20)
-        ));
-        button.setPreferredSize(new Dimension(120, 60));
-
-        // Сохраняем индекс костяшки в кнопке
-        button.putClientProperty("dominoIndex", index);
-        button.putClientProperty("domino", domino);
-
-        // Добавляем всплывающую подсказку
-        button.setToolTipText("Костяшка " + domino + " (клик для выбора)");
-
-        // Выделяем выбранную костяшку
-        button.addActionListener(e -> selectDominoButton(button));
-
-        return button;
-    }
-
-    private void selectDominoButton(JButton selectedButton) {
-        // Снимаем выделение со всех кнопок
-        if (dominoButtons != null) {
-            for (JButton btn : dominoButtons) {
-                if (btn != null) {
-                    btn.setBorder(BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(Color.DARK_GRAY, 2),
-                            BorderFactory.createEmptyBorder(10, 20, 10, 20)
-                    ));
-                    btn.putClientProperty("selected", false);
-                }
-            }
+            handView.setHand(shown.getHand());
         }
-
-        // Выделяем текущую
-        selectedButton.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(Color.RED, 3),
-                BorderFactory.createEmptyBorder(10, 20, 10, 20)
-        ));
-        selectedButton.putClientProperty("selected", true);
-    }
-
-    private String createDominoText(Domino domino) {
-        return String.format("[%d|%d]", domino.getLeft(), domino.getRight());
     }
 
     private void playSelectedDomino() {
@@ -306,16 +254,29 @@ public class DominoGui {
             return;
         }
 
+        // Костяшку, которая подходит к обоим концам, игрок ставит на выбранный конец
+        DominoBoard board = game.getBoard();
+        boolean fitsLeft = board.fit(selectedDomino, Side.LEFT) != null;
+        boolean fitsRight = board.fit(selectedDomino, Side.RIGHT) != null;
+        Side side = fitsLeft ? Side.LEFT : Side.RIGHT;
+        if (fitsLeft && fitsRight && board.getLeftEnd() != board.getRightEnd()) {
+            side = chooseSide(selectedDomino);
+            if (side == null) {
+                return;
+            }
+        }
+
         // Запоминаем кто ходил
         Player playerBefore = currentPlayer;
 
         // Делаем ход
-        boolean moveSuccess = game.makeMove(selectedDomino);
+        boolean moveSuccess = game.makeMove(selectedDomino, side);
 
         currentPlayer = game.getCurrentPlayer();
 
         if (moveSuccess) {
-            updateStatus(playerBefore.getName() + " сыграл " + selectedDomino);
+            updateStatus(playerBefore.getName() + " сыграл " + selectedDomino
+                    + (side == Side.LEFT ? " слева" : " справа"));
 
             if (game.isGameOver()) {
                 Player winner = game.getWinner();
@@ -326,12 +287,15 @@ public class DominoGui {
                 updateStatus("Игра окончена! Победитель: " + winner.getName());
             } else {
                 updateStatus("Теперь ходит: " + currentPlayer.getName());
+                playComputerTurns();
             }
         } else {
             updateStatus("Нельзя сыграть " + selectedDomino);
+            String hint = game.getDrawnDomino() != null
+                    ? "После взятия из базара можно сыграть только взятую костяшку или пропустить ход."
+                    : "Попробуйте другую костяшку или возьмите из базара.";
             JOptionPane.showMessageDialog(frame,
-                    "Эту костяшку нельзя сыграть сейчас!\n" +
-                            "Попробуйте другую костяшку или возьмите из базара.",
+                    "Эту костяшку нельзя сыграть сейчас!\n" + hint,
                     "Невозможный ход",
                     JOptionPane.WARNING_MESSAGE);
         }
@@ -339,14 +303,22 @@ public class DominoGui {
         updateGameDisplay();
     }
     private Domino findSelectedDomino() {
-        if (dominoButtons == null) return null;
+        return handView.getSelected();
+    }
 
-        for (JButton button : dominoButtons) {
-            if (button != null && Boolean.TRUE.equals(button.getClientProperty("selected"))) {
-                return (Domino) button.getClientProperty("domino");
-            }
-        }
-        return null;
+    //спрашивает, на какой конец поставить костяшку; null, если игрок передумал
+    private Side chooseSide(Domino domino) {
+        DominoBoard board = game.getBoard();
+        String[] options = {"Слева (к " + board.getLeftEnd() + ")", "Справа (к " + board.getRightEnd() + ")"};
+        int choice = JOptionPane.showOptionDialog(frame,
+                domino + " подходит к обоим концам. Куда поставить?",
+                "Выбор конца",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options[0]);
+        return choice < 0 ? null : choice == 0 ? Side.LEFT : Side.RIGHT;
     }
 
     private void takeFromBank() {
@@ -358,25 +330,22 @@ public class DominoGui {
             return;
         }
 
-        // 1. Запоминаем, кто брал из базара
-        Player playerBefore = currentPlayer;
-        String playerNameBefore = playerBefore.getName();
-
-        // 2. Выполняем ход "взять из базара"
-        boolean couldPlayDrawnDomino = game.makeMove(null);
-
-        // 3. ВАЖНО: Обновляем currentPlayer из движка
-        currentPlayer = game.getCurrentPlayer();
-
-        // 4. Отображаем что произошло
-        if (couldPlayDrawnDomino) {
-            updateStatus(playerNameBefore + " взял и сразу сыграл костяшкой из базара");
-        } else {
-            // Если не смог сыграть взятой костяшкой
-            updateStatus(playerNameBefore + " взял костяшку, ход перешел к " + currentPlayer.getName());
+        // Взятие - отдельный ход: затем игрок сам решает, ставить ли взятую костяшку и куда
+        if (!game.makeMove(Move.DRAW)) {
+            String reason = game.isGameOver() ? "Игра окончена!"
+                    : game.getRemainingDominoes() == 0 ? "Базар пуст!"
+                    : "Из базара за ход можно взять только одну костяшку!";
+            JOptionPane.showMessageDialog(frame,
+                    reason,
+                    "Невозможный ход",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
         }
-
+        Domino drawn = game.getDrawnDomino();
+        updateStatus(currentPlayer.getName() + " взял из базара " + drawn
+                + ": сыграйте ее или пропустите ход");
         updateGameDisplay();
+        handView.select(drawn);
     }
     private void passTurn() {
         if (game == null) {
@@ -389,13 +358,122 @@ public class DominoGui {
 
         Player playerBefore = currentPlayer;
 
-        game.makeMove(null); // Пас
+        if (!game.makeMove(Move.PASS)) {
+            JOptionPane.showMessageDialog(frame,
+                    "Пропустить ход можно только после взятия из базара\n"
+                            + "или когда базар пуст и ходить нечем.",
+                    "Невозможный ход",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
 
         // ВАЖНО: Обновляем currentPlayer из движка
         currentPlayer = game.getCurrentPlayer();
 
         updateStatus(playerBefore.getName() + " пропустил ход. Теперь ходит: " + currentPlayer.getName());
+        playComputerTurns();
+        updateGameDisplay();
+    }
+
+    private boolean isComputerTurn() {
+        return computerOpponentBox.isSelected()
+                && game != null && !game.isGameOver()
+                && game.getCurrentPlayerIndex() == COMPUTER_SEAT;
+    }
+
+    /**
+     * Запускает поиск хода компьютера в фоне. Ход делается в потоке событий, когда
+     * поиск закончится, после чего, если компьютер ходит снова (например, после
+     * взятия из базара), запускается следующий поиск.
+     */
+    private void playComputerTurns() {
+        if (!isComputerTurn() || search != null) {
+            return;
+        }
+        startSearch("Компьютер думает...", result -> {
+            int move = result.getBestMove();
+            game.makeMove(move);
+            currentPlayer = game.getCurrentPlayer();
+            if (game.isGameOver() && game.getWinner() != null) {
+                updateStatus("Игра окончена! Победитель: " + game.getWinner().getName());
+            } else {
+                updateStatus("Компьютер: " + describeMove(move) + ". Теперь ходит: " + currentPlayer.getName());
+            }
+            updateGameDisplay();
+            playComputerTurns();
+        });
+    }
+
+    //подсказка текущему игроку тем же поиском, что и у компьютера; видит только свою руку
+    private void suggestMove() {
+        if (game == null || game.isGameOver() || isComputerTurn() || search != null) {
+            return;
+        }
+        startSearch("Ищу подсказку...", result -> {
+            int move = result.getBestMove();
+            if (Move.isPlay(move)) {
+                handView.select(Domino.byId(Move.tile(move).getId()));
+            }
+            updateStatus("Подсказка: " + describeMove(move)
+                    + " (просчитано партий: " + result.getPlayouts() + ")");
+        });
+    }
+
+    private static String describeMove(int move) {
+        if (Move.isPlay(move)) {
+            return "сыграть " + Move.toString(move);
+        }
+        return Move.isDraw(move) ? "взять из базара" : "пропустить ход";
+    }
+
+    private void startSearch(String message, Consumer<IsmctsStrategy.SearchResult> onResult) {
+        setThinking(true);
+        thinkingBar.setString(message);
+        Duration budget = Duration.ofMillis(Math.round(((Number) thinkSecondsSpinner.getValue()).doubleValue() * 1000));
+        SearchWorker worker = new SearchWorker(game, computerRandom, budget, thinkingBar::setValue);
+        search = worker.start(result -> {
+            // Результат отмененного поиска мог уже стоять в очереди событий
+            if (search != worker) {
+                return;
+            }
+            search = null;
+            setThinking(false);
+            onResult.accept(result);
+        });
+    }
+
+    //"Стоп": закончить поиск досрочно с лучшим найденным ходом
+    private void finishSearch() {
+        if (search != null) {
+            search.finishNow();
+        }
+    }
+
+    //отменить поиск без результата, например при новой игре
+    private void cancelSearch() {
+        if (search != null) {
+            search.cancel(false);
+            search = null;
+            setThinking(false);
+        }
+    }
+
+    private void setThinking(boolean thinking) {
+        playBtn.setEnabled(!thinking);
+        takeFromBankBtn.setEnabled(!thinking);
+        passBtn.setEnabled(!thinking);
+        hintBtn.setEnabled(!thinking);
+        stopBtn.setEnabled(thinking);
+        thinkingBar.setValue(0);
+        thinkingBar.setString("");
+    }
+
+    private void computerOpponentChanged() {
+        if (!computerOpponentBox.isSelected()) {
+            cancelSearch();
+        }
         updateGameDisplay();
+        playComputerTurns();
     }
 
     private void updateGameInfo() {
@@ -419,7 +497,7 @@ public class DominoGui {
         info.append("\n=== ИГРОКИ ===\n");
         for (Player player : game.getPlayers()) {
             info.append(player.getName()).append(":\n");
-            info.append("  Костяшек: ").append(player.getHand().size()).append("\n");
+            info.append("  Костяшек: ").append(player.getHandSize()).append("\n");
             info.append("  Очки: ").append(player.getHandValue()).append("\n");
 
             if (player == currentPlayer) {
@@ -449,7 +527,10 @@ public class DominoGui {
             1. Нажмите "Новая игра" чтобы начать
             2. Выберите костяшку кликом (выделится красным), чтобы поставить
             3. Если нет подходящей костяшки - "Взять" из базара
-            4. Победит тот, кто первым сбросит все костяшки!
+            4. "Подсказка" предложит ход, "Стоп" прервет раздумья
+               компьютера или подсказки с лучшим найденным ходом
+            5. "Повтор" открывает файл записанных игр для просмотра
+            6. Победит тот, кто первым сбросит все костяшки!
             
             """;
 
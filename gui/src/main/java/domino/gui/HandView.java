@@ -0,0 +1,134 @@
+package domino.gui;
+
+import domino.Domino;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Рука игрока, нарисованная готовыми изображениями {@link TileImages}.
+ * Щелчок выделяет костяшку; компонент перерисовывается, только если рука
+ * или выделение изменились, а при смене выделения - только две ячейки.
+ */
+final class HandView extends JComponent {
+    private static final int MARGIN = 10;
+    private static final int GAP = 10;
+    private static final Font PLACEHOLDER_FONT = new Font("Arial", Font.ITALIC, 14);
+
+    private final TileImages images;
+    private List<Domino> hand = List.of();
+    private int selected = -1;
+    private String placeholder = "Нет активной игры";
+
+    HandView(TileImages images, Color background) {
+        this.images = images;
+        setBackground(background);
+        setOpaque(true);
+        // Подсказки берутся из getToolTipText(MouseEvent)
+        setToolTipText("");
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int index = indexAt(e.getX(), e.getY());
+                if (index >= 0) {
+                    select(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * Показывает руку; выделение сохраняется, если выделенная костяшка осталась в руке.
+     */
+    void setHand(List<Domino> newHand) {
+        if (newHand.equals(hand)) {
+            return;
+        }
+        Domino kept = getSelected();
+        hand = List.copyOf(newHand);
+        selected = kept == null ? -1 : hand.indexOf(kept);
+        revalidate();
+        repaint();
+    }
+
+    void clear(String placeholder) {
+        this.placeholder = placeholder;
+        hand = List.of();
+        selected = -1;
+        revalidate();
+        repaint();
+    }
+
+    //выделенная костяшка или null
+    Domino getSelected() {
+        return selected < 0 ? null : hand.get(selected);
+    }
+
+    //выделить костяшку, например подсказанную ботом; костяшки нет в руке - ничего не меняется
+    void select(Domino domino) {
+        int index = hand.indexOf(domino);
+        if (index >= 0) {
+            select(index);
+        }
+    }
+
+    private void select(int index) {
+        if (index == selected) {
+            return;
+        }
+        if (selected >= 0) {
+            repaint(cellBounds(selected));
+        }
+        selected = index;
+        repaint(cellBounds(index));
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int index = indexAt(e.getX(), e.getY());
+        return index < 0 ? null : "Костяшка " + hand.get(index) + " (клик для выбора)";
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        if (hand.isEmpty()) {
+            g.setColor(Color.DARK_GRAY);
+            g.setFont(PLACEHOLDER_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            g.drawString(placeholder, MARGIN, MARGIN + metrics.getAscent());
+            return;
+        }
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < hand.size(); i++) {
+            Rectangle cell = cellBounds(i);
+            if (clip == null || cell.intersects(clip)) {
+                g.drawImage(images.get(hand.get(i), i == selected), cell.x, cell.y, null);
+            }
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int count = Math.max(hand.size(), 1);
+        return new Dimension(2 * MARGIN + count * (images.getWidth() + GAP) - GAP, 2 * MARGIN + images.getHeight());
+    }
+
+    private int indexAt(int x, int y) {
+        int index = (x - MARGIN) / (images.getWidth() + GAP);
+        return x >= MARGIN && index < hand.size() && cellBounds(index).contains(x, y) ? index : -1;
+    }
+
+    private Rectangle cellBounds(int index) {
+        return new Rectangle(MARGIN + index * (images.getWidth() + GAP), MARGIN, images.getWidth(), images.getHeight());
+    }
+}
@@ -0,0 +1,250 @@
+package domino.gui;
+
+import domino.Domino;
+import domino.DominoGame;
+import domino.Move;
+import domino.Player;
+import domino.record.GameRecord;
+import domino.record.RecordIndex;
+import domino.record.Replay;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Окно просмотра записанных игр.
+ * <p>
+ * Файл записей открывается через {@link RecordIndex}: в памяти держатся только
+ * смещения игр, а строка списка и сама игра читаются с диска, когда они понадобились.
+ * Выбранная игра загружается в {@link Replay}, поэтому ползунок переходит к любому
+ * ходу почти мгновенно, а доска перерисовывает только изменившиеся ячейки.
+ * Руки всех игроков открыты - окно предназначено для разбора партий.
+ */
+final class ReplayViewer {
+    private static final Color BOARD_COLOR = new Color(240, 248, 255);
+    private static final Color HAND_COLOR = new Color(245, 245, 245);
+    // Сколько строк списка игр держать разобранными
+    private static final int SUMMARY_CACHE_SIZE = 512;
+
+    private final RecordIndex index;
+    private final JFrame frame;
+    private final TileImages tileImages = new TileImages(32);
+    private final BoardView boardView = new BoardView(tileImages, BOARD_COLOR);
+    private final JPanel handsPanel = new JPanel();
+    private final List<HandView> handViews = new ArrayList<>();
+    private final JSlider timeline = new JSlider(0, 0, 0);
+    private final JLabel moveLabel = new JLabel(" ", SwingConstants.CENTER);
+    private final Map<Integer, String> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > SUMMARY_CACHE_SIZE;
+        }
+    };
+    private Replay replay;
+
+    private ReplayViewer(RecordIndex index) {
+        this.index = index;
+        this.frame = new JFrame("Повтор: " + index.getFile().getFileName() + " (" + index.size() + " игр)");
+        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                try {
+                    index.close();
+                } catch (IOException ignored) {
+                    // Файл только читался
+                }
+            }
+        });
+        frame.setLayout(new BorderLayout(10, 10));
+
+        JList<String> gameList = new JList<>(new GameListModel());
+        gameList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // С образцом строки список не читает все игры, чтобы измерить их строки
+        gameList.setPrototypeCellValue("№ 0000000: 4 игрока, 000 ходов, победил Игрок 0");
+        gameList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && gameList.getSelectedIndex() >= 0) {
+                showGame(gameList.getSelectedIndex());
+            }
+        });
+        JScrollPane listScroll = new JScrollPane(gameList);
+        listScroll.setBorder(BorderFactory.createTitledBorder("Игры"));
+
+        JScrollPane boardScroll = new JScrollPane(boardView);
+        boardScroll.setBorder(BorderFactory.createTitledBorder("Доска"));
+        boardScroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        boardScroll.getViewport().setBackground(BOARD_COLOR);
+        boardView.clear("Выберите игру в списке");
+
+        timeline.setEnabled(false);
+        timeline.addChangeListener(e -> showPosition(timeline.getValue()));
+
+        JPanel controls = new JPanel(new BorderLayout(5, 5));
+        JPanel buttons = new JPanel(new GridLayout(1, 4, 5, 0));
+        buttons.add(createStepButton("|<", () -> timeline.setValue(timeline.getMinimum())));
+        buttons.add(createStepButton("<", () -> timeline.setValue(timeline.getValue() - 1)));
+        buttons.add(createStepButton(">", () -> timeline.setValue(timeline.getValue() + 1)));
+        buttons.add(createStepButton(">|", () -> timeline.setValue(timeline.getMaximum())));
+        controls.add(timeline, BorderLayout.CENTER);
+        controls.add(buttons, BorderLayout.EAST);
+        controls.add(moveLabel, BorderLayout.SOUTH);
+
+        JPanel center = new JPanel(new BorderLayout(5, 5));
+        center.add(boardScroll, BorderLayout.CENTER);
+        center.add(handsPanel, BorderLayout.SOUTH);
+        center.add(controls, BorderLayout.NORTH);
+
+        frame.add(listScroll, BorderLayout.WEST);
+        frame.add(center, BorderLayout.CENTER);
+        frame.setSize(1200, 800);
+        frame.setLocationByPlatform(true);
+
+        if (index.size() > 0) {
+            gameList.setSelectedIndex(0);
+        }
+    }
+
+    /**
+     * Предлагает выбрать файл записей и открывает его в новом окне.
+     * Файл просматривается в фоне, так что большой архив не задерживает интерфейс.
+     */
+    static void open(Component parent) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Записи игр (*.domr)", "domr"));
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        new SwingWorker<RecordIndex, Void>() {
+            @Override
+            protected RecordIndex doInBackground() throws IOException {
+                return new RecordIndex(file);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    new ReplayViewer(get()).frame.setVisible(true);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(parent,
+                            "Не удалось открыть " + file.getFileName() + ": " + cause.getMessage(),
+                            "Ошибка",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showGame(int gameIndex) {
+        GameRecord record;
+        try {
+            record = index.get(gameIndex);
+            replay = new Replay(record);
+        } catch (IOException | RuntimeException e) {
+            replay = null;
+            timeline.setEnabled(false);
+            boardView.clear("Игру № " + (gameIndex + 1) + " нельзя показать: " + e.getMessage());
+            return;
+        }
+        if (handViews.size() != record.getPlayerCount()) {
+            handsPanel.removeAll();
+            handViews.clear();
+            handsPanel.setLayout(new GridLayout(record.getPlayerCount(), 1, 0, 5));
+            for (int i = 0; i < record.getPlayerCount(); i++) {
+                HandView view = new HandView(tileImages, HAND_COLOR);
+                JPanel seat = new JPanel(new BorderLayout());
+                seat.setBorder(BorderFactory.createTitledBorder("Игрок " + (i + 1)));
+                seat.add(view, BorderLayout.CENTER);
+                handViews.add(view);
+                handsPanel.add(seat);
+            }
+            handsPanel.revalidate();
+        }
+        timeline.setEnabled(true);
+        timeline.setMaximum(replay.getMoveCount());
+        if (timeline.getValue() == 0) {
+            showPosition(0);
+        } else {
+            timeline.setValue(0);
+        }
+    }
+
+    private void showPosition(int position) {
+        if (replay == null) {
+            return;
+        }
+        DominoGame game = replay.seek(position);
+        List<Domino> chain = game.getBoard().getChain();
+        boardView.setChain(chain, BoardView.openingIndex(chain, game.getOpeningDomino()));
+
+        List<Player> players = game.getPlayers();
+        for (int i = 0; i < handViews.size(); i++) {
+            List<Domino> hand = players.get(i).getHand();
+            if (hand.isEmpty()) {
+                handViews.get(i).clear("Костяшек нет");
+            } else {
+                handViews.get(i).setHand(hand);
+            }
+        }
+
+        StringBuilder text = new StringBuilder("Ход ").append(position).append(" из ").append(replay.getMoveCount());
+        if (position > 0) {
+            text.append(": ").append(Move.toString(replay.getMove(position - 1)));
+        }
+        if (game.isGameOver()) {
+            text.append(". Игра окончена, ")
+                    .append(game.getWinner() == null ? "победителя нет" : "победил " + game.getWinner().getName());
+        } else {
+            text.append(". Ходит ").append(game.getCurrentPlayer().getName())
+                    .append(", в базаре ").append(game.getRemainingDominoes());
+        }
+        moveLabel.setText(text.toString());
+    }
+
+    private String summary(int gameIndex) {
+        return summaries.computeIfAbsent(gameIndex, i -> {
+            try {
+                GameRecord record = index.get(i);
+                String result = record.getWinnerSeat() < 0
+                        ? "без победителя" : "победил Игрок " + (record.getWinnerSeat() + 1);
+                return "№ " + (i + 1) + ": " + record.getPlayerCount() + " игрока, "
+                        + record.getMoveCount() + " ходов, " + result;
+            } catch (IOException | RuntimeException e) {
+                // Список рисуется в потоке событий: испорченная запись не должна ломать отрисовку,
+                // а заглушка запоминается, чтобы не читать запись при каждой перерисовке
+                return "№ " + (i + 1) + ": запись повреждена";
+            }
+        });
+    }
+
+    private static JButton createStepButton(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.setFocusPainted(false);
+        button.addActionListener(e -> action.run());
+        return button;
+    }
+
+    //список игр файла: строки читаются с диска только для видимых ячеек
+    private class GameListModel extends AbstractListModel<String> {
+        @Override
+        public int getSize() {
+            return index.size();
+        }
+
+        @Override
+        public String getElementAt(int i) {
+            return summary(i);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package domino.gui;
+
+import domino.DominoGame;
+import domino.bot.IsmctsStrategy;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Поиск хода бота вне потока событий Swing.
+ * <p>
+ * Поиск идет по независимой копии игры на отдельном фоновом потоке, поэтому
+ * интерфейс перерисовывается с полной частотой, пока бот думает. Пока поиск идет,
+ * таймер в потоке событий сообщает прогресс по израсходованной доле бюджета времени.
+ * Результат передается в поток событий: после {@link #finishNow()} - лучший
+ * найденный к этому моменту ход, после {@link #cancel(boolean)} - ничего.
+ * Если поиск отменили, когда результат уже ждал очереди в потоке событий,
+ * {@link #cancel(boolean)} не успевает: такой результат отбрасывает владелец поиска.
+ */
+final class SearchWorker extends SwingWorker<IsmctsStrategy.SearchResult, Void> {
+    //все поиски выполняются по очереди на одном фоновом потоке
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("domino-search").daemon().factory());
+    private static final int PROGRESS_TICK_MILLIS = 50;
+
+    private final DominoGame position;
+    private final long seed;
+    private final Duration budget;
+    private Consumer<IsmctsStrategy.SearchResult> onResult;
+    private final Timer progressTimer;
+    private final long startedNanos = System.nanoTime();
+    private volatile boolean finishRequested;
+
+    /**
+     * Создается в потоке событий.
+     *
+     * @param game       игра; копируется сразу, поэтому дальше ее можно менять
+     * @param budget     время на решение
+     * @param onProgress получает процент израсходованного времени в потоке событий
+     */
+    SearchWorker(DominoGame game, SplittableRandom random, Duration budget, IntConsumer onProgress) {
+        this.position = game.copy();
+        this.seed = random.nextLong();
+        this.budget = budget;
+        this.progressTimer = new Timer(PROGRESS_TICK_MILLIS, e -> onProgress.accept(elapsedPercent()));
+    }
+
+    /**
+     * Запускает поиск; вызывается один раз из потока событий.
+     *
+     * @param onResult получает результат в потоке событий, если поиск не отменен
+     */
+    SearchWorker start(Consumer<IsmctsStrategy.SearchResult> onResult) {
+        this.onResult = onResult;
+        progressTimer.start();
+        EXECUTOR.execute(this);
+        return this;
+    }
+
+    //остановить поиск и сделать лучший уже найденный ход
+    void finishNow() {
+        finishRequested = true;
+    }
+
+    @Override
+    protected IsmctsStrategy.SearchResult doInBackground() {
+        return IsmctsStrategy.allCores(budget)
+                .search(position, new SplittableRandom(seed), () -> finishRequested || isCancelled());
+    }
+
+    @Override
+    protected void done() {
+        progressTimer.stop();
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            onResult.accept(get());
+        } catch (InterruptedException | CancellationException e) {
+            // Поток событий не прерывают, а отмена проверена выше
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка поиска хода", e.getCause());
+        }
+    }
+
+    private int elapsedPercent() {
+        long elapsed = System.nanoTime() - startedNanos;
+        return (int) Math.min(100, elapsed * 100 / Math.max(1, budget.toNanos()));
+    }
+}
@@ -0,0 +1,112 @@
+package domino.gui;
+
+import domino.Domino;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Заранее нарисованные изображения костяшек.
+ * <p>
+ * Каждая ориентация костяшки рисуется один раз, при первом запросе, и дальше
+ * только копируется на экран. Обычных и выделенных изображений всего
+ * по {@link Domino#CODE_COUNT}, поэтому кеш не нужно чистить. Значения больше шести
+ * (наборы дубль-девять и больше) рисуются числом, а не точками.
+ */
+final class TileImages {
+    private static final Color TILE_COLOR = new Color(255, 250, 240);
+    private static final Color PIP_COLOR = new Color(40, 40, 40);
+    private static final Color EDGE_COLOR = Color.DARK_GRAY;
+    private static final Color SELECTED_COLOR = Color.RED;
+
+    // Положения точек на половине костяшки в сетке 3x3 (строка, столбец) для 0..6
+    private static final int[][][] PIPS = {
+            {},
+            {{1, 1}},
+            {{0, 0}, {2, 2}},
+            {{0, 0}, {1, 1}, {2, 2}},
+            {{0, 0}, {0, 2}, {2, 0}, {2, 2}},
+            {{0, 0}, {0, 2}, {1, 1}, {2, 0}, {2, 2}},
+            {{0, 0}, {1, 0}, {2, 0}, {0, 2}, {1, 2}, {2, 2}},
+    };
+
+    private final int height;
+    private final BufferedImage[] plain = new BufferedImage[Domino.CODE_COUNT];
+    private final BufferedImage[] selected = new BufferedImage[Domino.CODE_COUNT];
+
+    /**
+     * @param height высота костяшки в пикселях; ширина вдвое больше
+     */
+    TileImages(int height) {
+        this.height = height;
+    }
+
+    int getWidth() {
+        return 2 * height;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    //изображение костяшки в той ориентации, в какой она лежит
+    BufferedImage get(Domino domino, boolean highlighted) {
+        BufferedImage[] cache = highlighted ? selected : plain;
+        int code = domino.getCode();
+        BufferedImage image = cache[code];
+        if (image == null) {
+            image = render(domino.getLeft(), domino.getRight(), highlighted);
+            cache[code] = image;
+        }
+        return image;
+    }
+
+    private BufferedImage render(int left, int right, boolean highlighted) {
+        int width = getWidth();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int arc = height / 4;
+            int edge = highlighted ? 3 : 2;
+            g.setColor(TILE_COLOR);
+            g.fillRoundRect(0, 0, width - 1, height - 1, arc, arc);
+            g.setColor(highlighted ? SELECTED_COLOR : EDGE_COLOR);
+            g.setStroke(new BasicStroke(edge));
+            g.drawRoundRect(edge / 2, edge / 2, width - 1 - edge, height - 1 - edge, arc, arc);
+            g.setColor(EDGE_COLOR);
+            g.setStroke(new BasicStroke(1));
+            g.drawLine(height, height / 6, height, height - height / 6);
+
+            g.setColor(PIP_COLOR);
+            drawPips(g, left, 0);
+            drawPips(g, right, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private void drawPips(Graphics2D g, int pips, int x) {
+        if (pips >= PIPS.length) {
+            g.setFont(new Font("Arial", Font.BOLD, height / 2));
+            FontMetrics metrics = g.getFontMetrics();
+            String text = Integer.toString(pips);
+            g.drawString(text, x + (height - metrics.stringWidth(text)) / 2,
+                    (height - metrics.getHeight()) / 2 + metrics.getAscent());
+            return;
+        }
+        int step = height / 4;
+        int diameter = Math.max(3, height / 7);
+        for (int[] pip : PIPS[pips]) {
+            int cx = x + step * (pip[1] + 1);
+            int cy = step * (pip[0] + 1);
+            g.fillOval(cx - diameter / 2, cy - diameter / 2, diameter, diameter);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package domino.server;
+
+import domino.Move;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Соединение одного клиента. Работает в собственном виртуальном потоке:
+ * чтение команды, ответ, и так до QUIT или разрыва соединения.
+ * Медленный клиент задерживает только свой поток, но не стол и не других клиентов.
+ */
+final class ClientSession implements Runnable {
+    private final GameServer server;
+    private final Socket socket;
+    private GameServer.Seat seat;
+
+    ClientSession(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(server.getIdleTimeoutMillis());
+            String line;
+            while ((line = in.readLine()) != null) {
+                String response = handle(line.trim());
+                out.write(response);
+                out.newLine();
+                out.flush();
+                if (Protocol.BYE.equals(response)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Клиент отключился или молчал дольше допустимого - просто освобождаем место
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (seat != null) {
+                server.leave(seat);
+            }
+        }
+    }
+
+    private String handle(String line) throws InterruptedException {
+        String[] parts = line.split(" ", 4);
+        try {
+            switch (parts[0]) {
+                case Protocol.JOIN:
+                    if (parts.length < 4) {
+                        return Protocol.error("Формат: JOIN <стол> <игроков> <имя>");
+                    }
+                    if (seat != null) {
+                        return Protocol.error("Клиент уже за столом " + seat.table().getName());
+                    }
+                    seat = server.join(parts[1], Integer.parseInt(parts[2]), parts[3]);
+                    return Protocol.JOINED + " " + seat.seat();
+                case Protocol.WAIT:
+                    String state = seated().await(seat.seat(), server.getWaitTimeoutMillis());
+                    return state == null ? Protocol.error("Время ожидания вышло") : state;
+                case Protocol.MOVES:
+                    return seated().legalMoves(seat.seat());
+                case Protocol.MOVE:
+                    if (parts.length < 2) {
+                        return Protocol.error("Формат: MOVE <ход>");
+                    }
+                    int move = Integer.parseInt(parts[1]);
+                    if (!Move.isValid(move)) {
+                        return Protocol.error("Неизвестный ход: " + move);
+                    }
+                    return seated().move(seat.seat(), move);
+                case Protocol.QUIT:
+                    // Место освобождается до ответа, чтобы следующий JOIN уже застал его свободным
+                    if (seat != null) {
+                        server.leave(seat);
+                        seat = null;
+                    }
+                    return Protocol.BYE;
+                default:
+                    return Protocol.error("Неизвестная команда: " + parts[0]);
+            }
+        } catch (NumberFormatException e) {
+            return Protocol.error("Ожидалось число: " + e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Protocol.error(e.getMessage());
+        } catch (RuntimeException e) {
+            // Протокол обещает ERR на любую ошибку: сбой одной команды не рвет соединение
+            return Protocol.error("Внутренняя ошибка: " + e);
+        }
+    }
+
+    private Table seated() {
+        if (seat == null) {
+            throw new IllegalStateException("Сначала нужно сесть за стол: JOIN");
+        }
+        return seat.table();
+    }
+}
@@ -0,0 +1,144 @@
+package domino.server;
+
+import domino.metrics.EngineMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Сервер множества игровых столов в одной JVM.
+ * <p>
+ * Каждое соединение обслуживается своим виртуальным потоком, поэтому тысячи клиентов,
+ * ждущих своего хода, не занимают потоки операционной системы. Столы создаются
+ * по первому JOIN и удаляются, когда из-за них ушли все игроки. Протокол описан в {@link Protocol}.
+ */
+public final class GameServer implements Closeable {
+    /** Порт по умолчанию. */
+    public static final int DEFAULT_PORT = 7777;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("domino-client-", 0).factory());
+    private final ConcurrentHashMap<String, Table> tables = new ConcurrentHashMap<>();
+    private final long seed;
+    private final Thread acceptor;
+    private volatile int idleTimeoutMillis = 300_000;
+    private volatile long waitTimeoutMillis = 60_000;
+
+    /**
+     * @param port порт; 0 - любой свободный
+     * @param seed зерно сервера, из которого выводятся раздачи всех столов
+     */
+    public GameServer(int port, long seed) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1024);
+        this.seed = seed;
+        this.acceptor = Thread.ofPlatform().name("domino-acceptor").daemon().unstarted(this::acceptLoop);
+    }
+
+    public GameServer(int port) throws IOException {
+        this(port, ThreadLocalRandom.current().nextLong());
+    }
+
+    public GameServer start() {
+        acceptor.start();
+        return this;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    //количество столов, за которыми кто-то сидит
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    long getWaitTimeoutMillis() {
+        return waitTimeoutMillis;
+    }
+
+    //сколько ждать хода в WAIT и сколько молчания терпеть от клиента
+    public void setTimeouts(long waitTimeoutMillis, int idleTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Садит игрока за стол name, создавая стол по первому JOIN.
+     * Стол, из-за которого все ушли, закрывается в своем акторе; если JOIN попал на такой стол,
+     * пока его еще не убрали, закрытый стол убирается и берется новый.
+     *
+     * @throws IllegalStateException если стол заполнен или за ним другое число мест
+     */
+    Seat join(String name, int seats, String player) throws InterruptedException {
+        while (true) {
+            Table table = tables.computeIfAbsent(name, n -> new Table(n, seats, Table.seedFor(seed, n)));
+            int seat = table.join(player, seats);
+            if (seat != Table.CLOSED) {
+                return new Seat(table, seat);
+            }
+            tables.remove(name, table);
+        }
+    }
+
+    void leave(Seat seat) {
+        seat.table().leave(seat.seat()).thenAccept(closed -> {
+            if (closed) {
+                tables.remove(seat.table().getName(), seat.table());
+            }
+        });
+    }
+
+    //место клиента за столом
+    record Seat(Table table, int seat) {
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(new ClientSession(this, socket));
+            } catch (SocketException e) {
+                // Сокет закрыт в close()
+                return;
+            } catch (IOException e) {
+                System.err.println("Ошибка приема соединения: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Останавливает прием соединений и прерывает все клиентские потоки.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    /**
+     * Запуск сервера.
+     *
+     * Метрики движка выгружаются, если заданы свойства из {@link EngineMetrics#exportIfConfigured()}.
+     *
+     * @param args порт (по умолчанию {@value #DEFAULT_PORT})
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        EngineMetrics.exportIfConfigured();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer server = new GameServer(port).start();
+        System.out.println("Сервер домино слушает порт " + server.getPort());
+        server.acceptor.join();
+    }
+}
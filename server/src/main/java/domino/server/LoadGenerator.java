@@ -0,0 +1,177 @@
+package domino.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Локальный генератор нагрузки: садит за сервер заданное количество столов,
+ * каждого игрока ведет отдельный виртуальный поток со своим соединением,
+ * игроки ходят случайным допустимым ходом. Измеряет время каждого MOVE
+ * от отправки до ответа и общую пропускную способность.
+ */
+public class LoadGenerator {
+    private final String host;
+    private final int port;
+
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Играет по одной игре за каждым столом и ждет окончания всех игр.
+     *
+     * @param tables  количество столов
+     * @param players игроков за столом
+     * @param seed    зерно случайных ходов клиентов
+     */
+    public Result run(int tables, int players, long seed) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        String prefix = "load-" + Long.toHexString(random.nextLong()) + "-";
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>(tables * players);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < tables; t++) {
+                for (int p = 0; p < players; p++) {
+                    String table = prefix + t;
+                    String name = "Бот-" + p;
+                    SplittableRandom clientRandom = random.split();
+                    clients.add(executor.submit(() -> play(table, players, name, clientRandom)));
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int finished = 0;
+        int failed = 0;
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> client : clients) {
+            try {
+                latencies.add(client.get());
+                finished++;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        return new Result(tables, finished / players, failed, elapsed, merge(latencies));
+    }
+
+    //одна игра одного клиента; возвращает задержки его ходов в наносекундах
+    private long[] play(String table, int players, String name, SplittableRandom random) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            expect(call(in, out, Protocol.JOIN + " " + table + " " + players + " " + name), Protocol.JOINED);
+            long[] latencies = new long[64];
+            int count = 0;
+            while (true) {
+                String state = call(in, out, Protocol.WAIT);
+                if (state.startsWith(Protocol.OVER)) {
+                    break;
+                }
+                expect(state, Protocol.TURN);
+                String[] moves = expect(call(in, out, Protocol.MOVES), Protocol.MOVES).split(" ");
+                String move = moves[1 + random.nextInt(moves.length - 1)];
+
+                long sent = System.nanoTime();
+                expect(call(in, out, Protocol.MOVE + " " + move), Protocol.OK);
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+            call(in, out, Protocol.QUIT);
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+
+    private static String call(BufferedReader in, BufferedWriter out, String command) throws IOException {
+        out.write(command);
+        out.newLine();
+        out.flush();
+        String response = in.readLine();
+        if (response == null) {
+            throw new IOException("Сервер закрыл соединение");
+        }
+        return response;
+    }
+
+    private static String expect(String response, String prefix) {
+        if (!response.startsWith(prefix)) {
+            throw new UncheckedIOException(new IOException("Ожидался ответ " + prefix + ", получен: " + response));
+        }
+        return response;
+    }
+
+    private static long[] merge(List<long[]> parts) {
+        long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * Итог нагрузочного прогона.
+     *
+     * @param tables       запущено столов
+     * @param games        доиграно игр
+     * @param failedClients клиентов, завершившихся ошибкой
+     * @param elapsedNanos общее время прогона
+     * @param latencies    задержки всех ходов по возрастанию, нс
+     */
+    public record Result(int tables, int games, int failedClients, long elapsedNanos, long[] latencies) {
+        public long getMoves() {
+            return latencies.length;
+        }
+
+        //задержка хода на заданном процентиле (0..100), нс
+        public long percentile(double percent) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percent / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("Столов: %d, игр: %d, ошибок: %d, ходов: %d за %.2f с (%.0f ходов/с, %.0f игр/с)%n"
+                            + "Задержка хода: p50 %.1f мкс, p99 %.1f мкс, max %.1f мкс",
+                    tables, games, failedClients, getMoves(), seconds, getMoves() / seconds, games / seconds,
+                    percentile(50) / 1e3, percentile(99) / 1e3, percentile(100) / 1e3);
+        }
+    }
+
+    /**
+     * Запуск нагрузки.
+     *
+     * @param args хост, порт, столов (по умолчанию 1000), игроков за столом (по умолчанию 2).
+     *             Без хоста поднимает сервер в этой же JVM.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int tables = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int players = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        if (args.length >= 2) {
+            System.out.println(new LoadGenerator(args[0], Integer.parseInt(args[1])).run(tables, players, 1));
+            return;
+        }
+        try (GameServer server = new GameServer(0, 1).start()) {
+            System.out.println(new LoadGenerator("localhost", server.getPort()).run(tables, players, 1));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package domino.server;
+
+/**
+ * Текстовый протокол сервера: одна строка UTF-8 на команду и одна строка на ответ.
+ * <pre>
+ * JOIN &lt;стол&gt; &lt;игроков&gt; &lt;имя&gt;  -&gt; JOINED &lt;место&gt;
+ * WAIT                         -&gt; TURN &lt;левый конец&gt; &lt;правый конец&gt; &lt;базар&gt; &lt;рука&gt;
+ *                                 или OVER &lt;место победителя&gt; &lt;причина&gt;
+ * MOVES                        -&gt; MOVES &lt;ход&gt; ...
+ * MOVE &lt;ход&gt;                   -&gt; OK
+ * QUIT                         -&gt; BYE
+ * </pre>
+ * Ходы передаются числами в кодировке {@link domino.Move}, рука - номерами костяшек через запятую.
+ * Стол начинает игру, когда за него сели все игроки; WAIT ждет своего хода или конца игры.
+ * На любую ошибку сервер отвечает {@code ERR <сообщение>} и продолжает работу с клиентом.
+ */
+final class Protocol {
+    static final String JOIN = "JOIN";
+    static final String WAIT = "WAIT";
+    static final String MOVES = "MOVES";
+    static final String MOVE = "MOVE";
+    static final String QUIT = "QUIT";
+
+    static final String JOINED = "JOINED";
+    static final String TURN = "TURN";
+    static final String OVER = "OVER";
+    static final String OK = "OK";
+    static final String BYE = "BYE";
+    static final String ERR = "ERR";
+
+    private Protocol() {
+    }
+
+    static String error(String message) {
+        return ERR + " " + message;
+    }
+}
@@ -0,0 +1,262 @@
+package domino.server;
+
+import domino.Domino;
+import domino.DominoBoard;
+import domino.DominoGame;
+import domino.GameState;
+import domino.MoveGenerator;
+import domino.Player;
+import domino.actor.GameActor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Игровой стол: одна игра и места игроков.
+ * <p>
+ * Игрой владеет {@link GameActor}: команды клиентов кладутся в его почтовый ящик и
+ * выполняются по очереди одним исполнителем, поэтому у стола нет блокировок, а столы
+ * не мешают друг другу. Поток клиента только ждет будущий ответ. Все поля ниже,
+ * кроме неизменяемых, трогаются только из команд актора.
+ * <p>
+ * Игрок, ушедший до начала игры, освобождает место. За игрока, ушедшего во время игры,
+ * стол ходит сам первым допустимым ходом, чтобы остальные не ждали его вечно.
+ * Когда уходит последний игрок, стол закрывается и больше никого не садит:
+ * {@link GameServer} заменяет закрытый стол новым.
+ */
+final class Table {
+    //ответ join закрытого стола
+    static final int CLOSED = -1;
+
+    private final String name;
+    private final int seats;
+    private final long seed;
+    private final GameActor actor;
+    //имена игроков по местам; null - место свободно
+    private final String[] players;
+    //места игроков, ушедших во время игры: за них ходит стол
+    private final boolean[] departed;
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private int seated;
+    private int present;
+    private boolean closed;
+
+    Table(String name, int seats, long seed) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("Минимум 2 игрока");
+        }
+        this.name = name;
+        this.seats = seats;
+        this.seed = seed;
+        this.players = new String[seats];
+        this.departed = new boolean[seats];
+        // Протокол обращается к игрокам по местам, имена игры - только подписи мест
+        List<String> seatNames = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            seatNames.add("Место " + i);
+        }
+        this.actor = new GameActor(new DominoGame(seatNames));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Садит игрока на первое свободное место; последний севший начинает игру.
+     *
+     * @return место игрока или {@link #CLOSED}, если из-за стола уже все ушли
+     * @throws IllegalStateException если стол заполнен
+     */
+    int join(String player, int expectedSeats) throws InterruptedException {
+        return call(game -> {
+            if (closed) {
+                return CLOSED;
+            }
+            if (expectedSeats != seats) {
+                throw new IllegalStateException("За столом " + name + " играют " + seats + " игроков");
+            }
+            if (seated == seats) {
+                throw new IllegalStateException("Стол " + name + " заполнен");
+            }
+            int seat = 0;
+            while (players[seat] != null) {
+                seat++;
+            }
+            players[seat] = player;
+            seated++;
+            present++;
+            if (seated == seats) {
+                game.startGame(seed);
+                wakeWaiters(game);
+            }
+            return seat;
+        });
+    }
+
+    /**
+     * Ждет хода игрока или конца игры.
+     *
+     * @return ответ TURN или OVER, либо null, если время ожидания вышло
+     */
+    String await(int seat, long timeoutMillis) throws InterruptedException {
+        CompletableFuture<String> state = new CompletableFuture<>();
+        actor.ask(game -> {
+            if (isReady(game, seat)) {
+                state.complete(describe(game, seat));
+            } else {
+                waiters.add(new Waiter(seat, state));
+            }
+            return null;
+        });
+        try {
+            return state.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Отмененное ожидание актор выбросит при следующем ходе
+            state.cancel(false);
+            return null;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    String legalMoves(int seat) throws InterruptedException {
+        return call(game -> {
+            checkTurn(game, seat);
+            int count = MoveGenerator.generate(game, moves);
+            StringBuilder sb = new StringBuilder(Protocol.MOVES);
+            for (int i = 0; i < count; i++) {
+                sb.append(' ').append(moves[i]);
+            }
+            return sb.toString();
+        });
+    }
+
+    String move(int seat, int move) throws InterruptedException {
+        return call(game -> {
+            checkTurn(game, seat);
+            if (!game.makeMove(move)) {
+                return Protocol.error("Недопустимый ход " + move);
+            }
+            playForDeparted(game);
+            wakeWaiters(game);
+            return Protocol.OK;
+        });
+    }
+
+    /**
+     * Игрок с места seat уходит из-за стола; не ждет актора.
+     * До начала игры место освобождается, во время игры за него дальше ходит стол.
+     *
+     * @return будущее true, если ушел последний игрок и стол закрылся
+     */
+    CompletableFuture<Boolean> leave(int seat) {
+        return actor.ask(game -> {
+            present--;
+            if (game.getGameState() == GameState.NOT_STARTED) {
+                players[seat] = null;
+                seated--;
+            } else {
+                departed[seat] = true;
+                if (present > 0) {
+                    playForDeparted(game);
+                    wakeWaiters(game);
+                }
+            }
+            closed = present == 0;
+            return closed;
+        });
+    }
+
+    //читается из последнего снимка игры, без обращения к актору
+    boolean isGameOver() {
+        return actor.snapshot().isGameOver();
+    }
+
+    private <T> T call(Function<DominoGame, T> command) throws InterruptedException {
+        try {
+            return actor.ask(command).get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+    }
+
+    private void wakeWaiters(DominoGame game) {
+        for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (waiter.state.isDone()) {
+                it.remove();
+            } else if (isReady(game, waiter.seat)) {
+                waiter.state.complete(describe(game, waiter.seat));
+                it.remove();
+            }
+        }
+    }
+
+    //ходы за ушедших игроков, пока очередь не дойдет до оставшегося или игра не кончится
+    private void playForDeparted(DominoGame game) {
+        while (game.getGameState() == GameState.IN_PROGRESS && departed[game.getCurrentPlayerIndex()]) {
+            MoveGenerator.generateForced(game, moves);
+            game.makeMove(moves[0]);
+        }
+    }
+
+    private static boolean isReady(DominoGame game, int seat) {
+        return game.isGameOver()
+                || game.getGameState() == GameState.IN_PROGRESS && game.getCurrentPlayerIndex() == seat;
+    }
+
+    private static String describe(DominoGame game, int seat) {
+        if (game.isGameOver()) {
+            return Protocol.OVER + " " + game.getWinnerIndex() + " " + game.getGameOverReason();
+        }
+        DominoBoard board = game.getBoard();
+        StringBuilder sb = new StringBuilder(Protocol.TURN).append(' ')
+                .append(board.getLeftEnd()).append(' ')
+                .append(board.getRightEnd()).append(' ')
+                .append(game.getRemainingDominoes()).append(' ');
+        Player player = game.getPlayer(seat);
+        boolean first = true;
+        for (int w = 0; w < Domino.MASK_WORDS; w++) {
+            for (long hand = player.getHandMask(w); hand != 0; hand &= hand - 1, first = false) {
+                if (!first) {
+                    sb.append(',');
+                }
+                sb.append(w * Long.SIZE + Long.numberOfTrailingZeros(hand));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void checkTurn(DominoGame game, int seat) {
+        if (game.getGameState() == GameState.NOT_STARTED) {
+            throw new IllegalStateException("Игра за столом " + name + " еще не началась");
+        }
+        if (game.isGameOver()) {
+            throw new IllegalStateException("Игра за столом " + name + " окончена");
+        }
+        if (game.getCurrentPlayerIndex() != seat) {
+            throw new IllegalStateException("Сейчас ходит место " + game.getCurrentPlayerIndex());
+        }
+    }
+
+    //зерно стола по имени и зерну сервера, чтобы игры за столами не повторялись
+    static long seedFor(long serverSeed, String name) {
+        return new SplittableRandom(serverSeed ^ name.hashCode()).nextLong();
+    }
+
+    private record Waiter(int seat, CompletableFuture<String> state) {
+    }
+}
@@ -0,0 +1,184 @@
+package domino.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для класса GameServer - сервера игровых столов.
+ */
+class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(0, 42).start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void testManyTablesFinish() throws InterruptedException {
+        LoadGenerator.Result result = new LoadGenerator("localhost", server.getPort()).run(200, 2, 7);
+
+        assertEquals(0, result.failedClients());
+        assertEquals(200, result.games());
+        assertTrue(result.getMoves() > 200 * 5);
+        assertTrue(result.percentile(50) <= result.percentile(99));
+    }
+
+    @Test
+    void testThreePlayerTables() throws InterruptedException {
+        LoadGenerator.Result result = new LoadGenerator("localhost", server.getPort()).run(20, 3, 8);
+
+        assertEquals(0, result.failedClients());
+        assertEquals(20, result.games());
+    }
+
+    @Test
+    void testProtocolErrors() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            out.println("MOVE 1");
+            assertTrue(in.readLine().startsWith("ERR"));
+            out.println("HELLO");
+            assertTrue(in.readLine().startsWith("ERR"));
+
+            out.println("JOIN t1 2 Алиса");
+            assertEquals("JOINED 0", in.readLine());
+            out.println("MOVES");
+            assertTrue(in.readLine().startsWith("ERR"), "игра еще не началась");
+            out.println("JOIN t2 2 Алиса");
+            assertTrue(in.readLine().startsWith("ERR"));
+
+            out.println("QUIT");
+            assertEquals("BYE", in.readLine());
+        }
+    }
+
+    @Test
+    void testSlowClientDoesNotBlockOtherTables() throws Exception {
+        // Клиент садится за стол и молчит; остальные столы играют как обычно
+        try (Socket idle = new Socket("localhost", server.getPort());
+             PrintWriter out = new PrintWriter(idle.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            out.println("JOIN idle 2 Молчун");
+            LoadGenerator.Result result = new LoadGenerator("localhost", server.getPort()).run(50, 2, 9);
+
+            assertEquals(50, result.games());
+        }
+    }
+
+    @Test
+    void testTablesAreRemovedWhenEmpty() throws InterruptedException {
+        new LoadGenerator("localhost", server.getPort()).run(10, 2, 10);
+
+        for (int i = 0; i < 100 && server.getTableCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getTableCount());
+    }
+
+    @Test
+    void testSeatIsFreedWhenPlayerLeavesBeforeStart() throws IOException {
+        try (Client first = new Client(); Client second = new Client()) {
+            assertEquals("JOINED 0", first.call("JOIN t 3 Алиса"));
+            assertEquals("JOINED 1", second.call("JOIN t 3 Борис"));
+            assertEquals("BYE", first.call("QUIT"));
+
+            try (Client third = new Client(); Client fourth = new Client()) {
+                assertEquals("JOINED 0", third.call("JOIN t 3 Вера"), "место ушедшего свободно");
+                assertEquals("JOINED 2", fourth.call("JOIN t 3 Глеб"));
+                int turns = 0;
+                for (Client client : new Client[]{second, third, fourth}) {
+                    turns += client.call("MOVES").startsWith("MOVES") ? 1 : 0;
+                }
+                assertEquals(1, turns, "игра началась");
+            }
+        }
+    }
+
+    @Test
+    void testGameFinishesWhenPlayerLeavesMidGame() throws IOException {
+        try (Client stayer = new Client()) {
+            try (Client leaver = new Client()) {
+                assertEquals("JOINED 0", stayer.call("JOIN t 2 Алиса"));
+                assertEquals("JOINED 1", leaver.call("JOIN t 2 Борис"));
+                assertEquals("BYE", leaver.call("QUIT"));
+            }
+            // За ушедшего ходит стол, поэтому оставшийся игрок доигрывает один
+            String state = stayer.call("WAIT");
+            for (int i = 0; i < 200 && state.startsWith("TURN"); i++) {
+                String[] moves = stayer.call("MOVES").split(" ");
+                assertEquals("OK", stayer.call("MOVE " + moves[1]));
+                state = stayer.call("WAIT");
+            }
+            assertTrue(state.startsWith("OVER"), state);
+        }
+    }
+
+    @Test
+    void testJoinAfterEveryoneLeftGetsNewTable() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            try (Client first = new Client(); Client second = new Client()) {
+                assertEquals("JOINED 0", first.call("JOIN t 2 Алиса"));
+                assertEquals("JOINED 1", second.call("JOIN t 2 Борис"));
+                assertEquals("BYE", first.call("QUIT"));
+                assertEquals("BYE", second.call("QUIT"));
+            }
+        }
+        for (int i = 0; i < 100 && server.getTableCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getTableCount());
+    }
+
+    @Test
+    void testOutOfRangeMoveKeepsConnection() throws IOException {
+        try (Client first = new Client(); Client second = new Client()) {
+            assertEquals("JOINED 0", first.call("JOIN t 2 Алиса"));
+            assertEquals("JOINED 1", second.call("JOIN t 2 Борис"));
+            Client current = first.call("MOVES").startsWith("MOVES") ? first : second;
+
+            for (String move : new String[]{"2050", "-2", "3"}) {
+                assertTrue(current.call("MOVE " + move).startsWith("ERR"), move);
+            }
+            assertTrue(current.call("MOVES").startsWith("MOVES"), "соединение живо, ход за тем же игроком");
+        }
+    }
+
+    //клиент протокола поверх сокета: одна команда - одна строка ответа
+    private final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket("localhost", server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        String call(String command) throws IOException {
+            out.println(command);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}